@@ -0,0 +1,56 @@
+package numberrangesummarizer.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import numberrangesummarizer.ConcurrentRangeAccumulator;
+import numberrangesummarizer.IncrementalRangeSummarizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Contention benchmark: many threads adding to one shared accumulator.
+ * Compare scores across thread counts (-t 1, -t 4, -t 16, ...) to check scaling;
+ * the synchronized IncrementalRangeSummarizer is the single-lock baseline.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccumulatorBenchmark {
+
+    private static final int WINDOW = 1 << 24;
+
+    private ConcurrentRangeAccumulator striped;
+    private IncrementalRangeSummarizer locked;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        striped = new ConcurrentRangeAccumulator();
+        locked = new IncrementalRangeSummarizer();
+    }
+
+    @Benchmark
+    public void stripedAdd() {
+        striped.add(ThreadLocalRandom.current().nextInt(WINDOW));
+    }
+
+    @Benchmark
+    public void globalLockAdd() {
+        int value = ThreadLocalRandom.current().nextInt(WINDOW);
+        synchronized (locked) {
+            locked.add(value);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package numberrangesummarizer.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import numberrangesummarizer.BatchRangeSummarizer;
+import numberrangesummarizer.NumberRangeSummarizer;
+import numberrangesummarizer.NumberRangeSummarizerImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to summarize a batch of many tiny inputs: one collect + summarizeCollection per item
+ * against BatchRangeSummarizer on the calling thread and on an executor.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchBenchmark {
+
+    @Param({"50000"})
+    public int items;
+
+    @Param({"10"})
+    public int itemSize;
+
+    @Param({"SHUFFLED", "CONSECUTIVE"})
+    public InputShape shape;
+
+    private final NumberRangeSummarizer summarizer = new NumberRangeSummarizerImpl();
+    private String[] inputs;
+    private BatchRangeSummarizer sequential;
+    private BatchRangeSummarizer pooled;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        inputs = new String[items];
+        Arrays.fill(inputs, shape.text(shape.values(itemSize)));
+        sequential = new BatchRangeSummarizer();
+        executor = BatchRangeSummarizer.newVirtualThreadExecutor();
+        pooled = new BatchRangeSummarizer(executor, BatchRangeSummarizer.DEFAULT_SLICE_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public String[] perCall() {
+        String[] results = new String[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            results[i] = summarizer.summarizeCollection(summarizer.collect(inputs[i]));
+        }
+        return results;
+    }
+
+    @Benchmark
+    public String[] batch() {
+        return sequential.summarize(inputs);
+    }
+
+    @Benchmark
+    public String[] batchOnExecutor() {
+        return pooled.summarize(inputs);
+    }
+}
@@ -0,0 +1,73 @@
+package numberrangesummarizer.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import numberrangesummarizer.IntRangeSet;
+import numberrangesummarizer.RangeSetCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encode and decode throughput of the binary range format against text formatting and parsing.
+ * The encoded and text sizes per set are printed once per trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CodecBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"CONSECUTIVE", "SPARSE", "SHUFFLED"})
+    public InputShape shape;
+
+    private IntRangeSet set;
+    private byte[] encoded;
+    private String text;
+    private ByteBuffer buffer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        set = IntRangeSet.of(shape.values(size));
+        encoded = RangeSetCodec.toBytes(set);
+        text = set.toString();
+        buffer = ByteBuffer.allocate(encoded.length);
+        System.out.println("ranges=" + set.rangeCount() + " binary=" + encoded.length + "B text=" + text.length() + "B");
+    }
+
+    @Benchmark
+    public ByteBuffer encode() {
+        buffer.clear();
+        return RangeSetCodec.encode(set, buffer);
+    }
+
+    @Benchmark
+    public IntRangeSet decode() {
+        return RangeSetCodec.decode(encoded);
+    }
+
+    @Benchmark
+    public String formatText() {
+        return set.toString();
+    }
+
+    @Benchmark
+    public IntRangeSet parseText() {
+        return IntRangeSet.parse(text);
+    }
+}
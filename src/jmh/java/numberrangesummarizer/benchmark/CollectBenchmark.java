@@ -0,0 +1,68 @@
+package numberrangesummarizer.benchmark;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import numberrangesummarizer.HybridRangeSummarizer;
+import numberrangesummarizer.NumberRangeSummarizer;
+import numberrangesummarizer.NumberRangeSummarizerImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of collect(String) across input sizes and shapes.
+ * Run with -prof gc to report allocation rate alongside throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx16g"})
+@State(Scope.Benchmark)
+public class CollectBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000", "100000000"})
+    public int size;
+
+    @Param({"CONSECUTIVE", "SPARSE", "SHUFFLED", "DUPLICATES", "NEGATIVE", "PADDED"})
+    public InputShape shape;
+
+    private final NumberRangeSummarizer summarizer = new NumberRangeSummarizerImpl();
+    private final NumberRangeSummarizer hybrid = new HybridRangeSummarizer();
+    private String input;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        input = shape.text(shape.values(size));
+    }
+
+    @Benchmark
+    public Collection<Integer> collect() {
+        return summarizer.collect(input);
+    }
+
+    @Benchmark
+    public int[] collectInts() {
+        return summarizer.collectInts(input);
+    }
+
+    @Benchmark
+    public String collectAndSummarizeHybrid() {
+        return hybrid.summarizeCollection(hybrid.collect(input));
+    }
+
+    @Benchmark
+    public String collectAndSummarize() {
+        return summarizer.summarizeCollection(summarizer.collect(input));
+    }
+}
@@ -0,0 +1,99 @@
+package numberrangesummarizer.benchmark;
+
+import java.util.Random;
+
+/**
+ * Value distributions the benchmarks run against.
+ */
+public enum InputShape {
+
+    /** 1..n in order: one range, already sorted. */
+    CONSECUTIVE,
+
+    /** 0, 2, 4, ... in order: no two values adjacent, so n ranges. */
+    SPARSE,
+
+    /** 1..n in random order: one range, but sorting does real work. */
+    SHUFFLED,
+
+    /** Random values from a window of n/10, so each value appears about ten times. */
+    DUPLICATES,
+
+    /** Random values, 90% of them negative, in random order. */
+    NEGATIVE,
+
+    /** Like CONSECUTIVE, but every token is padded with spaces in the text form. */
+    PADDED;
+
+    private static final long SEED = 42;
+
+    /**
+     * @return n values with this shape; deterministic for a given n
+     */
+    public int[] values(int n) {
+        Random random = new Random(SEED);
+        int[] values = new int[n];
+        switch (this) {
+            case CONSECUTIVE:
+            case PADDED:
+                for (int i = 0; i < n; i++) {
+                    values[i] = i + 1;
+                }
+                break;
+            case SPARSE:
+                for (int i = 0; i < n; i++) {
+                    values[i] = i * 2;
+                }
+                break;
+            case SHUFFLED:
+                for (int i = 0; i < n; i++) {
+                    values[i] = i + 1;
+                }
+                shuffle(values, random);
+                break;
+            case DUPLICATES:
+                for (int i = 0; i < n; i++) {
+                    values[i] = random.nextInt(Math.max(n / 10, 1));
+                }
+                break;
+            case NEGATIVE:
+                for (int i = 0; i < n; i++) {
+                    values[i] = random.nextInt(n + n / 9 + 1) - n;
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unknown shape: " + this);
+        }
+        return values;
+    }
+
+    /**
+     * @return the comma-separated text form of values, padded for PADDED
+     */
+    public String text(int[] values) {
+        String separator = this == PADDED ? " ,  " : ",";
+        StringBuilder text = new StringBuilder(values.length * 8 + 16);
+        if (this == PADDED) {
+            text.append("  ");
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                text.append(separator);
+            }
+            text.append(values[i]);
+        }
+        if (this == PADDED) {
+            text.append("  ");
+        }
+        return text.toString();
+    }
+
+    private static void shuffle(int[] values, Random random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package numberrangesummarizer.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import numberrangesummarizer.LongRangeSummarizer;
+import numberrangesummarizer.NumberRangeSummarizerImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Collect + summarize of the int and long summarizers on the same shapes, shifted to sit near either
+ * end of each type's range. Comparing the int scores with CollectBenchmark checks the int path did
+ * not slow down; the long scores show the cost of 64-bit values.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LongBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"CONSECUTIVE", "SPARSE", "SHUFFLED"})
+    public InputShape shape;
+
+    /** Where the values sit: LOW just above MIN_VALUE, HIGH just below MAX_VALUE. */
+    @Param({"LOW", "HIGH"})
+    public String end;
+
+    private final NumberRangeSummarizerImpl ints = new NumberRangeSummarizerImpl();
+    private final LongRangeSummarizer longs = new LongRangeSummarizer();
+    private String intText;
+    private String longText;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[] values = shape.values(size);
+        // Shapes start at 0 or 1 and stay below 2 * size, so these offsets never overflow
+        long intOffset = "LOW".equals(end) ? Integer.MIN_VALUE : Integer.MAX_VALUE - 2L * size;
+        long longOffset = "LOW".equals(end) ? Long.MIN_VALUE : Long.MAX_VALUE - 2L * size;
+        StringBuilder intBuilder = new StringBuilder(values.length * 12);
+        StringBuilder longBuilder = new StringBuilder(values.length * 21);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                intBuilder.append(',');
+                longBuilder.append(',');
+            }
+            intBuilder.append(intOffset + values[i]);
+            longBuilder.append(longOffset + values[i]);
+        }
+        intText = intBuilder.toString();
+        longText = longBuilder.toString();
+    }
+
+    @Benchmark
+    public String intSummarizer() {
+        return ints.summarizeCollection(ints.collect(intText));
+    }
+
+    @Benchmark
+    public String longSummarizer() {
+        return longs.summarizeCollection(longs.collect(longText));
+    }
+}
@@ -0,0 +1,74 @@
+package numberrangesummarizer.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import numberrangesummarizer.NumberRangeSummarizerImpl;
+import numberrangesummarizer.RangeMerger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Combining shard summaries: the k-way merge of RangeMerger against expanding every summary back
+ * into values and summarizing again. Shards interleave (shard s holds every value v with
+ * v % shards == s, in runs of eight), so the merge does real coalescing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MergeBenchmark {
+
+    @Param({"4", "64"})
+    public int shards;
+
+    @Param({"100000"})
+    public int size;
+
+    private final NumberRangeSummarizerImpl summarizer = new NumberRangeSummarizerImpl();
+    private List<String> summaries;
+    private String expanded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<StringBuilder> texts = new ArrayList<>();
+        for (int s = 0; s < shards; s++) {
+            texts.add(new StringBuilder());
+        }
+        for (int v = 0; v < size; v++) {
+            StringBuilder text = texts.get((v / 8) % shards);
+            text.append(text.length() == 0 ? "" : ",").append(v);
+        }
+        summaries = new ArrayList<>();
+        StringBuilder all = new StringBuilder();
+        for (StringBuilder text : texts) {
+            String summary = summarizer.summarizeCollection(summarizer.collect(text.toString()));
+            summaries.add(summary);
+            all.append(all.length() == 0 ? "" : ",").append(text);
+        }
+        expanded = all.toString();
+    }
+
+    @Benchmark
+    public String kWayMerge() {
+        return RangeMerger.mergeSummaries(summaries);
+    }
+
+    @Benchmark
+    public String recollect() {
+        return summarizer.summarizeCollection(summarizer.collect(expanded));
+    }
+}
@@ -0,0 +1,63 @@
+package numberrangesummarizer.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import numberrangesummarizer.NumberRangeSummarizer;
+import numberrangesummarizer.NumberRangeSummarizerImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of summarizeCollection and the primitive summarize across input sizes and shapes.
+ * The boxed input is a plain ArrayList in generation order, as an external caller would pass it.
+ * Run with -prof gc to report allocation rate alongside throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx16g"})
+@State(Scope.Benchmark)
+public class SummarizeBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000", "100000000"})
+    public int size;
+
+    @Param({"CONSECUTIVE", "SPARSE", "SHUFFLED", "DUPLICATES", "NEGATIVE", "PADDED"})
+    public InputShape shape;
+
+    private final NumberRangeSummarizer summarizer = new NumberRangeSummarizerImpl();
+    private int[] values;
+    private List<Integer> boxed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = shape.values(size);
+        boxed = new ArrayList<>(size);
+        for (int value : values) {
+            boxed.add(value);
+        }
+    }
+
+    @Benchmark
+    public String summarizeCollection() {
+        return summarizer.summarizeCollection(boxed);
+    }
+
+    @Benchmark
+    public String summarizeInts() {
+        return summarizer.summarize(values, 0, values.length);
+    }
+}
@@ -0,0 +1,77 @@
+package numberrangesummarizer.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import numberrangesummarizer.ErrorPolicy;
+import numberrangesummarizer.NumberRangeSummarizerImpl;
+import numberrangesummarizer.ValidationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of invalid tokens: validate with SKIP_AND_REPORT against the old way of getting the same
+ * answer, catching one exception per token from collect. badPercent of the tokens are malformed or
+ * overflowing; at 0 the two should match, and validate should stay close to that as it rises.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    @Param({"10000"})
+    public int size;
+
+    @Param({"0", "10", "50"})
+    public int badPercent;
+
+    private final NumberRangeSummarizerImpl summarizer = new NumberRangeSummarizerImpl();
+    private String text;
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[] values = InputShape.SHUFFLED.values(size);
+        StringBuilder builder = new StringBuilder(values.length * 8);
+        tokens = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            if (i % 100 < badPercent) {
+                tokens[i] = i % 2 == 0 ? "x" + values[i] : "99999999999";
+            } else {
+                tokens[i] = Integer.toString(values[i]);
+            }
+            builder.append(i == 0 ? "" : ",").append(tokens[i]);
+        }
+        text = builder.toString();
+    }
+
+    @Benchmark
+    public ValidationResult validate() {
+        return summarizer.validate(text, ErrorPolicy.SKIP_AND_REPORT);
+    }
+
+    @Benchmark
+    public int catchPerToken() {
+        int errors = 0;
+        for (String token : tokens) {
+            try {
+                summarizer.collectInts(token);
+            } catch (IllegalArgumentException e) {
+                errors++;
+            }
+        }
+        return errors;
+    }
+}
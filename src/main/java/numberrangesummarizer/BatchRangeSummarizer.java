@@ -0,0 +1,224 @@
+package numberrangesummarizer;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Summarizes many small independent inputs in one call, e.g. one list of ids per customer.
+ *
+ * Each item gets the same result as summarizeCollection(collect(item)), but the per-call setup is
+ * paid once per batch: a worker reuses one scanner buffer, does the ordering in place and formats
+ * straight into one reused StringBuilder, so a tiny input costs little more than its own chars.
+ *
+ * Without an executor the batch runs on the calling thread. With one, the items are split into
+ * slices of sliceSize and each slice runs as a single task with its own scratch buffers; results
+ * always come back in input order. On Java 21+ newVirtualThreadExecutor() gives a virtual thread
+ * per task, while the library itself still targets Java 8.
+ */
+public class BatchRangeSummarizer {
+
+    /** Default number of items one task summarizes with one set of scratch buffers. */
+    public static final int DEFAULT_SLICE_SIZE = 256;
+
+    private static final boolean VIRTUAL_THREADS = probeVirtualThreads();
+
+    private final Executor executor;
+    private final int sliceSize;
+    private final RangeFormatter formatter;
+
+    /**
+     * Creates a batch summarizer that runs on the calling thread.
+     */
+    public BatchRangeSummarizer() {
+        this(null, DEFAULT_SLICE_SIZE, RangeFormatter.DEFAULT);
+    }
+
+    /**
+     * Creates a batch summarizer that fans slices out over an executor.
+     *
+     * @param executor runs the slices, or null to run on the calling thread
+     * @param sliceSize items summarized by one task
+     */
+    public BatchRangeSummarizer(Executor executor, int sliceSize) {
+        this(executor, sliceSize, RangeFormatter.DEFAULT);
+    }
+
+    /**
+     * Creates a batch summarizer.
+     *
+     * @param executor runs the slices, or null to run on the calling thread
+     * @param sliceSize items summarized by one task
+     * @param formatter writes each summary
+     */
+    public BatchRangeSummarizer(Executor executor, int sliceSize, RangeFormatter formatter) {
+        if (sliceSize <= 0) {
+            throw new IllegalArgumentException("sliceSize must be positive: " + sliceSize);
+        }
+        if (formatter == null) {
+            throw new IllegalArgumentException("formatter must not be null");
+        }
+        this.executor = executor;
+        this.sliceSize = sliceSize;
+        this.formatter = formatter;
+    }
+
+    /**
+     * Creates an executor that starts a virtual thread per task when the runtime supports it
+     * (Java 21+), and a fixed pool with one thread per processor otherwise. The caller shuts it down.
+     *
+     * @return a new executor
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        ExecutorService virtual = VIRTUAL_THREADS ? tryNewVirtualThreadExecutor() : null;
+        return virtual != null ? virtual : Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @return true if this runtime can run tasks on virtual threads
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VIRTUAL_THREADS;
+    }
+
+    /**
+     * Java 19 and 20 have the factory method but throw UnsupportedOperationException unless preview
+     * features are enabled, so support is probed by creating an executor, not just finding the method.
+     */
+    private static boolean probeVirtualThreads() {
+        ExecutorService probe = tryNewVirtualThreadExecutor();
+        if (probe == null) {
+            return false;
+        }
+        probe.shutdown();
+        return true;
+    }
+
+    /**
+     * @return a virtual-thread-per-task executor, or null if the runtime cannot create one
+     */
+    private static ExecutorService tryNewVirtualThreadExecutor() {
+        try {
+            // Looked up reflectively so the library still compiles and runs on Java 8
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | LinkageError | UnsupportedOperationException e) {
+            // InvocationTargetException wraps the UnsupportedOperationException of Java 19 and 20
+            return null;
+        }
+    }
+
+    /**
+     * Summarizes every input, keeping their order.
+     *
+     * @param inputs comma-separated numbers per item; a null item gives ""
+     * @return the summary of each item
+     * @throws IllegalArgumentException if an item holds an invalid token; the first such item is reported
+     */
+    public List<String> summarize(List<? extends CharSequence> inputs) {
+        return Arrays.asList(summarize(inputs.toArray(new CharSequence[0])));
+    }
+
+    /**
+     * Summarizes every input, keeping their order.
+     *
+     * @param inputs comma-separated numbers per item; a null item gives ""
+     * @return the summary of each item
+     * @throws IllegalArgumentException if an item holds an invalid token; the first such item is reported
+     */
+    public String[] summarize(CharSequence[] inputs) {
+        String[] results = new String[inputs.length];
+        if (executor == null || inputs.length <= sliceSize) {
+            IllegalArgumentException error = new Slice(inputs, results, 0, inputs.length).call();
+            if (error != null) {
+                throw error;
+            }
+            return results;
+        }
+
+        List<Slice> slices = new ArrayList<>((inputs.length + sliceSize - 1) / sliceSize);
+        List<CompletableFuture<IllegalArgumentException>> futures = new ArrayList<>(slices.size());
+        for (int from = 0; from < inputs.length; from += sliceSize) {
+            Slice slice = new Slice(inputs, results, from, Math.min(from + sliceSize, inputs.length));
+            slices.add(slice);
+            futures.add(CompletableFuture.supplyAsync(slice::call, executor));
+        }
+        // Report the error of the earliest failing slice, as the sequential run would
+        for (CompletableFuture<IllegalArgumentException> future : futures) {
+            IllegalArgumentException error = future.join();
+            if (error != null) {
+                throw error;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @return the executor running the slices, or null if batches run on the calling thread
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * @return items summarized by one task
+     */
+    public int getSliceSize() {
+        return sliceSize;
+    }
+
+    /**
+     * @return the formatter writing each summary
+     */
+    public RangeFormatter getFormatter() {
+        return formatter;
+    }
+
+    /**
+     * Summarizes inputs[from, to) into results with one set of scratch buffers.
+     */
+    private final class Slice {
+
+        private final CharSequence[] inputs;
+        private final String[] results;
+        private final int from;
+        private final int to;
+
+        Slice(CharSequence[] inputs, String[] results, int from, int to) {
+            this.inputs = inputs;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * @return the error of the first invalid item, or null; later items are then left unset
+         */
+        IllegalArgumentException call() {
+            IntTokenScanner scanner = new IntTokenScanner();
+            StringBuilder text = new StringBuilder();
+            for (int i = from; i < to; i++) {
+                CharSequence input = inputs[i];
+                if (input == null || input.length() == 0) {
+                    results[i] = "";
+                    continue;
+                }
+                scanner.clear();
+                try {
+                    scanner.feed(input, 0, input.length());
+                    scanner.finish();
+                } catch (IllegalArgumentException e) {
+                    return e;
+                }
+                text.setLength(0);
+                results[i] = scanner.summarize(formatter, text).toString();
+            }
+            return null;
+        }
+    }
+}
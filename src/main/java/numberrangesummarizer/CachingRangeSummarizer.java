@@ -0,0 +1,323 @@
+package numberrangesummarizer;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorator that memoizes collect and summarize results of another NumberRangeSummarizer.
+ *
+ * Entries are keyed by input content with the hash computed once: a String key holds the caller's
+ * (immutable) String rather than a copy, and an int key holds one copy of the values. The cache is
+ * an access-ordered LinkedHashMap behind a single lock, bounded both by entry count and by an
+ * estimated weight in bytes; the least recently used entries are evicted first. Results are computed
+ * outside the lock, so a slow delegate never blocks other callers.
+ *
+ * Cached collections are read-only views and cached arrays are copied on the way out, so no caller can
+ * change what another caller sees. Inputs that fail to parse are not cached.
+ */
+public class CachingRangeSummarizer implements NumberRangeSummarizer {
+
+    /** Default maximum number of cached results. */
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    /** Default maximum estimated size of the cached keys and results, in bytes. */
+    public static final long DEFAULT_MAX_WEIGHT = 64L << 20;
+
+    // Rough per-entry overhead of the map node, key and result objects, in bytes
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private final NumberRangeSummarizer delegate;
+    private final int maxEntries;
+    private final long maxWeight;
+    private final LinkedHashMap<Key, Object> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Caches results of a NumberRangeSummarizerImpl with the default bounds.
+     */
+    public CachingRangeSummarizer() {
+        this(new NumberRangeSummarizerImpl(), DEFAULT_MAX_ENTRIES, DEFAULT_MAX_WEIGHT);
+    }
+
+    /**
+     * Creates a caching decorator.
+     *
+     * @param delegate computes results on a miss
+     * @param maxEntries maximum number of cached results
+     * @param maxWeight maximum estimated size of the cached keys and results, in bytes
+     */
+    public CachingRangeSummarizer(NumberRangeSummarizer delegate, int maxEntries, long maxWeight) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate must not be null");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("maxWeight must be positive: " + maxWeight);
+        }
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Collects the input, or returns the cached read-only result for the same text.
+     */
+    @Override
+    public Collection<Integer> collect(String input) {
+        int[] values = cachedCollect(input);
+        return new IntListView(values, 0, values.length);
+    }
+
+    /**
+     * Collects the input into a fresh array, backed by the same cache entries as collect.
+     */
+    @Override
+    public int[] collectInts(CharSequence input) {
+        return cachedCollect(input).clone();
+    }
+
+    @Override
+    public String summarizeCollection(Collection<Integer> input) {
+        if (input == null || input.isEmpty()) {
+            return "";
+        }
+        if (input instanceof IntListView) {
+            IntListView view = (IntListView) input;
+            return summarize(view.array(), view.from(), view.to());
+        }
+        int[] values = new int[input.size()];
+        int i = 0;
+        for (Integer value : input) {
+            values[i++] = value;
+        }
+        return summarize(values, 0, values.length);
+    }
+
+    /**
+     * Summarizes values[from, to), or returns the cached summary for the same values in the same order.
+     */
+    @Override
+    public String summarize(int[] values, int from, int to) {
+        if (from < 0 || from > to || to > values.length) {
+            throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", length: " + values.length);
+        }
+        ValuesKey probe = new ValuesKey(values, from, to);
+        Object cached = get(probe);
+        if (cached != null) {
+            return (String) cached;
+        }
+        String summary = delegate.summarize(values, from, to);
+        put(probe.copy(), summary, (long) summary.length() * 2);
+        return summary;
+    }
+
+    @Override
+    public StringBuilder summarize(int[] values, int from, int to, StringBuilder out) {
+        return out.append(summarize(values, from, to));
+    }
+
+    /**
+     * @return lookups answered from the cache
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return lookups that had to call the delegate
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return entries removed to stay within the bounds
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the number of cached results
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * @return the estimated size of the cached keys and results, in bytes
+     */
+    public long weight() {
+        synchronized (cache) {
+            return weight;
+        }
+    }
+
+    /**
+     * Removes every cached result; the counters are kept.
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+            weight = 0;
+        }
+    }
+
+    private int[] cachedCollect(CharSequence input) {
+        String text = input == null ? "" : input.toString();
+        TextKey key = new TextKey(text);
+        Object cached = get(key);
+        if (cached != null) {
+            return (int[]) cached;
+        }
+        // The delegate's result is copied so later writes to it cannot reach the cache
+        int[] values = delegate.collectInts(text).clone();
+        put(key, values, (long) values.length * 4);
+        return values;
+    }
+
+    private Object get(Key key) {
+        Object cached;
+        synchronized (cache) {
+            cached = cache.get(key);
+        }
+        if (cached != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return cached;
+    }
+
+    private void put(Key key, Object result, long resultWeight) {
+        long entryWeight = key.weight() + resultWeight + ENTRY_OVERHEAD;
+        if (entryWeight > maxWeight) {
+            return;
+        }
+        synchronized (cache) {
+            Object previous = cache.put(key, result);
+            if (previous != null) {
+                // Another thread computed the same result first; keep the weight as it was
+                return;
+            }
+            weight += entryWeight;
+            Iterator<Map.Entry<Key, Object>> eldest = cache.entrySet().iterator();
+            while (cache.size() > maxEntries || weight > maxWeight) {
+                Map.Entry<Key, Object> entry = eldest.next();
+                weight -= entry.getKey().weight() + weightOf(entry.getValue()) + ENTRY_OVERHEAD;
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private static long weightOf(Object result) {
+        return result instanceof int[] ? (long) ((int[]) result).length * 4 : (long) ((String) result).length() * 2;
+    }
+
+    /**
+     * Cache key with its hash computed once.
+     */
+    private abstract static class Key {
+
+        final int hash;
+
+        Key(int hash) {
+            this.hash = hash;
+        }
+
+        abstract long weight();
+
+        @Override
+        public final int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Key for collect: the input text itself.
+     */
+    private static final class TextKey extends Key {
+
+        private final String text;
+
+        TextKey(String text) {
+            super(text.hashCode());
+            this.text = text;
+        }
+
+        @Override
+        long weight() {
+            return (long) text.length() * 2;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TextKey && hash == ((TextKey) o).hash && text.equals(((TextKey) o).text);
+        }
+    }
+
+    /**
+     * Key for summarize: a slice of values. Probes wrap the caller's array; stored keys own a copy.
+     */
+    private static final class ValuesKey extends Key {
+
+        private final int[] values;
+        private final int from;
+        private final int to;
+
+        ValuesKey(int[] values, int from, int to) {
+            super(hash(values, from, to));
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        ValuesKey copy() {
+            int[] owned = new int[to - from];
+            System.arraycopy(values, from, owned, 0, owned.length);
+            return new ValuesKey(owned, 0, owned.length);
+        }
+
+        @Override
+        long weight() {
+            return (long) (to - from) * 4;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof ValuesKey)) {
+                return false;
+            }
+            ValuesKey other = (ValuesKey) o;
+            if (hash != other.hash || to - from != other.to - other.from) {
+                return false;
+            }
+            for (int i = 0; i < to - from; i++) {
+                if (values[from + i] != other.values[other.from + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int hash(int[] values, int from, int to) {
+            int hash = 1;
+            for (int i = from; i < to; i++) {
+                hash = 31 * hash + values[i];
+            }
+            return hash;
+        }
+    }
+}
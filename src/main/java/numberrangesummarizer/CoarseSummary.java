@@ -0,0 +1,56 @@
+package numberrangesummarizer;
+
+/**
+ * A gap-tolerant summary from NumberRangeSummarizerImpl: fewer, wider ranges than the exact summary,
+ * plus exactly how many values they cover that were not in the input.
+ */
+public final class CoarseSummary {
+
+    private final String text;
+    private final IntRangeSet ranges;
+    private final int exactRangeCount;
+    private final long overCoverage;
+
+    CoarseSummary(String text, IntRangeSet ranges, IntRangeSet exact) {
+        this.text = text;
+        this.ranges = ranges;
+        this.exactRangeCount = exact.rangeCount();
+        this.overCoverage = ranges.cardinality() - exact.cardinality();
+    }
+
+    /**
+     * @return the summary text, e.g. "1-8, 12-15"
+     */
+    public String text() {
+        return text;
+    }
+
+    /**
+     * @return the ranges written
+     */
+    public IntRangeSet ranges() {
+        return ranges;
+    }
+
+    /**
+     * @return the number of ranges the exact summary would have
+     */
+    public int exactRangeCount() {
+        return exactRangeCount;
+    }
+
+    /**
+     * @return values covered by the ranges that were not in the input; 0 means the summary is exact
+     */
+    public long overCoverage() {
+        return overCoverage;
+    }
+
+    /**
+     * @return the summary text
+     */
+    @Override
+    public String toString() {
+        return text;
+    }
+}
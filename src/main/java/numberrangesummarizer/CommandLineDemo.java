@@ -1,34 +1,61 @@
 package numberrangesummarizer;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.Collection;
 
 /**
  * Command-line demo that processes input from command-line arguments.
  * Usage: java CommandLineDemo "1,3,6,7,8,12,13,14,15,21,22,23,24,31"
+ *
+ * Large inputs can be streamed from a file or stdin instead; only the summary is printed:
+ *   java CommandLineDemo --file numbers.txt [--sorted]
+ *   java CommandLineDemo --stdin [--sorted]
+ *
+ * Or run as a long-lived HTTP service on localhost (see SummarizerServer):
+ *   java CommandLineDemo --serve [port]
  */
 public class CommandLineDemo {
-    
+
     public static void main(String[] args) {
         NumberRangeSummarizer summarizer = new NumberRangeSummarizerImpl();
-        
+
         if (args.length == 0) {
             System.out.println("Usage: java CommandLineDemo \"1,3,6,7,8,12,13,14,15,21,22,23,24,31\"");
+            System.out.println("   or: java CommandLineDemo --file <path> [--sorted]");
+            System.out.println("   or: java CommandLineDemo --stdin [--sorted]");
+            System.out.println("   or: java CommandLineDemo --serve [port]");
             System.out.println("Or run the interactive demo: java InteractiveDemo");
             return;
         }
-        
+
+        if ("--serve".equals(args[0])) {
+            runServer(args);
+            return;
+        }
+
+        if (args[0].startsWith("--")) {
+            runStreaming(args);
+            return;
+        }
+
         String input = args[0];
         System.out.println("Input: " + input);
-        
+
         try {
             // Step 1: Collect and process the input
             Collection<Integer> collected = summarizer.collect(input);
             System.out.println("Parsed numbers: " + collected);
-            
+
             // Step 2: Summarize the collection
             String result = summarizer.summarizeCollection(collected);
             System.out.println("Result: " + result);
-            
+
         } catch (IllegalArgumentException e) {
             System.out.println("Error: " + e.getMessage());
             System.out.println("Please make sure all values are valid integers separated by commas.");
@@ -36,4 +63,93 @@ public class CommandLineDemo {
             System.out.println("Unexpected error: " + e.getMessage());
         }
     }
+
+    /**
+     * Starts SummarizerServer and leaves it running until the JVM is stopped.
+     */
+    private static void runServer(String[] args) {
+        int port = 8080;
+        if (args.length > 1) {
+            try {
+                port = Integer.parseInt(args[1]);
+            } catch (NumberFormatException e) {
+                System.out.println("Invalid port: " + args[1]);
+                return;
+            }
+        }
+        try {
+            SummarizerServer server = new SummarizerServer(port);
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            System.out.println("Listening on http://localhost:" + server.getPort() + "/summarize");
+        } catch (IOException e) {
+            System.out.println("Could not start server: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Streams a file or stdin through StreamingRangeSummarizer, writing only the summary to stdout.
+     * If a token is invalid or reading fails, the ranges summarized so far are printed before the error.
+     */
+    private static void runStreaming(String[] args) {
+        String file = null;
+        boolean stdin = false;
+        boolean sorted = false;
+
+        for (int i = 0; i < args.length; i++) {
+            if ("--file".equals(args[i]) && i + 1 < args.length) {
+                file = args[++i];
+            } else if ("--stdin".equals(args[i])) {
+                stdin = true;
+            } else if ("--sorted".equals(args[i])) {
+                sorted = true;
+            } else {
+                System.out.println("Unknown or incomplete option: " + args[i]);
+                return;
+            }
+        }
+        if ((file == null) == !stdin) {
+            System.out.println("Specify exactly one of --file <path> or --stdin");
+            return;
+        }
+
+        StreamingRangeSummarizer streaming = new StreamingRangeSummarizer();
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        try {
+            if (stdin) {
+                streaming.summarize(Channels.newChannel(System.in), out, sorted);
+            } else {
+                // Memory-mapped, so the file is never copied into a String
+                streaming.summarize(Paths.get(file), out, sorted);
+            }
+            out.write(System.lineSeparator());
+        } catch (IllegalArgumentException e) {
+            // Ranges before the bad token may already be written; print them, then the error after them
+            flushPartial(out);
+            System.out.println();
+            System.out.println("Error: " + e.getMessage());
+            System.out.println("Please make sure all values are valid integers separated by commas.");
+        } catch (IOException e) {
+            flushPartial(out);
+            System.out.println();
+            System.out.println("Unexpected error: " + e.getMessage());
+        } finally {
+            // Also closes System.out; nothing is printed after this mode
+            try {
+                out.close();
+            } catch (IOException e) {
+                // stdout itself failed, so there is nowhere left to report it
+            }
+        }
+    }
+
+    /**
+     * Flushes the part of the summary written before a failure, so it is not lost in the buffer.
+     */
+    private static void flushPartial(Writer out) {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            // stdout itself failed; the error message below is all that can still be printed
+        }
+    }
 }
@@ -0,0 +1,251 @@
+package numberrangesummarizer;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Range accumulator that many threads can feed at once without a global lock.
+ *
+ * Each thread writes to its own stripe: a small value buffer that is periodically sorted into an
+ * IntRangeSet and pushed onto the stripe's stack of sets. Sets of similar size on top of the stack are
+ * unioned (log-structured), so each range takes part in O(log n) unions rather than one per fold.
+ * A stripe's lock is only ever contended by a reader, so adds scale with the number of threads.
+ * Reading locks every stripe (always in registration order), folds the outstanding buffers and
+ * k-way merges all stacked sets once, which gives a consistent snapshot: every add that completed
+ * before the snapshot began is included, and no add is ever seen half-applied.
+ *
+ * Stripes of threads that have died are retired into a shared stripe when a new thread registers
+ * or a snapshot is taken, so thread churn (e.g. short-lived pool threads) does not grow the stripe list.
+ *
+ * The value set has collect semantics (duplicates are ignored), so summarize() matches
+ * summarizeCollection(collect(input)) for the same values.
+ */
+public class ConcurrentRangeAccumulator {
+
+    /** Default number of values a stripe buffers before folding them into its ranges. */
+    public static final int DEFAULT_STRIPE_BUFFER = 4096;
+
+    private final int stripeBuffer;
+    private final List<Stripe> stripes = new CopyOnWriteArrayList<>();
+    /** Holds the values of retired stripes; always first in stripes, so lock order is unchanged. */
+    private final Stripe retired = new Stripe(null, 0);
+    private final ThreadLocal<Stripe> localStripe = ThreadLocal.withInitial(this::register);
+
+    /**
+     * Creates an accumulator with the default stripe buffer size.
+     */
+    public ConcurrentRangeAccumulator() {
+        this(DEFAULT_STRIPE_BUFFER);
+    }
+
+    /**
+     * Creates an accumulator.
+     *
+     * @param stripeBuffer values each thread buffers before folding them into its ranges
+     */
+    public ConcurrentRangeAccumulator(int stripeBuffer) {
+        if (stripeBuffer <= 0) {
+            throw new IllegalArgumentException("stripeBuffer must be positive: " + stripeBuffer);
+        }
+        this.stripeBuffer = stripeBuffer;
+        stripes.add(retired);
+    }
+
+    /**
+     * Adds a value from the calling thread.
+     */
+    public void add(int value) {
+        Stripe stripe = localStripe.get();
+        stripe.lock.lock();
+        try {
+            stripe.add(value);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Adds every value of values[from, to) from the calling thread.
+     */
+    public void addAll(int[] values, int from, int to) {
+        if (from < 0 || from > to || to > values.length) {
+            throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", length: " + values.length);
+        }
+        Stripe stripe = localStripe.get();
+        stripe.lock.lock();
+        try {
+            for (int i = from; i < to; i++) {
+                stripe.add(values[i]);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Adds the closed range [start, end] from the calling thread.
+     *
+     * @throws IllegalArgumentException if start is greater than end
+     */
+    public void addRange(int start, int end) {
+        addAll(IntRangeSet.ofRange(start, end));
+    }
+
+    /**
+     * Adds pre-summarized ranges from the calling thread.
+     */
+    public void addAll(IntRangeSet ranges) {
+        if (ranges.isEmpty()) {
+            return;
+        }
+        Stripe stripe = localStripe.get();
+        stripe.lock.lock();
+        try {
+            stripe.push(ranges);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a consistent snapshot of everything added so far.
+     *
+     * @return the current value set
+     */
+    public IntRangeSet snapshot() {
+        retireDeadStripes();
+        List<Stripe> current = new ArrayList<>(stripes);
+        List<IntRangeSet> parts = new ArrayList<>();
+        int locked = 0;
+        try {
+            for (Stripe stripe : current) {
+                stripe.lock.lock();
+                locked++;
+            }
+            for (Stripe stripe : current) {
+                stripe.fold();
+                parts.addAll(stripe.levels);
+            }
+        } finally {
+            for (int i = 0; i < locked; i++) {
+                current.get(i).lock.unlock();
+            }
+        }
+        // Sets are immutable, so the merge runs after the locks are released
+        return RangeMerger.merge(parts);
+    }
+
+    /**
+     * @return the summary of a consistent snapshot, e.g. "1, 3, 6-8"
+     */
+    public String summarize() {
+        return snapshot().toString();
+    }
+
+    /**
+     * @return the number of live threads holding a stripe; stripes of dead threads are retired lazily
+     */
+    public int stripeCount() {
+        return stripes.size() - 1;
+    }
+
+    private Stripe register() {
+        retireDeadStripes();
+        Stripe stripe = new Stripe(Thread.currentThread(), stripeBuffer);
+        stripes.add(stripe);
+        return stripe;
+    }
+
+    /**
+     * Moves the values of stripes whose thread has ended into the retired stripe and drops them.
+     * The retired stripe is locked first, matching the snapshot's lock order.
+     */
+    private void retireDeadStripes() {
+        for (Stripe stripe : stripes) {
+            if (stripe == retired || stripe.isOwnerAlive()) {
+                continue;
+            }
+            retired.lock.lock();
+            try {
+                stripe.lock.lock();
+                try {
+                    if (stripe.isRetired) {
+                        continue;
+                    }
+                    stripe.fold();
+                    for (IntRangeSet level : stripe.levels) {
+                        retired.push(level);
+                    }
+                    stripe.levels.clear();
+                    stripe.isRetired = true;
+                } finally {
+                    stripe.lock.unlock();
+                }
+                stripes.remove(stripe);
+            } finally {
+                retired.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * One thread's values: a buffer of recent adds plus a stack of folded sets, largest at the bottom.
+     */
+    private static final class Stripe {
+
+        final ReentrantLock lock = new ReentrantLock();
+        final WeakReference<Thread> owner;
+        final int[] buffer;
+        int buffered;
+        final List<IntRangeSet> levels = new ArrayList<>();
+        boolean isRetired;
+
+        Stripe(Thread owner, int capacity) {
+            this.owner = new WeakReference<>(owner);
+            this.buffer = new int[capacity];
+        }
+
+        boolean isOwnerAlive() {
+            Thread thread = owner.get();
+            return thread != null && thread.isAlive();
+        }
+
+        void add(int value) {
+            if (buffered == buffer.length) {
+                fold();
+            }
+            buffer[buffered++] = value;
+        }
+
+        /**
+         * Sorts the buffered values and pushes them as a set; caller holds the lock.
+         */
+        void fold() {
+            if (buffered == 0) {
+                return;
+            }
+            push(IntRangeSet.fromSorted(buffer, 0, IntOrdering.sort(buffer, 0, buffered, true)));
+            buffered = 0;
+        }
+
+        /**
+         * Pushes a set and unions the top of the stack while the top set is at least half the size of
+         * the one below, so sizes roughly halve going up and the stack stays O(log n) deep; caller
+         * holds the lock.
+         */
+        void push(IntRangeSet ranges) {
+            if (ranges.isEmpty()) {
+                return;
+            }
+            levels.add(ranges);
+            int top = levels.size() - 1;
+            while (top > 0 && 2L * levels.get(top).rangeCount() >= levels.get(top - 1).rangeCount()) {
+                IntRangeSet merged = levels.get(top - 1).union(levels.remove(top));
+                levels.set(--top, merged);
+            }
+        }
+    }
+}
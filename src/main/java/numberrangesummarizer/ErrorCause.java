@@ -0,0 +1,11 @@
+package numberrangesummarizer;
+
+/**
+ * Why a token could not be parsed as a number.
+ */
+public enum ErrorCause {
+    /** A well-formed integer outside the value range, e.g. "2147483648" for an int. */
+    OVERFLOW,
+    /** Anything else: letters, a lone sign, embedded spaces and so on. */
+    MALFORMED
+}
@@ -0,0 +1,49 @@
+package numberrangesummarizer;
+
+/**
+ * How NumberRangeSummarizerImpl.validate treats invalid tokens. No policy throws: errors are
+ * recorded in the ValidationResult, and the policy only decides when scanning stops.
+ */
+public final class ErrorPolicy {
+
+    /** Stop at the first invalid token, like collect, but report it instead of throwing. */
+    public static final ErrorPolicy FAIL_FAST = new ErrorPolicy(1);
+
+    /** Skip every invalid token, keep the valid ones and report all the errors. */
+    public static final ErrorPolicy SKIP_AND_REPORT = new ErrorPolicy(Integer.MAX_VALUE);
+
+    private final int maxErrors;
+
+    private ErrorPolicy(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Skips invalid tokens until maxErrors of them have been seen, then stops scanning.
+     *
+     * @param maxErrors errors to record before stopping, at least 1
+     * @return the policy
+     * @throws IllegalArgumentException if maxErrors is not positive
+     */
+    public static ErrorPolicy stopAfter(int maxErrors) {
+        if (maxErrors <= 0) {
+            throw new IllegalArgumentException("maxErrors must be positive: " + maxErrors);
+        }
+        return maxErrors == 1 ? FAIL_FAST : new ErrorPolicy(maxErrors);
+    }
+
+    /**
+     * @return errors recorded before scanning stops; Integer.MAX_VALUE for SKIP_AND_REPORT
+     */
+    public int maxErrors() {
+        return maxErrors;
+    }
+
+    @Override
+    public String toString() {
+        if (maxErrors == 1) {
+            return "FAIL_FAST";
+        }
+        return maxErrors == Integer.MAX_VALUE ? "SKIP_AND_REPORT" : "stopAfter(" + maxErrors + ")";
+    }
+}
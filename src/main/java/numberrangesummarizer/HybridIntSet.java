@@ -0,0 +1,653 @@
+package numberrangesummarizer;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Mutable set of ints split into 65536-value chunks, each stored in whichever form suits its contents.
+ *
+ * Chunks are keyed by the high 16 bits of a value (sign bit flipped, so chunks sort in signed order) and
+ * hold the low 16 bits in one of three containers, as in Roaring bitmaps:
+ * 1. array: sorted chars, for chunks of up to 4096 values (2 bytes per value)
+ * 2. bitmap: 1024 longs, for denser chunks (a fixed 8 KB)
+ * 3. run: sorted (start, length) char pairs, for chunks made of long consecutive stretches (4 bytes per run)
+ *
+ * Adds go to an array until it would exceed 4096 values, then to a bitmap. optimize() converts every
+ * chunk to its smallest form, which turns consecutive data into runs. Memory is therefore bounded by
+ * about 8 KB per touched chunk whatever the input, and range extraction reads runs straight out of run
+ * containers and whole words out of bitmaps.
+ *
+ * Instances are not thread-safe.
+ */
+public final class HybridIntSet {
+
+    // Largest array container; above this a bitmap is never bigger
+    private static final int MAX_ARRAY_SIZE = 4096;
+    private static final int BITMAP_BYTES = 8192;
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int size;
+
+    /**
+     * Adds a value.
+     *
+     * @return true if the value was not present before
+     */
+    public boolean add(int value) {
+        int i = containerIndex(value);
+        Container container = containers[i];
+        int before = container.cardinality();
+        containers[i] = container.add((char) value);
+        return containers[i].cardinality() != before;
+    }
+
+    /**
+     * Adds every value of values[from, to), in any order.
+     */
+    public void addAll(int[] values, int from, int to) {
+        if (from < 0 || from > to || to > values.length) {
+            throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", length: " + values.length);
+        }
+        for (int i = from; i < to; i++) {
+            add(values[i]);
+        }
+    }
+
+    /**
+     * Adds the closed range [start, end], one container operation per chunk it touches.
+     *
+     * @throws IllegalArgumentException if start is greater than end
+     */
+    public void addRange(int start, int end) {
+        if (start > end) {
+            throw new IllegalArgumentException("Range start " + start + " is greater than end " + end);
+        }
+        for (long chunkStart = start; chunkStart <= end; ) {
+            int value = (int) chunkStart;
+            int low = value & 0xFFFF;
+            long chunkEnd = Math.min(end, chunkStart + (CHUNK_SIZE - 1 - low));
+            int i = containerIndex(value);
+            containers[i] = containers[i].addRange(low, (int) chunkEnd & 0xFFFF);
+            chunkStart = chunkEnd + 1;
+        }
+    }
+
+    /**
+     * @return true if value has been added
+     */
+    public boolean contains(int value) {
+        int i = Arrays.binarySearch(keys, 0, size, key(value));
+        return i >= 0 && containers[i].contains((char) value);
+    }
+
+    /**
+     * @return the number of values in the set
+     */
+    public long cardinality() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].cardinality();
+        }
+        return total;
+    }
+
+    /**
+     * @return true if the set holds no values
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Converts every chunk to its smallest representation. Call after bulk loading.
+     */
+    public void optimize() {
+        for (int i = 0; i < size; i++) {
+            containers[i] = containers[i].optimize();
+        }
+    }
+
+    /**
+     * @return the estimated memory held by the containers, in bytes
+     */
+    public long sizeInBytes() {
+        long total = (long) keys.length * 2 + (long) containers.length * 8;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].sizeInBytes();
+        }
+        return total;
+    }
+
+    /**
+     * @return the values as ranges; runs and bitmap words are read without visiting single values
+     */
+    public IntRangeSet toRangeSet() {
+        IntRangeSet.Builder builder = new IntRangeSet.Builder(Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            containers[i].appendRanges(base(keys[i]), builder);
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return the values in ascending order
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int index;
+            private int next = advance(0);
+
+            private int advance(int low) {
+                for (; index < size; index++, low = 0) {
+                    int found = containers[index].nextValue(low);
+                    if (found >= 0) {
+                        return found;
+                    }
+                }
+                return -1;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                int value = base(keys[index]) | next;
+                if (next == CHUNK_SIZE - 1) {
+                    index++;
+                    next = advance(0);
+                } else {
+                    next = advance(next + 1);
+                }
+                return value;
+            }
+        };
+    }
+
+    /**
+     * @return a read-only, live view of the set in ascending order
+     */
+    public Collection<Integer> asCollection() {
+        return new View(this);
+    }
+
+    /**
+     * @return the summary text, e.g. "1, 3, 6-8"
+     */
+    @Override
+    public String toString() {
+        return toRangeSet().toString();
+    }
+
+    /**
+     * @return "array", "bitmap" or "run" for the chunk holding value, or null if that chunk is empty
+     */
+    String containerType(int value) {
+        int i = Arrays.binarySearch(keys, 0, size, key(value));
+        return i < 0 ? null : containers[i].type();
+    }
+
+    private int containerIndex(int value) {
+        char key = key(value);
+        int i = Arrays.binarySearch(keys, 0, size, key);
+        if (i >= 0) {
+            return i;
+        }
+        i = -i - 1;
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(containers, i, containers, i + 1, size - i);
+        keys[i] = key;
+        containers[i] = new ArrayContainer();
+        size++;
+        return i;
+    }
+
+    private static char key(int value) {
+        return (char) ((value >>> 16) ^ 0x8000);
+    }
+
+    private static int base(char key) {
+        return (key ^ 0x8000) << 16;
+    }
+
+    /**
+     * Read-only collection over a set; sizes above Integer.MAX_VALUE are reported as Integer.MAX_VALUE.
+     */
+    static final class View extends AbstractCollection<Integer> {
+
+        final HybridIntSet set;
+
+        View(HybridIntSet set) {
+            this.set = set;
+        }
+
+        @Override
+        public PrimitiveIterator.OfInt iterator() {
+            return set.iterator();
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(set.cardinality(), Integer.MAX_VALUE);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer && set.contains((Integer) o);
+        }
+    }
+
+    /**
+     * The low 16 bits of one chunk's values. Mutators return the container to keep, which may be a
+     * converted copy.
+     */
+    private abstract static class Container {
+
+        abstract String type();
+
+        abstract int cardinality();
+
+        abstract boolean contains(char low);
+
+        abstract Container add(char low);
+
+        /**
+         * Adds the lows in [from, to], both within 0..65535.
+         */
+        abstract Container addRange(int from, int to);
+
+        /**
+         * @return the smallest low at or above low, or -1 if there is none
+         */
+        abstract int nextValue(int low);
+
+        abstract void appendRanges(int base, IntRangeSet.Builder builder);
+
+        abstract int runCount();
+
+        abstract long sizeInBytes();
+
+        /**
+         * @return the smallest of the array, bitmap and run forms of this container
+         */
+        Container optimize() {
+            int cardinality = cardinality();
+            long runBytes = 4L * runCount() + 4;
+            long arrayBytes = cardinality <= MAX_ARRAY_SIZE ? 2L * cardinality + 4 : Long.MAX_VALUE;
+            if (runBytes <= arrayBytes && runBytes < BITMAP_BYTES) {
+                return this instanceof RunContainer ? this : RunContainer.of(this);
+            }
+            if (arrayBytes < BITMAP_BYTES) {
+                return this instanceof ArrayContainer ? this : ArrayContainer.of(this);
+            }
+            return this instanceof BitmapContainer ? this : BitmapContainer.of(this);
+        }
+    }
+
+    private static final class ArrayContainer extends Container {
+
+        private char[] values = new char[4];
+        private int cardinality;
+
+        static ArrayContainer of(Container source) {
+            ArrayContainer array = new ArrayContainer();
+            array.values = new char[Math.max(source.cardinality(), 1)];
+            for (int low = source.nextValue(0); low >= 0; low = low == CHUNK_SIZE - 1 ? -1 : source.nextValue(low + 1)) {
+                array.values[array.cardinality++] = (char) low;
+            }
+            return array;
+        }
+
+        @Override
+        String type() {
+            return "array";
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        @Override
+        Container add(char low) {
+            int i = Arrays.binarySearch(values, 0, cardinality, low);
+            if (i >= 0) {
+                return this;
+            }
+            if (cardinality == MAX_ARRAY_SIZE) {
+                return BitmapContainer.of(this).add(low);
+            }
+            i = -i - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(cardinality * 2, MAX_ARRAY_SIZE));
+            }
+            System.arraycopy(values, i, values, i + 1, cardinality - i);
+            values[i] = low;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container addRange(int from, int to) {
+            int lower = insertionPoint(from);
+            int upper = insertionPoint(to + 1);
+            int merged = lower + (to - from + 1) + (cardinality - upper);
+            if (merged > MAX_ARRAY_SIZE) {
+                return BitmapContainer.of(this).addRange(from, to);
+            }
+            char[] result = new char[merged];
+            System.arraycopy(values, 0, result, 0, lower);
+            for (int low = from; low <= to; low++) {
+                result[lower + low - from] = (char) low;
+            }
+            System.arraycopy(values, upper, result, lower + to - from + 1, cardinality - upper);
+            values = result;
+            cardinality = merged;
+            return this;
+        }
+
+        @Override
+        int nextValue(int low) {
+            int i = insertionPoint(low);
+            return i < cardinality ? values[i] : -1;
+        }
+
+        @Override
+        void appendRanges(int base, IntRangeSet.Builder builder) {
+            int i = 0;
+            while (i < cardinality) {
+                int start = values[i];
+                int end = start;
+                while (++i < cardinality && values[i] == end + 1) {
+                    end++;
+                }
+                builder.add(base | start, base | end);
+            }
+        }
+
+        @Override
+        int runCount() {
+            int runs = cardinality == 0 ? 0 : 1;
+            for (int i = 1; i < cardinality; i++) {
+                if (values[i] != values[i - 1] + 1) {
+                    runs++;
+                }
+            }
+            return runs;
+        }
+
+        @Override
+        long sizeInBytes() {
+            return 2L * values.length + 16;
+        }
+
+        /**
+         * @return the index of the first value at or above low
+         */
+        private int insertionPoint(int low) {
+            if (low >= CHUNK_SIZE) {
+                return cardinality;
+            }
+            int i = Arrays.binarySearch(values, 0, cardinality, (char) low);
+            return i >= 0 ? i : -i - 1;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+
+        private final long[] words = new long[CHUNK_SIZE / 64];
+        private int cardinality;
+
+        static BitmapContainer of(Container source) {
+            BitmapContainer bitmap = new BitmapContainer();
+            IntRangeSet.Builder builder = new IntRangeSet.Builder(source.runCount());
+            source.appendRanges(0, builder);
+            IntRangeSet runs = builder.build();
+            for (int r = 0; r < runs.rangeCount(); r++) {
+                bitmap.addRange(runs.start(r), runs.end(r));
+            }
+            return bitmap;
+        }
+
+        @Override
+        String type() {
+            return "bitmap";
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        Container add(char low) {
+            long before = words[low >>> 6];
+            long after = before | (1L << low);
+            if (after != before) {
+                words[low >>> 6] = after;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container addRange(int from, int to) {
+            int firstWord = from >>> 6;
+            int lastWord = to >>> 6;
+            for (int w = firstWord; w <= lastWord; w++) {
+                long mask = -1L;
+                if (w == firstWord) {
+                    mask &= -1L << from;
+                }
+                if (w == lastWord) {
+                    mask &= -1L >>> (63 - (to & 63));
+                }
+                long before = words[w];
+                words[w] = before | mask;
+                cardinality += Long.bitCount(words[w]) - Long.bitCount(before);
+            }
+            return this;
+        }
+
+        @Override
+        int nextValue(int low) {
+            return nextSet(low);
+        }
+
+        @Override
+        void appendRanges(int base, IntRangeSet.Builder builder) {
+            for (int start = nextSet(0); start >= 0; ) {
+                int end = nextClear(start) - 1;
+                builder.add(base | start, base | end);
+                start = end + 1 < CHUNK_SIZE ? nextSet(end + 1) : -1;
+            }
+        }
+
+        @Override
+        int runCount() {
+            int runs = 0;
+            long carry = 0;
+            for (long word : words) {
+                // A run starts at every set bit whose lower neighbour is clear
+                runs += Long.bitCount(word & ~((word << 1) | carry));
+                carry = word >>> 63;
+            }
+            return runs;
+        }
+
+        @Override
+        long sizeInBytes() {
+            return BITMAP_BYTES + 16;
+        }
+
+        /**
+         * @return the first set bit at or above low, or -1
+         */
+        private int nextSet(int low) {
+            int w = low >>> 6;
+            long word = words[w] & (-1L << low);
+            while (word == 0) {
+                if (++w == words.length) {
+                    return -1;
+                }
+                word = words[w];
+            }
+            return w * 64 + Long.numberOfTrailingZeros(word);
+        }
+
+        /**
+         * @return the first clear bit at or above low, or 65536
+         */
+        private int nextClear(int low) {
+            int w = low >>> 6;
+            long word = ~words[w] & (-1L << low);
+            while (word == 0) {
+                if (++w == words.length) {
+                    return CHUNK_SIZE;
+                }
+                word = ~words[w];
+            }
+            return w * 64 + Long.numberOfTrailingZeros(word);
+        }
+    }
+
+    private static final class RunContainer extends Container {
+
+        // Run r covers [starts[r], starts[r] + lengths[r]]
+        private char[] starts = new char[4];
+        private char[] lengths = new char[4];
+        private int runs;
+        private int cardinality;
+
+        static RunContainer of(Container source) {
+            IntRangeSet.Builder builder = new IntRangeSet.Builder(source.runCount());
+            source.appendRanges(0, builder);
+            IntRangeSet ranges = builder.build();
+            RunContainer run = new RunContainer();
+            run.starts = new char[Math.max(ranges.rangeCount(), 1)];
+            run.lengths = new char[run.starts.length];
+            for (int r = 0; r < ranges.rangeCount(); r++) {
+                run.starts[r] = (char) ranges.start(r);
+                run.lengths[r] = (char) (ranges.end(r) - ranges.start(r));
+            }
+            run.runs = ranges.rangeCount();
+            run.cardinality = source.cardinality();
+            return run;
+        }
+
+        @Override
+        String type() {
+            return "run";
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char low) {
+            int r = firstEndingAtOrAfter(low);
+            return r < runs && starts[r] <= low;
+        }
+
+        @Override
+        Container add(char low) {
+            return addRange(low, low);
+        }
+
+        @Override
+        Container addRange(int from, int to) {
+            // Runs first..last overlap or touch [from, to] and are replaced by one merged run
+            int first = firstEndingAtOrAfter(from - 1);
+            int last = first;
+            int mergedFrom = from;
+            int mergedTo = to;
+            int removed = 0;
+            while (last < runs && starts[last] <= to + 1) {
+                int end = starts[last] + lengths[last];
+                mergedFrom = Math.min(mergedFrom, starts[last]);
+                mergedTo = Math.max(mergedTo, end);
+                removed += lengths[last] + 1;
+                last++;
+            }
+            int newRuns = runs - (last - first) + 1;
+            if (newRuns > starts.length) {
+                starts = Arrays.copyOf(starts, Math.max(newRuns, starts.length * 2));
+                lengths = Arrays.copyOf(lengths, starts.length);
+            }
+            System.arraycopy(starts, last, starts, first + 1, runs - last);
+            System.arraycopy(lengths, last, lengths, first + 1, runs - last);
+            starts[first] = (char) mergedFrom;
+            lengths[first] = (char) (mergedTo - mergedFrom);
+            runs = newRuns;
+            cardinality += mergedTo - mergedFrom + 1 - removed;
+            // Past this many runs a bitmap is smaller and keeps adds O(1)
+            return 4L * runs > BITMAP_BYTES ? BitmapContainer.of(this) : this;
+        }
+
+        @Override
+        int nextValue(int low) {
+            int r = firstEndingAtOrAfter(low);
+            return r < runs ? Math.max(starts[r], low) : -1;
+        }
+
+        @Override
+        void appendRanges(int base, IntRangeSet.Builder builder) {
+            for (int r = 0; r < runs; r++) {
+                builder.add(base | starts[r], base | (starts[r] + lengths[r]));
+            }
+        }
+
+        @Override
+        int runCount() {
+            return runs;
+        }
+
+        @Override
+        long sizeInBytes() {
+            return 4L * starts.length + 24;
+        }
+
+        /**
+         * @return the index of the first run whose end is at or above low, or runs if there is none
+         */
+        private int firstEndingAtOrAfter(int low) {
+            int lowIndex = 0;
+            int high = runs - 1;
+            while (lowIndex <= high) {
+                int mid = (lowIndex + high) >>> 1;
+                if (starts[mid] + lengths[mid] < low) {
+                    lowIndex = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return lowIndex;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package numberrangesummarizer;
+
+import java.util.Collection;
+
+/**
+ * NumberRangeSummarizer that keeps collected values in a HybridIntSet instead of an int array.
+ *
+ * collect parses the text in chunks straight into the set, so memory stays bounded by the chunks the
+ * values touch rather than by their count, and the returned collection is a read-only view of the set.
+ * summarizeCollection reads the ranges of such a view directly: run containers become output ranges
+ * without visiting single values. Other collections are loaded into a set first; if that shows they
+ * hold duplicates, NumberRangeSummarizerImpl formats them instead so its output is matched exactly.
+ */
+public class HybridRangeSummarizer implements NumberRangeSummarizer {
+
+    // Chars parsed before the scanned values are moved into the set
+    private static final int PARSE_CHUNK = 1 << 16;
+
+    private final RangeFormatter formatter;
+    private final NumberRangeSummarizerImpl fallback;
+
+    /**
+     * Creates a summarizer with the default output format.
+     */
+    public HybridRangeSummarizer() {
+        this(RangeFormatter.DEFAULT);
+    }
+
+    /**
+     * Creates a summarizer.
+     *
+     * @param formatter writes the summaries
+     */
+    public HybridRangeSummarizer(RangeFormatter formatter) {
+        if (formatter == null) {
+            throw new IllegalArgumentException("formatter must not be null");
+        }
+        this.formatter = formatter;
+        this.fallback = new NumberRangeSummarizerImpl(OrderingStrategy.AUTO, formatter);
+    }
+
+    @Override
+    public Collection<Integer> collect(String input) {
+        return collectSet(input).asCollection();
+    }
+
+    /**
+     * Collects comma-separated numbers into an optimized HybridIntSet.
+     *
+     * @param input comma-separated numbers (possibly with spaces), may be null
+     * @return the set of the numbers
+     * @throws IllegalArgumentException if any token cannot be parsed as an integer
+     */
+    public HybridIntSet collectSet(CharSequence input) {
+        HybridIntSet set = new HybridIntSet();
+        if (input == null) {
+            return set;
+        }
+        IntTokenScanner scanner = new IntTokenScanner(Math.min(input.length() / 2 + 1, PARSE_CHUNK / 2));
+        for (int from = 0; from < input.length(); from += PARSE_CHUNK) {
+            scanner.feed(input, from, Math.min(from + PARSE_CHUNK, input.length()));
+            set.addAll(scanner.buffer(), 0, scanner.size());
+            scanner.clear();
+        }
+        scanner.finish();
+        set.addAll(scanner.buffer(), 0, scanner.size());
+        set.optimize();
+        return set;
+    }
+
+    @Override
+    public String summarizeCollection(Collection<Integer> input) {
+        if (input == null || input.isEmpty()) {
+            return "";
+        }
+        if (input instanceof HybridIntSet.View) {
+            return formatter.format(((HybridIntSet.View) input).set.toRangeSet());
+        }
+        HybridIntSet set = new HybridIntSet();
+        for (Integer value : input) {
+            set.add(value);
+        }
+        if (set.cardinality() != input.size()) {
+            return fallback.summarizeCollection(input);
+        }
+        return formatter.format(set.toRangeSet());
+    }
+
+    @Override
+    public String summarize(int[] values, int from, int to) {
+        if (from < 0 || from > to || to > values.length) {
+            throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", length: " + values.length);
+        }
+        HybridIntSet set = new HybridIntSet();
+        set.addAll(values, from, to);
+        if (set.cardinality() != to - from) {
+            return fallback.summarize(values, from, to);
+        }
+        return formatter.format(set.toRangeSet());
+    }
+
+    @Override
+    public StringBuilder summarize(int[] values, int from, int to, StringBuilder out) {
+        return out.append(summarize(values, from, to));
+    }
+}
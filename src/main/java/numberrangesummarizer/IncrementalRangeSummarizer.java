@@ -0,0 +1,188 @@
+package numberrangesummarizer;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mutable summarizer that maintains its ranges as values arrive one at a time.
+ *
+ * Ranges are kept in a TreeMap from start to end. Each add looks at the range at or below the value
+ * and the one right after it, merging with either neighbour, so an add costs O(log r) for r ranges.
+ * summary() and snapshot() work from the ranges, never from the individual values, and are cached
+ * until the next change.
+ *
+ * The value set has the same semantics as collect (duplicates are ignored), so summary() is identical
+ * to summarizeCollection(collect(input)) for the same values. Instances are not thread-safe.
+ */
+public class IncrementalRangeSummarizer {
+
+    private final TreeMap<Integer, Integer> ranges = new TreeMap<>();
+    private final RangeFormatter formatter;
+
+    private long cardinality;
+    private String cachedSummary;
+    private IntRangeSet cachedSnapshot;
+
+    /**
+     * Creates an empty summarizer with the default output format.
+     */
+    public IncrementalRangeSummarizer() {
+        this(RangeFormatter.DEFAULT);
+    }
+
+    /**
+     * Creates an empty summarizer.
+     *
+     * @param formatter writes summary()
+     */
+    public IncrementalRangeSummarizer(RangeFormatter formatter) {
+        if (formatter == null) {
+            throw new IllegalArgumentException("formatter must not be null");
+        }
+        this.formatter = formatter;
+    }
+
+    /**
+     * Adds a value, merging it into adjacent ranges.
+     *
+     * @param value the value
+     * @return true if the value was not present before
+     */
+    public boolean add(int value) {
+        return addRange(value, value) > 0;
+    }
+
+    /**
+     * Adds every value of values[from, to).
+     *
+     * @return the number of values that were not present before
+     */
+    public long addAll(int[] values, int from, int to) {
+        if (from < 0 || from > to || to > values.length) {
+            throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", length: " + values.length);
+        }
+        long added = 0;
+        for (int i = from; i < to; i++) {
+            added += addRange(values[i], values[i]);
+        }
+        return added;
+    }
+
+    /**
+     * Adds the closed range [start, end], merging it with every range it overlaps or touches.
+     *
+     * @return the number of values that were not present before
+     * @throws IllegalArgumentException if start is greater than end
+     */
+    public long addRange(int start, int end) {
+        if (start > end) {
+            throw new IllegalArgumentException("Range start " + start + " is greater than end " + end);
+        }
+
+        // Already covered by the range at or below start: nothing changes
+        Map.Entry<Integer, Integer> floor = ranges.floorEntry(start);
+        if (floor != null && floor.getValue() >= end) {
+            return 0;
+        }
+
+        long newStart = start;
+        long newEnd = end;
+        long removed = 0;
+
+        // Merge with the range below if it overlaps or ends right before start
+        if (floor != null && (long) floor.getValue() + 1 >= start) {
+            newStart = floor.getKey();
+            newEnd = Math.max(newEnd, floor.getValue());
+            removed += length(floor.getKey(), floor.getValue());
+            ranges.remove(floor.getKey());
+        }
+
+        // Absorb every range starting inside [start, end + 1]
+        Map.Entry<Integer, Integer> next = ranges.ceilingEntry(start);
+        while (next != null && next.getKey() <= newEnd + 1) {
+            newEnd = Math.max(newEnd, next.getValue());
+            removed += length(next.getKey(), next.getValue());
+            ranges.remove(next.getKey());
+            next = ranges.ceilingEntry(next.getKey());
+        }
+
+        ranges.put((int) newStart, (int) newEnd);
+        long added = length(newStart, newEnd) - removed;
+        cardinality += added;
+        cachedSummary = null;
+        cachedSnapshot = null;
+        return added;
+    }
+
+    /**
+     * @return true if value has been added
+     */
+    public boolean contains(int value) {
+        Map.Entry<Integer, Integer> floor = ranges.floorEntry(value);
+        return floor != null && floor.getValue() >= value;
+    }
+
+    /**
+     * @return the number of ranges
+     */
+    public int rangeCount() {
+        return ranges.size();
+    }
+
+    /**
+     * @return the number of distinct values added
+     */
+    public long cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * @return true if nothing has been added
+     */
+    public boolean isEmpty() {
+        return ranges.isEmpty();
+    }
+
+    /**
+     * Removes every value.
+     */
+    public void clear() {
+        ranges.clear();
+        cardinality = 0;
+        cachedSummary = null;
+        cachedSnapshot = null;
+    }
+
+    /**
+     * @return the current summary, e.g. "1, 3, 6-8"; cached until the next change
+     */
+    public String summary() {
+        if (cachedSummary == null) {
+            cachedSummary = formatter.format(snapshot());
+        }
+        return cachedSummary;
+    }
+
+    /**
+     * @return an immutable copy of the current ranges; cached until the next change
+     */
+    public IntRangeSet snapshot() {
+        if (cachedSnapshot == null) {
+            IntRangeSet.Builder builder = new IntRangeSet.Builder(ranges.size());
+            for (Map.Entry<Integer, Integer> range : ranges.entrySet()) {
+                builder.add(range.getKey(), range.getValue());
+            }
+            cachedSnapshot = builder.build();
+        }
+        return cachedSnapshot;
+    }
+
+    @Override
+    public String toString() {
+        return summary();
+    }
+
+    private static long length(long start, long end) {
+        return end - start + 1;
+    }
+}
@@ -0,0 +1,52 @@
+package numberrangesummarizer;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only List view over a slice of an int array.
+ *
+ * Values are boxed lazily in get(), so handing a parsed int array out through the
+ * Collection&lt;Integer&gt; API does not allocate an Integer per element up front.
+ * The view is only created over sorted, duplicate-free arrays that nothing else writes to.
+ */
+final class IntListView extends AbstractList<Integer> implements RandomAccess {
+
+    private final int[] values;
+    private final int from;
+    private final int to;
+
+    IntListView(int[] values, int from, int to) {
+        this.values = values;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public Integer get(int index) {
+        if (index < 0 || index >= to - from) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + (to - from));
+        }
+        return values[from + index];
+    }
+
+    @Override
+    public int size() {
+        return to - from;
+    }
+
+    /**
+     * @return the backing array; the view covers [from(), to())
+     */
+    int[] array() {
+        return values;
+    }
+
+    int from() {
+        return from;
+    }
+
+    int to() {
+        return to;
+    }
+}
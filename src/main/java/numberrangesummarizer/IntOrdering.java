@@ -0,0 +1,243 @@
+package numberrangesummarizer;
+
+import java.util.Arrays;
+
+/**
+ * Adaptive ordering stage for int slices: sorts in place and optionally removes duplicates.
+ *
+ * Strategy selection costs one pass over the values and detects input that is already
+ * ascending, in which case no sorting happens at all.
+ */
+final class IntOrdering {
+
+    // Below this size a comparison sort beats the setup cost of the linear-time strategies
+    static final int COMPARISON_THRESHOLD = 256;
+
+    // Radix sort needs a scratch array and 4 passes, so it only pays off on large inputs
+    static final int RADIX_THRESHOLD = 1 << 12;
+
+    // Counting is chosen when the window is at most this many times the value count:
+    // a bitset costs one bit per window slot, a count array 32 bits per slot
+    static final int BITSET_DENSITY = 16;
+    static final int COUNTS_DENSITY = 2;
+
+    // Largest window a counting pass will allocate for, whatever the density
+    static final long MAX_COUNTING_WINDOW = 1L << 27;
+
+    private IntOrdering() {
+    }
+
+    /**
+     * Resolves the strategy that order() will apply to values[from, to).
+     *
+     * @param values the values
+     * @param from index of the first value
+     * @param to index after the last value
+     * @param distinct whether duplicates will be removed
+     * @param requested the requested strategy; AUTO picks one, COUNTING falls back to RADIX
+     *                  when the window is too sparse for the value count (see fitsCounting)
+     * @return a concrete strategy, never AUTO
+     */
+    static OrderingStrategy resolve(int[] values, int from, int to, boolean distinct, OrderingStrategy requested) {
+        int n = to - from;
+        if (n < 2) {
+            return OrderingStrategy.NONE;
+        }
+
+        int min = values[from];
+        int max = min;
+        boolean ascending = true;
+        for (int i = from + 1; i < to; i++) {
+            int value = values[i];
+            if (value < max) {
+                ascending = false;
+                min = Math.min(min, value);
+            } else {
+                max = value;
+            }
+        }
+        long window = (long) max - min + 1;
+
+        switch (requested) {
+            case AUTO:
+                break;
+            case COUNTING:
+                return fitsCounting(window, n, distinct) ? OrderingStrategy.COUNTING : OrderingStrategy.RADIX;
+            default:
+                return requested;
+        }
+
+        if (ascending) {
+            return OrderingStrategy.NONE;
+        }
+        if (n < COMPARISON_THRESHOLD) {
+            return OrderingStrategy.COMPARISON;
+        }
+        if (fitsCounting(window, n, distinct)) {
+            return OrderingStrategy.COUNTING;
+        }
+        return n >= RADIX_THRESHOLD ? OrderingStrategy.RADIX : OrderingStrategy.COMPARISON;
+    }
+
+    /**
+     * Whether a counting pass over window slots is worth its allocation for n values: the bitset
+     * (distinct) or count array must stay within a small multiple of the values themselves.
+     */
+    static boolean fitsCounting(long window, int n, boolean distinct) {
+        long density = distinct ? BITSET_DENSITY : COUNTS_DENSITY;
+        return window <= density * n && window <= MAX_COUNTING_WINDOW;
+    }
+
+    /**
+     * Sorts values[from, to) in place using a concrete strategy, optionally removing duplicates.
+     *
+     * @param values the values
+     * @param from index of the first value
+     * @param to index after the last value
+     * @param distinct whether to remove duplicates
+     * @param strategy a strategy returned by resolve(); COUNTING is still checked against the
+     *                 window and falls back to RADIX, so passing it directly is safe
+     * @return index after the last value kept; to unless duplicates were removed
+     */
+    static int order(int[] values, int from, int to, boolean distinct, OrderingStrategy strategy) {
+        if (to - from < 2) {
+            return to;
+        }
+        switch (strategy) {
+            case NONE:
+                break;
+            case COUNTING: {
+                int min = min(values, from, to);
+                long window = (long) max(values, from, to) - min + 1;
+                if (fitsCounting(window, to - from, distinct)) {
+                    return distinct ? bitsetSort(values, from, to, min, window) : countingSort(values, from, to, min, window);
+                }
+                radixSort(values, from, to);
+                break;
+            }
+            case RADIX:
+                radixSort(values, from, to);
+                break;
+            case COMPARISON:
+                Arrays.sort(values, from, to);
+                break;
+            default:
+                throw new IllegalArgumentException("Unresolved ordering strategy: " + strategy);
+        }
+        return distinct ? removeDuplicates(values, from, to) : to;
+    }
+
+    /**
+     * Sorts values[from, to) in place with the strategy AUTO resolves to.
+     *
+     * @param distinct whether to remove duplicates
+     * @return index after the last value kept; to unless duplicates were removed
+     */
+    static int sort(int[] values, int from, int to, boolean distinct) {
+        return order(values, from, to, distinct, resolve(values, from, to, distinct, OrderingStrategy.AUTO));
+    }
+
+    /**
+     * Removes duplicates from a sorted slice in place.
+     *
+     * @return index after the last unique value
+     */
+    static int removeDuplicates(int[] values, int from, int to) {
+        if (from == to) {
+            return to;
+        }
+        int unique = from + 1;
+        for (int i = from + 1; i < to; i++) {
+            if (values[i] != values[unique - 1]) {
+                values[unique++] = values[i];
+            }
+        }
+        return unique;
+    }
+
+    private static int bitsetSort(int[] values, int from, int to, int min, long window) {
+        long[] bits = new long[(int) ((window + 63) >>> 6)];
+        for (int i = from; i < to; i++) {
+            int offset = values[i] - min;
+            bits[offset >>> 6] |= 1L << offset;
+        }
+
+        int out = from;
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                values[out++] = min + (word << 6) + Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+            }
+        }
+        return out;
+    }
+
+    private static int countingSort(int[] values, int from, int to, int min, long window) {
+        int[] counts = new int[(int) window];
+        for (int i = from; i < to; i++) {
+            counts[values[i] - min]++;
+        }
+
+        int out = from;
+        for (int offset = 0; offset < counts.length; offset++) {
+            for (int c = counts[offset]; c > 0; c--) {
+                values[out++] = min + offset;
+            }
+        }
+        return to;
+    }
+
+    private static void radixSort(int[] values, int from, int to) {
+        int n = to - from;
+        int[] source = Arrays.copyOfRange(values, from, to);
+        int[] target = new int[n];
+        int[] counts = new int[256];
+
+        for (int shift = 0; shift < 32; shift += 8) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < n; i++) {
+                counts[digit(source[i], shift)]++;
+            }
+            // All values share this digit, so the pass would not move anything
+            if (counts[digit(source[0], shift)] == n) {
+                continue;
+            }
+            int offset = 0;
+            for (int d = 0; d < 256; d++) {
+                int count = counts[d];
+                counts[d] = offset;
+                offset += count;
+            }
+            for (int i = 0; i < n; i++) {
+                int value = source[i];
+                target[counts[digit(value, shift)]++] = value;
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        System.arraycopy(source, 0, values, from, n);
+    }
+
+    private static int digit(int value, int shift) {
+        // Flip the sign bit on the top digit so negatives order before positives
+        return shift == 24 ? ((value >>> 24) ^ 0x80) : ((value >>> shift) & 0xFF);
+    }
+
+    private static int min(int[] values, int from, int to) {
+        int min = values[from];
+        for (int i = from + 1; i < to; i++) {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+
+    private static int max(int[] values, int from, int to) {
+        int max = values[from];
+        for (int i = from + 1; i < to; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,530 @@
+package numberrangesummarizer;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Immutable set of ints stored as sorted, disjoint, non-adjacent closed ranges.
+ *
+ * Ranges are packed into parallel starts/ends arrays, so a mostly contiguous set of millions of
+ * values takes a few bytes per range. Membership is a binary search over the ranges (O(log r)),
+ * and union, intersection and difference are linear merges over the ranges of both sets.
+ *
+ * toString() produces the same text as summarizeCollection(collect(input)), e.g. "1, 3, 6-8, 12-15".
+ */
+public final class IntRangeSet implements Iterable<Integer> {
+
+    private static final IntRangeSet EMPTY = new IntRangeSet(new int[0], new int[0], 0);
+
+    private final int[] starts;
+    private final int[] ends;
+    private final int rangeCount;
+
+    private IntRangeSet(int[] starts, int[] ends, int rangeCount) {
+        this.starts = starts;
+        this.ends = ends;
+        this.rangeCount = rangeCount;
+    }
+
+    /**
+     * @return the empty set
+     */
+    public static IntRangeSet empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a set holding the single range [start, end].
+     *
+     * @throws IllegalArgumentException if start is greater than end
+     */
+    public static IntRangeSet ofRange(int start, int end) {
+        return new Builder(1).add(start, end).build();
+    }
+
+    /**
+     * Creates a set from values in any order; duplicates are ignored.
+     *
+     * @param values the values; not modified
+     * @return the set of the values
+     */
+    public static IntRangeSet of(int... values) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return fromSorted(sorted, 0, sorted.length);
+    }
+
+    /**
+     * Parses summary text such as "1, 3, 6-8, -3--1" back into a set, without expanding ranges.
+     *
+     * @throws IllegalArgumentException if the text is not a valid summary
+     * @see RangeSummaryParser
+     */
+    public static IntRangeSet parse(CharSequence summary) {
+        return RangeSummaryParser.parse(summary);
+    }
+
+    /**
+     * Creates a set from values[from, to), which must be in ascending order; duplicates are ignored.
+     *
+     * @throws IllegalArgumentException if the values are not ascending
+     */
+    public static IntRangeSet fromSorted(int[] values, int from, int to) {
+        if (from < 0 || from > to || to > values.length) {
+            throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", length: " + values.length);
+        }
+        Builder builder = new Builder();
+        for (int i = from; i < to; i++) {
+            // The builder only compares against the last range start, so [1, 2, 3, 2] would pass it
+            if (i > from && values[i] < values[i - 1]) {
+                throw new IllegalArgumentException("Values must be in ascending order: "
+                        + values[i] + " follows " + values[i - 1] + " at index " + i);
+            }
+            builder.add(values[i]);
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return the number of ranges
+     */
+    public int rangeCount() {
+        return rangeCount;
+    }
+
+    /**
+     * @return the first value of range i
+     */
+    public int start(int i) {
+        checkRangeIndex(i);
+        return starts[i];
+    }
+
+    /**
+     * @return the last value of range i (inclusive)
+     */
+    public int end(int i) {
+        checkRangeIndex(i);
+        return ends[i];
+    }
+
+    /**
+     * @return true if the set holds no values
+     */
+    public boolean isEmpty() {
+        return rangeCount == 0;
+    }
+
+    /**
+     * @return the number of values in the set; a long, since a set can hold up to 2^32 values
+     */
+    public long cardinality() {
+        long total = 0;
+        for (int i = 0; i < rangeCount; i++) {
+            total += (long) ends[i] - starts[i] + 1;
+        }
+        return total;
+    }
+
+    /**
+     * @return the smallest value
+     * @throws NoSuchElementException if the set is empty
+     */
+    public int min() {
+        if (rangeCount == 0) {
+            throw new NoSuchElementException("Empty set");
+        }
+        return starts[0];
+    }
+
+    /**
+     * @return the largest value
+     * @throws NoSuchElementException if the set is empty
+     */
+    public int max() {
+        if (rangeCount == 0) {
+            throw new NoSuchElementException("Empty set");
+        }
+        return ends[rangeCount - 1];
+    }
+
+    /**
+     * Checks membership with a binary search over the ranges, O(log r).
+     */
+    public boolean contains(int value) {
+        int i = rangeIndexOf(value);
+        return i >= 0;
+    }
+
+    /**
+     * Finds the range holding a value.
+     *
+     * @return the index of the range containing value, or (-(insertion point) - 1) if no range does
+     */
+    public int rangeIndexOf(int value) {
+        int low = 0;
+        int high = rangeCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (ends[mid] < value) {
+                low = mid + 1;
+            } else if (starts[mid] > value) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * @return the values in ascending order, without boxing
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int range;
+            private long next = rangeCount == 0 ? 0 : starts[0];
+
+            @Override
+            public boolean hasNext() {
+                return range < rangeCount;
+            }
+
+            @Override
+            public int nextInt() {
+                if (range >= rangeCount) {
+                    throw new NoSuchElementException();
+                }
+                int value = (int) next;
+                if (next == ends[range]) {
+                    range++;
+                    next = range < rangeCount ? starts[range] : 0;
+                } else {
+                    next++;
+                }
+                return value;
+            }
+        };
+    }
+
+    /**
+     * @return the values in ascending order
+     */
+    public IntStream stream() {
+        long size = cardinality();
+        int characteristics = Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT
+                | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        Spliterator.OfInt spliterator = size <= Integer.MAX_VALUE
+                ? Spliterators.spliterator(iterator(), size, characteristics)
+                : Spliterators.spliteratorUnknownSize(iterator(), characteristics);
+        return StreamSupport.intStream(spliterator, false);
+    }
+
+    /**
+     * @return the values as an array
+     * @throws IllegalStateException if the set holds more values than an array can
+     */
+    public int[] toArray() {
+        long size = cardinality();
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Too many values for an array: " + size);
+        }
+        int[] values = new int[(int) size];
+        int k = 0;
+        for (int i = 0; i < rangeCount; i++) {
+            for (long v = starts[i]; v <= ends[i]; v++) {
+                values[k++] = (int) v;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @return the values in this set or other
+     */
+    public IntRangeSet union(IntRangeSet other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+        Builder builder = new Builder(rangeCount + other.rangeCount);
+        int i = 0;
+        int j = 0;
+        while (i < rangeCount || j < other.rangeCount) {
+            if (j == other.rangeCount || (i < rangeCount && starts[i] <= other.starts[j])) {
+                builder.add(starts[i], ends[i]);
+                i++;
+            } else {
+                builder.add(other.starts[j], other.ends[j]);
+                j++;
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return the values in both this set and other
+     */
+    public IntRangeSet intersection(IntRangeSet other) {
+        Builder builder = new Builder(Math.min(rangeCount, other.rangeCount) + 1);
+        int i = 0;
+        int j = 0;
+        while (i < rangeCount && j < other.rangeCount) {
+            int start = Math.max(starts[i], other.starts[j]);
+            int end = Math.min(ends[i], other.ends[j]);
+            if (start <= end) {
+                builder.add(start, end);
+            }
+            if (ends[i] < other.ends[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return the values in this set that are not in other
+     */
+    public IntRangeSet difference(IntRangeSet other) {
+        if (isEmpty() || other.isEmpty()) {
+            return this;
+        }
+        Builder builder = new Builder(rangeCount + other.rangeCount);
+        int j = 0;
+        for (int i = 0; i < rangeCount; i++) {
+            long start = starts[i];
+            int end = ends[i];
+            // Skip ranges of other that end before this range
+            while (j < other.rangeCount && other.ends[j] < start) {
+                j++;
+            }
+            // Carve out every range of other that overlaps this one
+            int k = j;
+            while (k < other.rangeCount && other.starts[k] <= end && start <= end) {
+                if (other.starts[k] > start) {
+                    builder.add((int) start, other.starts[k] - 1);
+                }
+                start = (long) other.ends[k] + 1;
+                k++;
+            }
+            if (start <= end) {
+                builder.add((int) start, end);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Coarsens the set by filling every gap of at most maxGap missing values between two ranges,
+     * e.g. "1-3, 5, 9" with maxGap 1 gives "1-5, 9". Runs in O(r).
+     *
+     * @param maxGap the widest gap to fill; 0 returns this set
+     * @return a superset with no gap of maxGap or fewer values
+     * @throws IllegalArgumentException if maxGap is negative
+     */
+    public IntRangeSet mergeGaps(int maxGap) {
+        if (maxGap < 0) {
+            throw new IllegalArgumentException("maxGap must not be negative: " + maxGap);
+        }
+        if (maxGap == 0 || rangeCount < 2) {
+            return this;
+        }
+        boolean[] close = new boolean[rangeCount - 1];
+        for (int i = 1; i < rangeCount; i++) {
+            close[i - 1] = gap(i) <= maxGap;
+        }
+        return closeGaps(close);
+    }
+
+    /**
+     * Coarsens the set to at most maxRanges ranges by filling the smallest gaps first; among equal
+     * gaps the leftmost are filled first. Runs in O(r log r).
+     *
+     * @param maxRanges the number of ranges to keep, at least 1
+     * @return a superset with at most maxRanges ranges that adds as few values as possible
+     * @throws IllegalArgumentException if maxRanges is less than 1
+     */
+    public IntRangeSet mergeToAtMost(int maxRanges) {
+        if (maxRanges < 1) {
+            throw new IllegalArgumentException("maxRanges must be at least 1: " + maxRanges);
+        }
+        if (rangeCount <= maxRanges) {
+            return this;
+        }
+        // A gap is below 2^32 and its index below 2^31, so (gap, index) packs into one positive long
+        // and a single primitive sort orders the gaps by width, then position
+        long[] gaps = new long[rangeCount - 1];
+        for (int i = 1; i < rangeCount; i++) {
+            gaps[i - 1] = gap(i) << 31 | (i - 1);
+        }
+        Arrays.sort(gaps);
+        boolean[] close = new boolean[rangeCount - 1];
+        for (int g = 0; g < rangeCount - maxRanges; g++) {
+            close[(int) (gaps[g] & Integer.MAX_VALUE)] = true;
+        }
+        return closeGaps(close);
+    }
+
+    /**
+     * @return the number of values missing between range i - 1 and range i
+     */
+    private long gap(int i) {
+        return (long) starts[i] - ends[i - 1] - 1;
+    }
+
+    /**
+     * @param close close[i] is true to fill the gap between range i and range i + 1
+     */
+    private IntRangeSet closeGaps(boolean[] close) {
+        int[] newStarts = new int[rangeCount];
+        int[] newEnds = new int[rangeCount];
+        int count = 0;
+        newStarts[0] = starts[0];
+        newEnds[0] = ends[0];
+        for (int i = 1; i < rangeCount; i++) {
+            if (close[i - 1]) {
+                newEnds[count] = ends[i];
+            } else {
+                count++;
+                newStarts[count] = starts[i];
+                newEnds[count] = ends[i];
+            }
+        }
+        count++;
+        if (count == rangeCount) {
+            return this;
+        }
+        return new IntRangeSet(Arrays.copyOf(newStarts, count), Arrays.copyOf(newEnds, count), count);
+    }
+
+    /**
+     * Appends the summary text, e.g. "1, 3, 6-8, 12-15".
+     *
+     * @param out the builder to append to
+     * @return out
+     */
+    public StringBuilder appendTo(StringBuilder out) {
+        return RangeFormatter.DEFAULT.format(this, out);
+    }
+
+    /**
+     * @return the summary text, identical to NumberRangeSummarizerImpl's output for the same values
+     */
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder()).toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IntRangeSet)) {
+            return false;
+        }
+        IntRangeSet other = (IntRangeSet) o;
+        if (rangeCount != other.rangeCount) {
+            return false;
+        }
+        for (int i = 0; i < rangeCount; i++) {
+            if (starts[i] != other.starts[i] || ends[i] != other.ends[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < rangeCount; i++) {
+            hash = 31 * (31 * hash + starts[i]) + ends[i];
+        }
+        return hash;
+    }
+
+    private void checkRangeIndex(int i) {
+        if (i < 0 || i >= rangeCount) {
+            throw new IndexOutOfBoundsException("Range: " + i + ", ranges: " + rangeCount);
+        }
+    }
+
+    /**
+     * Accumulates ranges in ascending order of start, merging overlapping and adjacent ranges.
+     */
+    public static final class Builder {
+
+        private int[] starts;
+        private int[] ends;
+        private int count;
+
+        public Builder() {
+            this(8);
+        }
+
+        public Builder(int expectedRanges) {
+            int capacity = Math.max(expectedRanges, 1);
+            starts = new int[capacity];
+            ends = new int[capacity];
+        }
+
+        /**
+         * Adds a single value; must not be smaller than the start of the last range added.
+         */
+        public Builder add(int value) {
+            return add(value, value);
+        }
+
+        /**
+         * Adds the closed range [start, end]; start must not be smaller than the start of the last range added.
+         *
+         * @throws IllegalArgumentException if start is greater than end or ranges arrive out of order
+         */
+        public Builder add(int start, int end) {
+            if (start > end) {
+                throw new IllegalArgumentException("Range start " + start + " is greater than end " + end);
+            }
+            if (count > 0) {
+                int last = count - 1;
+                if (start < starts[last]) {
+                    throw new IllegalArgumentException("Ranges must be added in ascending order: "
+                            + start + " follows " + starts[last]);
+                }
+                // Overlapping or adjacent (long arithmetic so Integer.MAX_VALUE never wraps)
+                if (start <= (long) ends[last] + 1) {
+                    ends[last] = Math.max(ends[last], end);
+                    return this;
+                }
+            }
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = start;
+            ends[count] = end;
+            count++;
+            return this;
+        }
+
+        /**
+         * @return the set built so far; the builder can keep adding afterwards
+         */
+        public IntRangeSet build() {
+            if (count == 0) {
+                return EMPTY;
+            }
+            return new IntRangeSet(Arrays.copyOf(starts, count), Arrays.copyOf(ends, count), count);
+        }
+    }
+}
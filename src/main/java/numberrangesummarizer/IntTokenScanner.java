@@ -0,0 +1,121 @@
+package numberrangesummarizer;
+
+import java.util.Arrays;
+
+/**
+ * Single-pass scanner that parses comma-separated integers straight into a growable int array.
+ *
+ * The tokenizing rules live in TokenScanner; this class accumulates each token's digits in an int
+ * (the same negative-accumulator technique used by Integer.parseInt) and appends the values to its
+ * buffer. A scanner made by validate() records invalid tokens instead of throwing.
+ */
+final class IntTokenScanner extends TokenScanner {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] values;
+
+    private int limit;
+    private int accumulator;
+
+    IntTokenScanner() {
+        this(INITIAL_CAPACITY);
+    }
+
+    IntTokenScanner(int initialCapacity) {
+        this.values = new int[Math.max(initialCapacity, 1)];
+    }
+
+    /**
+     * Parses a complete comma-separated input.
+     *
+     * @param input comma-separated numbers, may be null
+     * @return the parsed values in input order, sized exactly
+     * @throws IllegalArgumentException if any token cannot be parsed as an integer
+     */
+    static int[] scan(CharSequence input) {
+        if (input == null) {
+            return new int[0];
+        }
+        IntTokenScanner scanner = new IntTokenScanner(capacityFor(input));
+        scanner.feed(input, 0, input.length());
+        scanner.finish();
+        return scanner.toArray();
+    }
+
+    /**
+     * Parses a complete comma-separated input without throwing for invalid tokens. Valid tokens are
+     * kept as usual; each invalid one is recorded as a span, and scanning stops at the comma after
+     * the maxErrors-th invalid token.
+     *
+     * @param input comma-separated numbers, may be null
+     * @param maxErrors invalid tokens to record before stopping, at least 1
+     * @return the scanner, holding the values and errors found
+     */
+    static IntTokenScanner validate(CharSequence input, int maxErrors) {
+        IntTokenScanner scanner = new IntTokenScanner(capacityFor(input));
+        scanner.feedValidating(input, maxErrors);
+        return scanner;
+    }
+
+    /**
+     * @return the backing array; only the first size() entries are meaningful
+     */
+    int[] buffer() {
+        return values;
+    }
+
+    /**
+     * Sorts and de-duplicates the parsed values in place, then appends their summary; call after
+     * finish() and clear() before reusing the scanner.
+     *
+     * @param formatter writes the ranges
+     * @param out the builder to append to
+     * @return out
+     */
+    StringBuilder summarize(RangeFormatter formatter, StringBuilder out) {
+        return formatter.format(values, 0, IntOrdering.sort(values, 0, size, true), out);
+    }
+
+    /**
+     * @return a copy of the parsed values, sized exactly
+     */
+    int[] toArray() {
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    @Override
+    void startValue(boolean negative) {
+        limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        accumulator = 0;
+    }
+
+    @Override
+    void appendDigit(int digit) {
+        // Accumulate negatively so Integer.MIN_VALUE is reachable, checking overflow before each step
+        if (accumulator < limit / 10) {
+            overflowed();
+            return;
+        }
+        int shifted = accumulator * 10;
+        if (shifted < limit + digit) {
+            overflowed();
+            return;
+        }
+        accumulator = shifted - digit;
+    }
+
+    @Override
+    void addValue(boolean negative) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length + (values.length >> 1) + 1);
+        }
+        values[size++] = negative ? accumulator : -accumulator;
+    }
+
+    private void overflowed() {
+        overflow();
+        accumulator = 0;
+        limit = 0;
+    }
+}
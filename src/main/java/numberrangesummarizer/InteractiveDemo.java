@@ -1,15 +1,45 @@
 package numberrangesummarizer;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Interactive demo class that allows users to input their own integers
  * and see the number range summarization in action.
+ *
+ * With --pipe it runs as a filter instead: one input per line on stdin, one summary per line on
+ * stdout, with no prompts or echo, so a single JVM can work through millions of lines:
+ *   java InteractiveDemo --pipe [--threads N] &lt; ids.txt &gt; summaries.txt
  */
 public class InteractiveDemo {
+
+    // Lines summarized, written and flushed together in pipe mode
+    static final int PIPE_BATCH_LINES = 4096;
+
+    private static final int PIPE_BUFFER_SIZE = 1 << 16;
     
     public static void main(String[] args) {
+        if (args.length > 0) {
+            runPipe(args);
+            return;
+        }
+
         NumberRangeSummarizer summarizer = new NumberRangeSummarizerImpl();
         Scanner scanner = new Scanner(System.in);
         
@@ -61,4 +91,202 @@ public class InteractiveDemo {
         
         scanner.close();
     }
+
+    /**
+     * Parses the pipe-mode options and runs pipe() over stdin and stdout.
+     */
+    private static void runPipe(String[] args) {
+        boolean pipe = false;
+        int threads = 1;
+        for (int i = 0; i < args.length; i++) {
+            if ("--pipe".equals(args[i])) {
+                pipe = true;
+            } else if ("--threads".equals(args[i]) && i + 1 < args.length) {
+                try {
+                    threads = Integer.parseInt(args[++i]);
+                } catch (NumberFormatException e) {
+                    threads = 0;
+                }
+                if (threads <= 0) {
+                    System.err.println("Invalid thread count: " + args[i]);
+                    return;
+                }
+            } else {
+                System.err.println("Unknown or incomplete option: " + args[i]);
+                return;
+            }
+        }
+        if (!pipe) {
+            System.err.println("Usage: java InteractiveDemo [--pipe [--threads N]]");
+            return;
+        }
+
+        ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+        try {
+            BatchRangeSummarizer batch = new BatchRangeSummarizer(executor,
+                    Math.max(PIPE_BATCH_LINES / threads, 1));
+            pipe(System.in, System.out, batch);
+        } catch (IOException e) {
+            System.err.println("Unexpected error: " + e.getMessage());
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Summarizes each line of in and writes one result line per input line to out, in order.
+     * Input is read as bytes into one reusable buffer and each line is fed straight to a token
+     * scanner, so no String is built per line. After every read, the complete lines received so far
+     * (up to PIPE_BATCH_LINES) are summarized as a batch, so an interactive producer is answered line
+     * by line. A batch is split into slices on the batch's executor, if it has one, and out is
+     * flushed once per batch rather than per line. An empty line gives an empty line; an invalid line gives "Error: "
+     * and the message, and only that line is affected.
+     *
+     * @param in newline-delimited, comma-separated numbers in UTF-8
+     * @param out receives the summaries in UTF-8; flushed but not closed
+     * @param batch supplies the executor, slice size and formatter
+     * @return the number of lines processed
+     * @throws IOException if reading or writing fails
+     */
+    static long pipe(InputStream in, OutputStream out, BatchRangeSummarizer batch) throws IOException {
+        ReadableByteChannel channel = Channels.newChannel(in);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), PIPE_BUFFER_SIZE);
+        ByteBuffer buffer = ByteBuffer.allocate(PIPE_BUFFER_SIZE);
+        int[] lineEnds = new int[PIPE_BATCH_LINES];
+        boolean eof = false;
+        boolean linesLeft = false;
+        long total = 0;
+        while (true) {
+            // One read per round, and none while complete lines are still buffered: a producer that
+            // writes a line and waits for its summary gets it without having to fill the buffer
+            if (!eof && !linesLeft) {
+                eof = channel.read(buffer) < 0;
+            }
+            buffer.flip();
+            int count = 0;
+            for (int i = 0; i < buffer.limit() && count < lineEnds.length; i++) {
+                if (buffer.get(i) == '\n') {
+                    lineEnds[count++] = i;
+                }
+            }
+            int consumed = count == 0 ? 0 : lineEnds[count - 1] + 1;
+            if (eof && count < lineEnds.length && consumed < buffer.limit()) {
+                // Last line without a trailing newline
+                lineEnds[count++] = buffer.limit();
+                consumed = buffer.limit();
+            }
+            linesLeft = count == lineEnds.length;
+            if (count == 0) {
+                if (eof) {
+                    break;
+                }
+                if (buffer.limit() < buffer.capacity()) {
+                    // Partial line: keep it and read more
+                    buffer.position(buffer.limit()).limit(buffer.capacity());
+                } else {
+                    // A line longer than the buffer: grow it and keep reading
+                    buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer);
+                }
+                continue;
+            }
+            summarizeLines(buffer, lineEnds, count, batch, writer);
+            writer.flush();
+            total += count;
+            buffer.position(consumed);
+            buffer.compact();
+        }
+        return total;
+    }
+
+    /**
+     * Summarizes lines [0, count) of buffer and writes the results in order. Lines are split into
+     * slices of the batch's slice size that run on its executor, each with its own scanner.
+     */
+    private static void summarizeLines(ByteBuffer buffer, int[] lineEnds, int count,
+                                       BatchRangeSummarizer batch, Writer writer) throws IOException {
+        Executor executor = batch.getExecutor();
+        int sliceSize = batch.getSliceSize();
+        if (executor == null || count <= sliceSize) {
+            writer.append(new LineSlice(buffer, lineEnds, 0, count, batch.getFormatter()).call());
+            return;
+        }
+        List<CompletableFuture<StringBuilder>> slices = new ArrayList<>((count + sliceSize - 1) / sliceSize);
+        for (int from = 0; from < count; from += sliceSize) {
+            LineSlice slice = new LineSlice(buffer, lineEnds, from, Math.min(from + sliceSize, count),
+                    batch.getFormatter());
+            slices.add(CompletableFuture.supplyAsync(slice::call, executor));
+        }
+        for (CompletableFuture<StringBuilder> slice : slices) {
+            writer.append(slice.join());
+        }
+    }
+
+    /**
+     * Summarizes a run of lines held in a shared buffer into one block of output text.
+     */
+    private static final class LineSlice {
+
+        private final ByteBuffer lines;
+        private final int[] lineEnds;
+        private final int from;
+        private final int to;
+        private final RangeFormatter formatter;
+
+        LineSlice(ByteBuffer buffer, int[] lineEnds, int from, int to, RangeFormatter formatter) {
+            // Own position and limit; the bytes are only read
+            this.lines = buffer.duplicate();
+            this.lineEnds = lineEnds;
+            this.from = from;
+            this.to = to;
+            this.formatter = formatter;
+        }
+
+        StringBuilder call() {
+            IntTokenScanner scanner = new IntTokenScanner();
+            StringBuilder text = new StringBuilder();
+            for (int i = from; i < to; i++) {
+                int start = i == 0 ? 0 : lineEnds[i - 1] + 1;
+                int end = lineEnds[i];
+                lines.limit(end);
+                if (end > start && lines.get(end - 1) == '\r') {
+                    lines.limit(end - 1);
+                }
+                lines.position(start);
+                scanner.clear();
+                try {
+                    scanner.feed(lines);
+                    scanner.finish();
+                } catch (IllegalArgumentException e) {
+                    text.append("Error: ").append(errorMessage(e)).append('\n');
+                    continue;
+                }
+                scanner.summarize(formatter, text).append('\n');
+            }
+            return text;
+        }
+
+        /**
+         * The byte scanner quotes the token's raw bytes; for non-ASCII input, rescan just this line
+         * as decoded text so the message quotes the token as the user wrote it.
+         */
+        private String errorMessage(IllegalArgumentException e) {
+            int start = lines.position();
+            int end = lines.limit();
+            for (int i = start; i < end; i++) {
+                if (lines.get(i) < 0) {
+                    String line = new String(lines.array(), lines.arrayOffset() + start, end - start,
+                            StandardCharsets.UTF_8);
+                    try {
+                        IntTokenScanner.scan(line);
+                    } catch (IllegalArgumentException decoded) {
+                        return decoded.getMessage();
+                    }
+                    break;
+                }
+            }
+            return e.getMessage();
+        }
+    }
 }
@@ -0,0 +1,34 @@
+package numberrangesummarizer;
+
+/**
+ * Cause attached to the IllegalArgumentException a scanner throws for an invalid token. It is a
+ * NumberFormatException, as the cause was when tokens went through Integer.parseInt, and it says
+ * whether the token overflowed or is malformed without anyone having to read the message.
+ */
+final class InvalidTokenException extends NumberFormatException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ErrorCause errorCause;
+
+    InvalidTokenException(String token, ErrorCause errorCause) {
+        super("For input string: \"" + token + "\""
+                + (errorCause == ErrorCause.OVERFLOW ? " (out of range)" : ""));
+        this.errorCause = errorCause;
+    }
+
+    /**
+     * @return why the token was rejected
+     */
+    ErrorCause errorCause() {
+        return errorCause;
+    }
+
+    /**
+     * @return the exception a scanner throws for token: the usual message, with this as its cause
+     */
+    static IllegalArgumentException invalidNumber(String token, ErrorCause errorCause) {
+        return new IllegalArgumentException("Invalid number format: '" + token + "'",
+                new InvalidTokenException(token, errorCause));
+    }
+}
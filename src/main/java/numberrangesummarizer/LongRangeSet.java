@@ -0,0 +1,410 @@
+package numberrangesummarizer;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Immutable set of longs stored as sorted, disjoint, non-adjacent closed ranges; the 64-bit
+ * counterpart of IntRangeSet.
+ *
+ * Adjacency checks never wrap: Long.MAX_VALUE and Long.MIN_VALUE are not neighbours. toString()
+ * produces the same format as IntRangeSet, e.g. "1, 3, 6-8, 9223372036854775806-9223372036854775807".
+ */
+public final class LongRangeSet implements Iterable<Long> {
+
+    private static final LongRangeSet EMPTY = new LongRangeSet(new long[0], new long[0], 0);
+
+    private final long[] starts;
+    private final long[] ends;
+    private final int rangeCount;
+
+    private LongRangeSet(long[] starts, long[] ends, int rangeCount) {
+        this.starts = starts;
+        this.ends = ends;
+        this.rangeCount = rangeCount;
+    }
+
+    /**
+     * @return the empty set
+     */
+    public static LongRangeSet empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a set holding the single range [start, end].
+     *
+     * @throws IllegalArgumentException if start is greater than end
+     */
+    public static LongRangeSet ofRange(long start, long end) {
+        return new Builder(1).add(start, end).build();
+    }
+
+    /**
+     * Creates a set from values in any order; duplicates are ignored.
+     *
+     * @param values the values; not modified
+     * @return the set of the values
+     */
+    public static LongRangeSet of(long... values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return fromSorted(sorted, 0, sorted.length);
+    }
+
+    /**
+     * Creates a set from values[from, to), which must be in ascending order; duplicates are ignored.
+     *
+     * @throws IllegalArgumentException if the values are not ascending
+     */
+    public static LongRangeSet fromSorted(long[] values, int from, int to) {
+        if (from < 0 || from > to || to > values.length) {
+            throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", length: " + values.length);
+        }
+        Builder builder = new Builder();
+        for (int i = from; i < to; i++) {
+            // The builder only compares against the last range start, so [1, 2, 3, 2] would pass it
+            if (i > from && values[i] < values[i - 1]) {
+                throw new IllegalArgumentException("Values must be in ascending order: "
+                        + values[i] + " follows " + values[i - 1] + " at index " + i);
+            }
+            builder.add(values[i]);
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return the number of ranges
+     */
+    public int rangeCount() {
+        return rangeCount;
+    }
+
+    /**
+     * @return the first value of range i
+     */
+    public long start(int i) {
+        checkRangeIndex(i);
+        return starts[i];
+    }
+
+    /**
+     * @return the last value of range i (inclusive)
+     */
+    public long end(int i) {
+        checkRangeIndex(i);
+        return ends[i];
+    }
+
+    /**
+     * @return true if the set holds no values
+     */
+    public boolean isEmpty() {
+        return rangeCount == 0;
+    }
+
+    /**
+     * @return the number of values in the set, or Long.MAX_VALUE if there are at least that many
+     */
+    public long cardinality() {
+        long total = 0;
+        for (int i = 0; i < rangeCount; i++) {
+            // The length minus one, unsigned: negative means more than Long.MAX_VALUE values
+            long span = ends[i] - starts[i];
+            if (span < 0 || span == Long.MAX_VALUE || total > Long.MAX_VALUE - span - 1) {
+                return Long.MAX_VALUE;
+            }
+            total += span + 1;
+        }
+        return total;
+    }
+
+    /**
+     * @return the smallest value
+     * @throws NoSuchElementException if the set is empty
+     */
+    public long min() {
+        if (rangeCount == 0) {
+            throw new NoSuchElementException("Empty set");
+        }
+        return starts[0];
+    }
+
+    /**
+     * @return the largest value
+     * @throws NoSuchElementException if the set is empty
+     */
+    public long max() {
+        if (rangeCount == 0) {
+            throw new NoSuchElementException("Empty set");
+        }
+        return ends[rangeCount - 1];
+    }
+
+    /**
+     * Checks membership with a binary search over the ranges, O(log r).
+     */
+    public boolean contains(long value) {
+        return rangeIndexOf(value) >= 0;
+    }
+
+    /**
+     * Finds the range holding a value.
+     *
+     * @return the index of the range containing value, or (-(insertion point) - 1) if no range does
+     */
+    public int rangeIndexOf(long value) {
+        int low = 0;
+        int high = rangeCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (ends[mid] < value) {
+                low = mid + 1;
+            } else if (starts[mid] > value) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * @return the values in ascending order, without boxing
+     */
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+            private int range;
+            private long next = rangeCount == 0 ? 0 : starts[0];
+
+            @Override
+            public boolean hasNext() {
+                return range < rangeCount;
+            }
+
+            @Override
+            public long nextLong() {
+                if (range >= rangeCount) {
+                    throw new NoSuchElementException();
+                }
+                long value = next;
+                if (next == ends[range]) {
+                    range++;
+                    next = range < rangeCount ? starts[range] : 0;
+                } else {
+                    next++;
+                }
+                return value;
+            }
+        };
+    }
+
+    /**
+     * @return the values in this set or other
+     */
+    public LongRangeSet union(LongRangeSet other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+        Builder builder = new Builder(rangeCount + other.rangeCount);
+        int i = 0;
+        int j = 0;
+        while (i < rangeCount || j < other.rangeCount) {
+            if (j == other.rangeCount || (i < rangeCount && starts[i] <= other.starts[j])) {
+                builder.add(starts[i], ends[i]);
+                i++;
+            } else {
+                builder.add(other.starts[j], other.ends[j]);
+                j++;
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return the values in both this set and other
+     */
+    public LongRangeSet intersection(LongRangeSet other) {
+        Builder builder = new Builder(Math.min(rangeCount, other.rangeCount) + 1);
+        int i = 0;
+        int j = 0;
+        while (i < rangeCount && j < other.rangeCount) {
+            long start = Math.max(starts[i], other.starts[j]);
+            long end = Math.min(ends[i], other.ends[j]);
+            if (start <= end) {
+                builder.add(start, end);
+            }
+            if (ends[i] < other.ends[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return the values in this set that are not in other
+     */
+    public LongRangeSet difference(LongRangeSet other) {
+        if (isEmpty() || other.isEmpty()) {
+            return this;
+        }
+        Builder builder = new Builder(rangeCount + other.rangeCount);
+        int j = 0;
+        for (int i = 0; i < rangeCount; i++) {
+            long start = starts[i];
+            long end = ends[i];
+            // Skip ranges of other that end before this range
+            while (j < other.rangeCount && other.ends[j] < start) {
+                j++;
+            }
+            // Carve out every range of other that overlaps this one; start cannot step past
+            // Long.MAX_VALUE, so a carved range ending there leaves nothing
+            boolean remaining = true;
+            int k = j;
+            while (k < other.rangeCount && other.starts[k] <= end) {
+                if (other.starts[k] > start) {
+                    builder.add(start, other.starts[k] - 1);
+                }
+                if (other.ends[k] >= end) {
+                    remaining = false;
+                    break;
+                }
+                start = other.ends[k] + 1;
+                k++;
+            }
+            if (remaining) {
+                builder.add(start, end);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Appends the summary text, e.g. "1, 3, 6-8, 12-15".
+     *
+     * @param out the builder to append to
+     * @return out
+     */
+    public StringBuilder appendTo(StringBuilder out) {
+        return RangeFormatter.DEFAULT.format(this, out);
+    }
+
+    /**
+     * @return the summary text
+     */
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder()).toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LongRangeSet)) {
+            return false;
+        }
+        LongRangeSet other = (LongRangeSet) o;
+        if (rangeCount != other.rangeCount) {
+            return false;
+        }
+        for (int i = 0; i < rangeCount; i++) {
+            if (starts[i] != other.starts[i] || ends[i] != other.ends[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < rangeCount; i++) {
+            hash = 31 * (31 * hash + Long.hashCode(starts[i])) + Long.hashCode(ends[i]);
+        }
+        return hash;
+    }
+
+    private void checkRangeIndex(int i) {
+        if (i < 0 || i >= rangeCount) {
+            throw new IndexOutOfBoundsException("Range: " + i + ", ranges: " + rangeCount);
+        }
+    }
+
+    /**
+     * Accumulates ranges in ascending order of start, merging overlapping and adjacent ranges.
+     */
+    public static final class Builder {
+
+        private long[] starts;
+        private long[] ends;
+        private int count;
+
+        public Builder() {
+            this(8);
+        }
+
+        public Builder(int expectedRanges) {
+            int capacity = Math.max(expectedRanges, 1);
+            starts = new long[capacity];
+            ends = new long[capacity];
+        }
+
+        /**
+         * Adds a single value; must not be smaller than the start of the last range added.
+         */
+        public Builder add(long value) {
+            return add(value, value);
+        }
+
+        /**
+         * Adds the closed range [start, end]; start must not be smaller than the start of the last range added.
+         *
+         * @throws IllegalArgumentException if start is greater than end or ranges arrive out of order
+         */
+        public Builder add(long start, long end) {
+            if (start > end) {
+                throw new IllegalArgumentException("Range start " + start + " is greater than end " + end);
+            }
+            if (count > 0) {
+                int last = count - 1;
+                if (start < starts[last]) {
+                    throw new IllegalArgumentException("Ranges must be added in ascending order: "
+                            + start + " follows " + starts[last]);
+                }
+                // Overlapping or adjacent; ends[last] + 1 would wrap at Long.MAX_VALUE, so compare start - 1,
+                // which cannot wrap once start is known to be above starts[last]
+                if (start == starts[last] || start - 1 <= ends[last]) {
+                    ends[last] = Math.max(ends[last], end);
+                    return this;
+                }
+            }
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = start;
+            ends[count] = end;
+            count++;
+            return this;
+        }
+
+        /**
+         * @return the set built so far; the builder can keep adding afterwards
+         */
+        public LongRangeSet build() {
+            if (count == 0) {
+                return EMPTY;
+            }
+            return new LongRangeSet(Arrays.copyOf(starts, count), Arrays.copyOf(ends, count), count);
+        }
+    }
+}
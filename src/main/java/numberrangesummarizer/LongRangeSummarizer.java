@@ -0,0 +1,175 @@
+package numberrangesummarizer;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Summarizer for 64-bit values, e.g. "1,3,6,7,8,9223372036854775807" -&gt; "1, 3, 6-8, 9223372036854775807".
+ *
+ * Mirrors NumberRangeSummarizerImpl with long in place of int: the same token rules, the same
+ * output format and the same treatment of duplicates passed to summarizeCollection. Parsing uses its
+ * own long scanner, so the int path keeps its specialized code. Adjacency checks never wrap, so
+ * Long.MAX_VALUE followed by Long.MIN_VALUE is never merged into one range.
+ */
+public class LongRangeSummarizer {
+
+    private final RangeFormatter formatter;
+
+    /**
+     * Creates a summarizer with the default output format.
+     */
+    public LongRangeSummarizer() {
+        this(RangeFormatter.DEFAULT);
+    }
+
+    /**
+     * Creates a summarizer.
+     *
+     * @param formatter writes the summaries
+     */
+    public LongRangeSummarizer(RangeFormatter formatter) {
+        if (formatter == null) {
+            throw new IllegalArgumentException("formatter must not be null");
+        }
+        this.formatter = formatter;
+    }
+
+    /**
+     * Collects comma-separated numbers into a sorted, read-only collection of unique longs.
+     *
+     * @param input comma-separated numbers (possibly with spaces), may be null
+     * @return sorted collection of unique values
+     * @throws IllegalArgumentException if any token cannot be parsed as a long
+     */
+    public Collection<Long> collect(String input) {
+        return new LongListView(collectLongs(input));
+    }
+
+    /**
+     * Collects comma-separated numbers into a sorted array of unique longs.
+     *
+     * @param input comma-separated numbers (possibly with spaces), may be null
+     * @return sorted array of unique values
+     * @throws IllegalArgumentException if any token cannot be parsed as a long
+     */
+    public long[] collectLongs(CharSequence input) {
+        long[] values = LongTokenScanner.scan(input);
+        if (!isAscending(values, 0, values.length)) {
+            Arrays.sort(values);
+        }
+        int size = removeDuplicates(values);
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Collects comma-separated numbers straight into a range set.
+     *
+     * @throws IllegalArgumentException if any token cannot be parsed as a long
+     */
+    public LongRangeSet collectRanges(CharSequence input) {
+        long[] values = collectLongs(input);
+        return LongRangeSet.fromSorted(values, 0, values.length);
+    }
+
+    /**
+     * Summarizes a collection of longs by compressing consecutive numbers into ranges.
+     *
+     * @param input collection of longs, in any order
+     * @return comma-separated string with ranges compressed (e.g., "1, 3, 6-8")
+     */
+    public String summarizeCollection(Collection<Long> input) {
+        if (input == null || input.isEmpty()) {
+            return "";
+        }
+        if (input instanceof LongListView) {
+            long[] values = ((LongListView) input).values;
+            return summarize(values, 0, values.length);
+        }
+        long[] values = new long[input.size()];
+        int i = 0;
+        for (Long value : input) {
+            values[i++] = value;
+        }
+        return summarize(values, 0, values.length);
+    }
+
+    /**
+     * Summarizes values[from, to) in any order. The caller's array is never modified.
+     *
+     * @throws IndexOutOfBoundsException if from and to do not describe a slice of values
+     */
+    public String summarize(long[] values, int from, int to) {
+        return summarize(values, from, to, new StringBuilder()).toString();
+    }
+
+    /**
+     * Appends the summary of values[from, to) in any order. The caller's array is never modified.
+     *
+     * @throws IndexOutOfBoundsException if from and to do not describe a slice of values
+     */
+    public StringBuilder summarize(long[] values, int from, int to, StringBuilder out) {
+        if (from < 0 || from > to || to > values.length) {
+            throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", length: " + values.length);
+        }
+        if (isAscending(values, from, to)) {
+            return formatter.format(values, from, to, out);
+        }
+        long[] sorted = Arrays.copyOfRange(values, from, to);
+        Arrays.sort(sorted);
+        return formatter.format(sorted, 0, sorted.length, out);
+    }
+
+    private static boolean isAscending(long[] values, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            if (values[i] < values[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compacts sorted values in place.
+     *
+     * @return the number of unique values, now at the front of the array
+     */
+    private static int removeDuplicates(long[] values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        int size = 1;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] != values[size - 1]) {
+                values[size++] = values[i];
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Read-only List view over a sorted, duplicate-free long array, boxing lazily in get().
+     */
+    private static final class LongListView extends AbstractList<Long> implements RandomAccess {
+
+        final long[] values;
+
+        LongListView(long[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Long get(int index) {
+            if (index < 0 || index >= values.length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + values.length);
+            }
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+}
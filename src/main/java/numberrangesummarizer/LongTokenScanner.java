@@ -0,0 +1,94 @@
+package numberrangesummarizer;
+
+import java.util.Arrays;
+
+/**
+ * Single-pass scanner that parses comma-separated integers straight into a growable long array.
+ *
+ * The tokenizing rules live in TokenScanner; this class accumulates each token's digits in a long
+ * (the same negative-accumulator technique used by Long.parseLong) and appends the values to its
+ * buffer. A token outside the long range is an overflow, as for ints.
+ */
+final class LongTokenScanner extends TokenScanner {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] values;
+
+    private long limit;
+    private long accumulator;
+
+    LongTokenScanner() {
+        this(INITIAL_CAPACITY);
+    }
+
+    LongTokenScanner(int initialCapacity) {
+        this.values = new long[Math.max(initialCapacity, 1)];
+    }
+
+    /**
+     * Parses a complete comma-separated input.
+     *
+     * @param input comma-separated numbers, may be null
+     * @return the parsed values in input order, sized exactly
+     * @throws IllegalArgumentException if any token cannot be parsed as a long
+     */
+    static long[] scan(CharSequence input) {
+        if (input == null) {
+            return new long[0];
+        }
+        LongTokenScanner scanner = new LongTokenScanner(capacityFor(input));
+        scanner.feed(input, 0, input.length());
+        scanner.finish();
+        return scanner.toArray();
+    }
+
+    /**
+     * @return the backing array; only the first size() entries are meaningful
+     */
+    long[] buffer() {
+        return values;
+    }
+
+    /**
+     * @return a copy of the parsed values, sized exactly
+     */
+    long[] toArray() {
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    @Override
+    void startValue(boolean negative) {
+        limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        accumulator = 0;
+    }
+
+    @Override
+    void appendDigit(int digit) {
+        // Accumulate negatively so Long.MIN_VALUE is reachable, checking overflow before each step
+        if (accumulator < limit / 10) {
+            overflowed();
+            return;
+        }
+        long shifted = accumulator * 10;
+        if (shifted < limit + digit) {
+            overflowed();
+            return;
+        }
+        accumulator = shifted - digit;
+    }
+
+    @Override
+    void addValue(boolean negative) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length + (values.length >> 1) + 1);
+        }
+        values[size++] = negative ? accumulator : -accumulator;
+    }
+
+    private void overflowed() {
+        overflow();
+        accumulator = 0;
+        limit = 0;
+    }
+}
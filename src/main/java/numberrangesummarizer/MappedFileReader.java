@@ -0,0 +1,77 @@
+package numberrangesummarizer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Feeds a file to an IntTokenScanner through memory-mapped windows.
+ *
+ * A single MappedByteBuffer is limited to 2 GB, so larger files are mapped one window at a time;
+ * tokens that straddle two windows are carried over by the scanner like any other chunk boundary.
+ * ASCII digits are parsed straight from the mapping, without decoding to chars or copying to the heap.
+ */
+final class MappedFileReader implements Closeable {
+
+    /** Default window size; keeps address-space use modest while amortizing the cost of map(). */
+    static final long DEFAULT_WINDOW_SIZE = 1L << 28;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final long windowSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    MappedFileReader(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedFileReader(Path path, long windowSize) throws IOException {
+        if (windowSize <= 0 || windowSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("windowSize must be between 1 and " + Integer.MAX_VALUE + ": " + windowSize);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Feeds the next chunk of up to chunkSize bytes to the scanner.
+     *
+     * @param scanner the scanner to feed
+     * @param chunkSize the maximum number of bytes to feed
+     * @return false once the whole file has been fed
+     * @throws IllegalArgumentException if a token completed in this chunk is invalid
+     * @throws IOException if mapping the next window fails
+     */
+    boolean feedNext(IntTokenScanner scanner, int chunkSize) throws IOException {
+        if (window == null || window.position() == window.capacity()) {
+            long next = window == null ? 0 : windowStart + window.capacity();
+            if (next >= fileSize) {
+                return false;
+            }
+            windowStart = next;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, next, Math.min(windowSize, fileSize - next));
+        }
+        int position = window.position();
+        int end = (int) Math.min((long) position + chunkSize, window.capacity());
+        window.limit(end);
+        scanner.feed(window);
+        window.position(end);
+        return true;
+    }
+
+    /**
+     * Closes the channel. The JDK offers no portable way to unmap, so the last window
+     * is released once it becomes unreachable.
+     */
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+}
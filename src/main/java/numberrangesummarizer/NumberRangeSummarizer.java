@@ -1,6 +1,9 @@
 package numberrangesummarizer;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * @author Werner
@@ -27,6 +30,39 @@ public interface NumberRangeSummarizer {
     //get the summarized string
     String summarizeCollection(Collection<Integer> input);
 
+    //collect the input as sorted, unique primitive ints
+    default int[] collectInts(CharSequence input) {
+        Collection<Integer> collected = collect(input == null ? null : input.toString());
+        int[] values = new int[collected.size()];
+        int i = 0;
+        for (Integer value : collected) {
+            values[i++] = value;
+        }
+        return values;
+    }
+
+    //get the summarized string for values[from, to)
+    default String summarize(int[] values, int from, int to) {
+        return summarize(values, from, to, new StringBuilder()).toString();
+    }
+
+    //append the summarized string for values[from, to) to out
+    default StringBuilder summarize(int[] values, int from, int to, StringBuilder out) {
+        if (from < 0 || from > to || to > values.length) {
+            throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", length: " + values.length);
+        }
+        List<Integer> boxed = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            boxed.add(values[i]);
+        }
+        return out.append(summarizeCollection(boxed));
+    }
+
+    //append the summarized string for values[from, to) to out
+    default Appendable summarize(int[] values, int from, int to, Appendable out) throws IOException {
+        return out.append(summarize(values, from, to, new StringBuilder()));
+    }
+
 }
 
 
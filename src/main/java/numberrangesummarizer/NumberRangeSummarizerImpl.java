@@ -1,46 +1,140 @@
 package numberrangesummarizer;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of NumberRangeSummarizer interface.
- * 
+ *
  * This class provides functionality to:
  * 1. Parse comma-separated strings of numbers into sorted, unique collections
  * 2. Summarize collections of integers by compressing consecutive numbers into ranges
+ *
+ * The work is done natively on int arrays; the boxed Collection methods are thin adapters
+ * over collectInts and summarize. Values are put in order by an adaptive stage (see
+ * OrderingStrategy) that skips sorting for ordered input and uses linear-time sorts where they pay off.
  */
 public class NumberRangeSummarizerImpl implements NumberRangeSummarizer {
 
+    // Initial output capacity per value, capped so dense inputs do not over-allocate
+    private static final int CHARS_PER_VALUE_ESTIMATE = 2;
+    private static final int MAX_INITIAL_CAPACITY = 8192;
+    // Chars or bytes parsed before the scanned values are moved off the heap
+    private static final int OFF_HEAP_CHUNK = 1 << 16;
+
+    private final OrderingStrategy orderingStrategy;
+    private final RangeFormatter formatter;
+    // Null unless instrumentation was requested; every hot path checks it once and branches
+    private final SummarizerListener listener;
+
+    /**
+     * Creates a summarizer that picks an ordering strategy per input.
+     */
+    public NumberRangeSummarizerImpl() {
+        this(OrderingStrategy.AUTO);
+    }
+
+    /**
+     * Creates a summarizer that always uses the given ordering strategy.
+     *
+     * @param orderingStrategy the strategy; NONE trusts the input to be sorted already
+     */
+    public NumberRangeSummarizerImpl(OrderingStrategy orderingStrategy) {
+        this(orderingStrategy, RangeFormatter.DEFAULT);
+    }
+
+    /**
+     * Creates a summarizer with a custom ordering strategy and output dialect.
+     *
+     * @param orderingStrategy the strategy; NONE trusts the input to be sorted already
+     * @param formatter writes the ranges; RangeFormatter.DEFAULT gives "1, 3, 6-8"
+     */
+    public NumberRangeSummarizerImpl(OrderingStrategy orderingStrategy, RangeFormatter formatter) {
+        this(orderingStrategy, formatter, null);
+    }
+
+    /**
+     * Creates an instrumented summarizer that reports per-phase timings and sizes to a listener.
+     * Measured paths: collect and collectInts(CharSequence), summarizeCollection, and summarize into
+     * a String or StringBuilder.
+     *
+     * @param orderingStrategy the strategy; NONE trusts the input to be sorted already
+     * @param formatter writes the ranges; RangeFormatter.DEFAULT gives "1, 3, 6-8"
+     * @param listener receives the measurements, or null for no instrumentation
+     */
+    public NumberRangeSummarizerImpl(OrderingStrategy orderingStrategy, RangeFormatter formatter,
+                                     SummarizerListener listener) {
+        if (orderingStrategy == null) {
+            throw new IllegalArgumentException("orderingStrategy must not be null");
+        }
+        if (formatter == null) {
+            throw new IllegalArgumentException("formatter must not be null");
+        }
+        this.orderingStrategy = orderingStrategy;
+        this.formatter = formatter;
+        this.listener = listener;
+    }
+
+    /**
+     * @return the listener receiving measurements, or null if the summarizer is not instrumented
+     */
+    public SummarizerListener getListener() {
+        return listener;
+    }
+
+    /**
+     * @return the formatter that writes the ranges
+     */
+    public RangeFormatter getFormatter() {
+        return formatter;
+    }
+
+    /**
+     * @return the configured ordering strategy
+     */
+    public OrderingStrategy getOrderingStrategy() {
+        return orderingStrategy;
+    }
+
+    /**
+     * Reports the concrete strategy this summarizer applies when ordering values[from, to).
+     *
+     * @param values the values
+     * @param from index of the first value
+     * @param to index after the last value
+     * @param distinct true for the collect path (duplicates removed), false for summarize
+     * @return the strategy that would be chosen, never AUTO
+     * @throws IndexOutOfBoundsException if from and to do not describe a slice of values
+     */
+    public OrderingStrategy chooseOrderingStrategy(int[] values, int from, int to, boolean distinct) {
+        checkRange(values, from, to);
+        return IntOrdering.resolve(values, from, to, distinct, orderingStrategy);
+    }
+
     /**
      * Collects and processes a comma-separated string of numbers.
-     * 
+     *
+     * The result is a read-only List view over the parsed int array, not an ArrayList: add, remove
+     * and set throw UnsupportedOperationException. Copy it (new ArrayList&lt;&gt;(collected)) to modify it.
+     * Only ASCII digits are accepted, where the original Integer.parseInt pipeline also took other
+     * Unicode digits.
+     *
      * @param input comma-separated string of numbers (possibly with spaces)
-     * @return sorted collection of unique integers
+     * @return sorted, read-only collection of unique integers
      * @throws IllegalArgumentException if any token cannot be parsed as an integer
      */
     @Override
     public Collection<Integer> collect(String input) {
-        if (input == null || input.trim().isEmpty()) {
-            return new ArrayList<>();
-        }
-        
-        return Arrays.stream(input.split(","))
-                .map(String::trim)
-                .filter(token -> !token.isEmpty())
-                .map(this::parseInteger)
-                .sorted()
-                .distinct()
-                .collect(Collectors.toList());
+        int[] values = collectInts(input);
+        return new IntListView(values, 0, values.length);
     }
 
     /**
      * Summarizes a collection of integers by compressing consecutive numbers into ranges.
-     * 
+     *
      * @param input sorted collection of integers
      * @return comma-separated string with ranges compressed (e.g., "1, 3, 6-8, 12-15")
      */
@@ -49,61 +143,402 @@ public class NumberRangeSummarizerImpl implements NumberRangeSummarizer {
         if (input == null || input.isEmpty()) {
             return "";
         }
-        
-        List<Integer> sortedNumbers = new ArrayList<>(input);
-        Collections.sort(sortedNumbers);
-        
-        List<String> result = new ArrayList<>();
-        int start = sortedNumbers.get(0);
-        int end = start;
-        
-        for (int i = 1; i < sortedNumbers.size(); i++) {
-            int current = sortedNumbers.get(i);
-            
-            if (current == end + 1) {
-                // Consecutive number, extend the range
-                end = current;
-            } else {
-                // Non-consecutive number, add the current range and start a new one
-                result.add(formatRange(start, end));
-                start = current;
-                end = current;
+
+        if (input instanceof IntListView) {
+            // Produced by collect, so already a sorted int slice
+            IntListView view = (IntListView) input;
+            return summarize(view.array(), view.from(), view.to());
+        }
+
+        int[] values = new int[input.size()];
+        int i = 0;
+        for (Integer value : input) {
+            values[i++] = value;
+        }
+        return summarize(values, 0, values.length);
+    }
+
+    /**
+     * Collects a comma-separated string of numbers into a sorted array of unique ints.
+     *
+     * @param input comma-separated numbers (possibly with spaces), may be null
+     * @return sorted array of unique integers
+     * @throws IllegalArgumentException if any token cannot be parsed as an integer
+     */
+    @Override
+    public int[] collectInts(CharSequence input) {
+        if (listener != null) {
+            return collectIntsInstrumented(input);
+        }
+        // Single pass over the chars straight into an int[]; no split, substrings or boxing
+        return order(IntTokenScanner.scan(input));
+    }
+
+    /**
+     * Collects the comma-separated numbers in an ASCII or UTF-8 file into a sorted array of unique ints.
+     * The file is memory-mapped and parsed without decoding it into a String first.
+     *
+     * @param file the input file
+     * @return sorted array of unique integers
+     * @throws IllegalArgumentException if any token cannot be parsed as an integer
+     * @throws IOException if the file cannot be mapped
+     */
+    public int[] collectInts(Path file) throws IOException {
+        IntTokenScanner scanner = new IntTokenScanner();
+        try (MappedFileReader in = new MappedFileReader(file)) {
+            while (in.feedNext(scanner, Integer.MAX_VALUE)) {
+                // Each call feeds the rest of the current window
+            }
+        }
+        scanner.finish();
+        return order(scanner.toArray());
+    }
+
+    /**
+     * Collects a comma-separated string of numbers without throwing for invalid tokens.
+     *
+     * The scanner records each invalid token as a span instead of building an exception, so dirty
+     * input costs about as much to check as clean input. The policy decides whether scanning stops
+     * at the first error, after a number of errors, or never.
+     *
+     * @param input comma-separated numbers (possibly with spaces), may be null
+     * @param policy when to stop scanning
+     * @return the valid values, sorted and unique, and the invalid tokens
+     */
+    public ValidationResult validate(CharSequence input, ErrorPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("policy must not be null");
+        }
+        IntTokenScanner scanner = IntTokenScanner.validate(input, policy.maxErrors());
+        int scannedLength = scanner.stoppedAt() >= 0 ? scanner.stoppedAt() : input == null ? 0 : input.length();
+        return new ValidationResult(input, order(scanner.toArray()), scanner.errorSpans(), scanner.errorCount(),
+                scannedLength);
+    }
+
+    /**
+     * Parses comma-separated numbers into an off-heap buffer, for inputs whose values would not fit
+     * on the heap. Values are appended in input order, duplicates included.
+     *
+     * @param input comma-separated numbers (possibly with spaces), may be null
+     * @param out the buffer to append to
+     * @throws IllegalArgumentException if any token cannot be parsed as an integer
+     */
+    public void collectInto(CharSequence input, OffHeapIntBuffer out) {
+        if (input == null) {
+            return;
+        }
+        IntTokenScanner scanner = new IntTokenScanner(Math.min(input.length() / 2 + 1, OFF_HEAP_CHUNK / 2));
+        for (int from = 0; from < input.length(); from += OFF_HEAP_CHUNK) {
+            scanner.feed(input, from, Math.min(from + OFF_HEAP_CHUNK, input.length()));
+            out.addAll(scanner.buffer(), 0, scanner.size());
+            scanner.clear();
+        }
+        scanner.finish();
+        out.addAll(scanner.buffer(), 0, scanner.size());
+    }
+
+    /**
+     * Parses the comma-separated numbers in an ASCII or UTF-8 file into an off-heap buffer. The file
+     * is memory-mapped and only one chunk of parsed values is on the heap at a time.
+     *
+     * @param file the input file
+     * @param out the buffer to append to
+     * @throws IllegalArgumentException if any token cannot be parsed as an integer
+     * @throws IOException if the file cannot be mapped
+     */
+    public void collectInto(Path file, OffHeapIntBuffer out) throws IOException {
+        IntTokenScanner scanner = new IntTokenScanner(OFF_HEAP_CHUNK / 2);
+        try (MappedFileReader in = new MappedFileReader(file)) {
+            while (in.feedNext(scanner, OFF_HEAP_CHUNK)) {
+                out.addAll(scanner.buffer(), 0, scanner.size());
+                scanner.clear();
             }
         }
-        
-        // Add the last range
-        result.add(formatRange(start, end));
-        
-        return String.join(", ", result);
+        scanner.finish();
+        out.addAll(scanner.buffer(), 0, scanner.size());
     }
-    
+
     /**
-     * Parses a string token to an integer, throwing IllegalArgumentException if invalid.
-     * 
-     * @param token the string token to parse
-     * @return the parsed integer
-     * @throws IllegalArgumentException if the token cannot be parsed as an integer
+     * Summarizes the values of an off-heap buffer like summarizeCollection(collect(input)): sorted,
+     * duplicates removed, written with this summarizer's formatter.
+     *
+     * @param values the buffer; its segments are left sorted
+     * @return the summary
      */
-    private Integer parseInteger(String token) {
+    public String summarize(OffHeapIntBuffer values) {
+        return formatter.format(values.toRangeSet());
+    }
+
+    /**
+     * Collects a comma-separated string of numbers straight into a range set.
+     *
+     * @param input comma-separated numbers (possibly with spaces), may be null
+     * @return the set of parsed values
+     * @throws IllegalArgumentException if any token cannot be parsed as an integer
+     */
+    public IntRangeSet collectRanges(CharSequence input) {
+        int[] values = collectInts(input);
+        return IntRangeSet.fromSorted(values, 0, values.length);
+    }
+
+    /**
+     * Builds a range set from values[from, to) in any order; duplicates are ignored.
+     * The caller's array is never modified.
+     *
+     * @param values the values
+     * @param from index of the first value
+     * @param to index after the last value
+     * @return the set of the values
+     * @throws IndexOutOfBoundsException if from and to do not describe a slice of values
+     */
+    public IntRangeSet toRangeSet(int[] values, int from, int to) {
+        checkRange(values, from, to);
+        OrderingStrategy strategy = IntOrdering.resolve(values, from, to, true, orderingStrategy);
+        if (strategy == OrderingStrategy.NONE) {
+            return IntRangeSet.fromSorted(values, from, to);
+        }
+        int[] sorted = Arrays.copyOfRange(values, from, to);
+        return IntRangeSet.fromSorted(sorted, 0, IntOrdering.order(sorted, 0, sorted.length, true, strategy));
+    }
+
+    /**
+     * Summarizes a collection like summarizeCollection, but also merges ranges separated by at most
+     * maxGap missing values, e.g. "1, 3, 6-8" with maxGap 2 gives "1-8". Duplicates are ignored.
+     *
+     * @param input integers in any order, may be null
+     * @param maxGap the widest gap to fill; 0 gives the exact summary
+     * @return the summary and the number of values it over-covers
+     * @throws IllegalArgumentException if maxGap is negative
+     */
+    public CoarseSummary summarizeWithMaxGap(Collection<Integer> input, int maxGap) {
+        IntRangeSet exact = rangesOf(input);
+        return coarse(exact.mergeGaps(maxGap), exact);
+    }
+
+    /**
+     * Summarizes values[from, to) in any order, merging ranges separated by at most maxGap missing values.
+     * Runs in O(n) on sorted values. The caller's array is never modified.
+     *
+     * @throws IllegalArgumentException if maxGap is negative
+     * @throws IndexOutOfBoundsException if from and to do not describe a slice of values
+     */
+    public CoarseSummary summarizeWithMaxGap(int[] values, int from, int to, int maxGap) {
+        IntRangeSet exact = toRangeSet(values, from, to);
+        return coarse(exact.mergeGaps(maxGap), exact);
+    }
+
+    /**
+     * Summarizes a collection in at most maxRanges ranges, filling the smallest gaps first so the
+     * fewest extra values are covered. Duplicates are ignored.
+     *
+     * @param input integers in any order, may be null
+     * @param maxRanges the most ranges to write, at least 1
+     * @return the summary and the number of values it over-covers
+     * @throws IllegalArgumentException if maxRanges is less than 1
+     */
+    public CoarseSummary summarizeToAtMost(Collection<Integer> input, int maxRanges) {
+        IntRangeSet exact = rangesOf(input);
+        return coarse(exact.mergeToAtMost(maxRanges), exact);
+    }
+
+    /**
+     * Summarizes values[from, to) in any order in at most maxRanges ranges, filling the smallest gaps first.
+     * Runs in O(n + r log r) on sorted values, for r exact ranges. The caller's array is never modified.
+     *
+     * @throws IllegalArgumentException if maxRanges is less than 1
+     * @throws IndexOutOfBoundsException if from and to do not describe a slice of values
+     */
+    public CoarseSummary summarizeToAtMost(int[] values, int from, int to, int maxRanges) {
+        IntRangeSet exact = toRangeSet(values, from, to);
+        return coarse(exact.mergeToAtMost(maxRanges), exact);
+    }
+
+    /**
+     * Summarizes values[from, to) by compressing consecutive numbers into ranges.
+     * The values need not be sorted; the caller's array is never modified.
+     * Duplicates are kept, exactly as summarizeCollection treats them.
+     *
+     * @param values the values to summarize
+     * @param from index of the first value
+     * @param to index after the last value
+     * @return comma-separated string with ranges compressed (e.g., "1, 3, 6-8, 12-15")
+     * @throws IndexOutOfBoundsException if from and to do not describe a slice of values
+     */
+    @Override
+    public String summarize(int[] values, int from, int to) {
+        checkRange(values, from, to);
+        int capacity = (int) Math.min(16L + (long) (to - from) * CHARS_PER_VALUE_ESTIMATE, MAX_INITIAL_CAPACITY);
+        return summarize(values, from, to, new StringBuilder(capacity)).toString();
+    }
+
+    /**
+     * Appends the summary of values[from, to) to a caller-supplied builder.
+     *
+     * @param values the values to summarize
+     * @param from index of the first value
+     * @param to index after the last value
+     * @param out the builder to append to
+     * @return out
+     * @throws IndexOutOfBoundsException if from and to do not describe a slice of values
+     */
+    @Override
+    public StringBuilder summarize(int[] values, int from, int to, StringBuilder out) {
+        checkRange(values, from, to);
+        if (listener != null) {
+            return summarizeInstrumented(values, from, to, out);
+        }
+        int[] sorted = sortedCopy(values, from, to);
+        if (sorted == null) {
+            return formatter.format(values, from, to, out);
+        }
+        return formatter.format(sorted, 0, sorted.length, out);
+    }
+
+    /**
+     * Appends the summary of values[from, to) to a caller-supplied Appendable, writing
+     * digits and separators directly rather than through an intermediate String.
+     *
+     * @param values the values to summarize
+     * @param from index of the first value
+     * @param to index after the last value
+     * @param out the destination
+     * @return out
+     * @throws IOException if out fails to accept the text
+     * @throws IndexOutOfBoundsException if from and to do not describe a slice of values
+     */
+    @Override
+    public Appendable summarize(int[] values, int from, int to, Appendable out) throws IOException {
+        checkRange(values, from, to);
+        int[] sorted = sortedCopy(values, from, to);
+        if (sorted == null) {
+            return formatter.format(values, from, to, out);
+        }
+        return formatter.format(sorted, 0, sorted.length, out);
+    }
+
+    /**
+     * Writes the summary of values[from, to) as ASCII into a caller-supplied buffer.
+     *
+     * @param values the values to summarize
+     * @param from index of the first value
+     * @param to index after the last value
+     * @param out the buffer, written from its position
+     * @return out
+     * @throws java.nio.BufferOverflowException if out runs out of space
+     * @throws IndexOutOfBoundsException if from and to do not describe a slice of values
+     */
+    public ByteBuffer summarize(int[] values, int from, int to, ByteBuffer out) {
+        checkRange(values, from, to);
+        int[] sorted = sortedCopy(values, from, to);
+        if (sorted == null) {
+            return formatter.format(values, from, to, out);
+        }
+        return formatter.format(sorted, 0, sorted.length, out);
+    }
+
+    /**
+     * Orders values[from, to) for summarizing, keeping duplicates.
+     *
+     * @return a sorted copy of the slice, or null if the slice is already in order
+     */
+    private int[] sortedCopy(int[] values, int from, int to) {
+        OrderingStrategy strategy = IntOrdering.resolve(values, from, to, false, orderingStrategy);
+        if (strategy == OrderingStrategy.NONE) {
+            return null;
+        }
+        int[] sorted = Arrays.copyOfRange(values, from, to);
+        IntOrdering.order(sorted, 0, sorted.length, false, strategy);
+        return sorted;
+    }
+
+    private int[] collectIntsInstrumented(CharSequence input) {
+        long start = System.nanoTime();
+        int[] parsed;
         try {
-            return Integer.parseInt(token);
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException("Invalid number format: '" + token + "'", e);
+            parsed = IntTokenScanner.scan(input);
+        } catch (IllegalArgumentException e) {
+            listener.failed(e);
+            throw e;
+        }
+        long parsedAt = System.nanoTime();
+        listener.parsed(input == null ? 0 : input.length(), parsed.length, parsedAt - start);
+
+        OrderingStrategy strategy = IntOrdering.resolve(parsed, 0, parsed.length, true, orderingStrategy);
+        int size = IntOrdering.order(parsed, 0, parsed.length, true, strategy);
+        int[] values = size == parsed.length ? parsed : Arrays.copyOf(parsed, size);
+        listener.ordered(parsed.length, size, strategy, System.nanoTime() - parsedAt);
+        return values;
+    }
+
+    private StringBuilder summarizeInstrumented(int[] values, int from, int to, StringBuilder out) {
+        long start = System.nanoTime();
+        OrderingStrategy strategy = IntOrdering.resolve(values, from, to, false, orderingStrategy);
+        int[] source = values;
+        if (strategy != OrderingStrategy.NONE) {
+            source = Arrays.copyOfRange(values, from, to);
+            IntOrdering.order(source, 0, source.length, false, strategy);
+            from = 0;
+            to = source.length;
         }
+        long orderedAt = System.nanoTime();
+        listener.ordered(to - from, to - from, strategy, orderedAt - start);
+
+        formatter.format(source, from, to, out);
+        long formattedAt = System.nanoTime();
+        listener.formatted(to - from, countRanges(source, from, to), formattedAt - orderedAt);
+        return out;
+    }
+
+    private IntRangeSet rangesOf(Collection<Integer> input) {
+        if (input == null || input.isEmpty()) {
+            return IntRangeSet.empty();
+        }
+        if (input instanceof IntListView) {
+            IntListView view = (IntListView) input;
+            return toRangeSet(view.array(), view.from(), view.to());
+        }
+        int[] values = new int[input.size()];
+        int i = 0;
+        for (Integer value : input) {
+            values[i++] = value;
+        }
+        return toRangeSet(values, 0, values.length);
     }
-    
+
+    private CoarseSummary coarse(IntRangeSet ranges, IntRangeSet exact) {
+        return new CoarseSummary(formatter.format(ranges), ranges, exact);
+    }
+
     /**
-     * Formats a range as either a single number or start-end format.
-     * 
-     * @param start the start of the range
-     * @param end the end of the range
-     * @return formatted string representation of the range
+     * Counts the ranges the formatter writes for ascending values[from, to); only used when instrumented.
      */
-    private String formatRange(int start, int end) {
-        if (start == end) {
-            return String.valueOf(start);
-        } else {
-            return start + "-" + end;
+    private static int countRanges(int[] values, int from, int to) {
+        if (from == to) {
+            return 0;
+        }
+        int ranges = 1;
+        for (int i = from + 1; i < to; i++) {
+            if (values[i] != values[i - 1] + 1 || values[i] == Integer.MIN_VALUE) {
+                ranges++;
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * Sorts and de-duplicates freshly parsed values in place.
+     *
+     * @return the values, trimmed to the unique count
+     */
+    private int[] order(int[] values) {
+        OrderingStrategy strategy = IntOrdering.resolve(values, 0, values.length, true, orderingStrategy);
+        int size = IntOrdering.order(values, 0, values.length, true, strategy);
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    private static void checkRange(int[] values, int from, int to) {
+        if (from < 0 || from > to || to > values.length) {
+            throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", length: " + values.length);
         }
     }
 }
@@ -0,0 +1,407 @@
+package numberrangesummarizer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Growable buffer of ints kept outside the Java heap, for value sets too large to hold as int[].
+ *
+ * Values live in fixed-size segments, each a direct ByteBuffer or a region of a memory-mapped temp
+ * file, so the heap only holds the segment handles. toRangeSet() sorts each segment where it lies
+ * (an in-place MSD radix sort through absolute get/put, never copying a segment onto the heap) and
+ * then merges the segments with a heap over their heads, straight into ranges: the result is an
+ * ordinary IntRangeSet, and the Java heap only needs a few arrays sized by the segment count.
+ *
+ * close() frees the segments at once instead of waiting for the garbage collector (and deletes
+ * the temp file of a mapped buffer). The JDK has no public API for this, so it goes through
+ * sun.misc.Unsafe.invokeCleaner on Java 9+ and through the buffer's own cleaner
+ * (sun.nio.ch.DirectBuffer.cleaner().clean()) on Java 8; if neither is reachable the memory is
+ * released when the segments become unreachable. The buffer must not be used after close().
+ *
+ * Not thread-safe.
+ */
+public final class OffHeapIntBuffer implements AutoCloseable {
+
+    /** Default segment size in ints: 64 MB per segment. */
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 24;
+
+    private static final int RADIX = 256;
+    private static final int RADIX_LEVELS = 4;
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private static final Method INVOKE_CLEANER;
+    private static final Object UNSAFE;
+    private static final Method DIRECT_BUFFER_CLEANER;
+    private static final Method CLEANER_CLEAN;
+
+    static {
+        Method invokeCleaner = null;
+        Object unsafe = null;
+        try {
+            // Looked up reflectively so the library still compiles and runs on Java 8
+            Class<?> type = Class.forName("sun.misc.Unsafe");
+            invokeCleaner = type.getMethod("invokeCleaner", ByteBuffer.class);
+            Field field = type.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            invokeCleaner = null;
+        }
+        INVOKE_CLEANER = invokeCleaner;
+        UNSAFE = unsafe;
+
+        Method cleaner = null;
+        Method clean = null;
+        if (INVOKE_CLEANER == null || UNSAFE == null) {
+            try {
+                // Java 8: ((sun.nio.ch.DirectBuffer) buffer).cleaner().clean()
+                cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+                clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+                cleaner = null;
+            }
+        }
+        DIRECT_BUFFER_CLEANER = cleaner;
+        CLEANER_CLEAN = clean;
+    }
+
+    private final int segmentSize;
+    private final FileChannel file;
+    private final Path path;
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private final List<IntBuffer> views = new ArrayList<>();
+
+    private IntBuffer current;
+    private long size;
+    private boolean closed;
+
+    /**
+     * Creates an empty buffer backed by direct ByteBuffers of DEFAULT_SEGMENT_SIZE ints.
+     */
+    public OffHeapIntBuffer() {
+        this(DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Creates an empty buffer backed by direct ByteBuffers.
+     *
+     * @param segmentSize ints per segment
+     */
+    public OffHeapIntBuffer(int segmentSize) {
+        this(segmentSize, null, null);
+    }
+
+    private OffHeapIntBuffer(int segmentSize, FileChannel file, Path path) {
+        if (segmentSize <= 0 || segmentSize > Integer.MAX_VALUE / Integer.BYTES) {
+            throw new IllegalArgumentException("segmentSize must be between 1 and "
+                    + Integer.MAX_VALUE / Integer.BYTES + ": " + segmentSize);
+        }
+        this.segmentSize = segmentSize;
+        this.file = file;
+        this.path = path;
+    }
+
+    /**
+     * Creates an empty buffer whose segments are mapped from a temp file, so the operating system can
+     * page them out under memory pressure. The file is deleted on close().
+     *
+     * @param directory where to create the temp file
+     * @param segmentSize ints per segment
+     * @return the buffer
+     * @throws IOException if the file cannot be created
+     */
+    public static OffHeapIntBuffer mapped(Path directory, int segmentSize) throws IOException {
+        Path path = Files.createTempFile(directory, "ranges-", ".ints");
+        FileChannel file = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new OffHeapIntBuffer(segmentSize, file, path);
+        } catch (IllegalArgumentException e) {
+            file.close();
+            Files.deleteIfExists(path);
+            throw e;
+        }
+    }
+
+    /**
+     * Appends a value.
+     *
+     * @throws IllegalStateException if the buffer is closed
+     * @throws UncheckedIOException only for a mapped buffer, if the file cannot grow
+     */
+    public void add(int value) {
+        if (current == null || !current.hasRemaining()) {
+            grow();
+        }
+        current.put(value);
+        size++;
+    }
+
+    /**
+     * Appends values[from, to).
+     *
+     * @throws IndexOutOfBoundsException if from and to do not describe a slice of values
+     * @throws IllegalStateException if the buffer is closed
+     * @throws UncheckedIOException only for a mapped buffer, if the file cannot grow
+     */
+    public void addAll(int[] values, int from, int to) {
+        if (from < 0 || from > to || to > values.length) {
+            throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", length: " + values.length);
+        }
+        while (from < to) {
+            if (current == null || !current.hasRemaining()) {
+                grow();
+            }
+            int length = Math.min(to - from, current.remaining());
+            current.put(values, from, length);
+            from += length;
+            size += length;
+        }
+    }
+
+    /**
+     * @return the number of values added
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return the off-heap bytes reserved by the segments
+     */
+    public long sizeInBytes() {
+        return (long) segments.size() * segmentSize * Integer.BYTES;
+    }
+
+    /**
+     * @return the value at index, in insertion order until toRangeSet sorts the segments
+     * @throws IndexOutOfBoundsException if index is not below size()
+     * @throws IllegalStateException if the buffer is closed
+     */
+    public int get(long index) {
+        checkOpen();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return views.get((int) (index / segmentSize)).get((int) (index % segmentSize));
+    }
+
+    /**
+     * Sorts each segment in place, then merges the segments into ranges. Duplicates are ignored.
+     * Afterwards get() sees each segment sorted.
+     *
+     * @return the set of the values
+     * @throws IllegalStateException if the buffer is closed
+     */
+    public IntRangeSet toRangeSet() {
+        checkOpen();
+        int count = views.size();
+        if (count == 0) {
+            return IntRangeSet.empty();
+        }
+        int[] heads = new int[count];
+        int[] headValues = new int[count];
+        int[] ends = new int[count];
+        int[] heap = new int[count];
+        int[][] counts = new int[RADIX_LEVELS][RADIX + 1];
+        int[][] next = new int[RADIX_LEVELS][RADIX];
+        for (int s = 0; s < count; s++) {
+            IntBuffer view = views.get(s);
+            ends[s] = (int) Math.min(segmentSize, size - (long) s * segmentSize);
+            radixSort(view, 0, ends[s], 0, counts, next);
+            headValues[s] = view.get(0);
+            heap[s] = s;
+        }
+
+        // k-way merge: heap holds segment numbers ordered by their cached next value
+        for (int i = count / 2 - 1; i >= 0; i--) {
+            siftDown(heap, count, i, headValues);
+        }
+        IntRangeSet.Builder builder = new IntRangeSet.Builder();
+        int live = count;
+        while (live > 0) {
+            int s = heap[0];
+            builder.add(headValues[s]);
+            if (++heads[s] == ends[s]) {
+                heap[0] = heap[--live];
+            } else {
+                headValues[s] = views.get(s).get(heads[s]);
+            }
+            siftDown(heap, live, 0, headValues);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Frees the segments and, for a mapped buffer, closes and deletes the temp file.
+     *
+     * @throws IOException if the temp file cannot be closed or deleted
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (ByteBuffer segment : segments) {
+            release(segment);
+        }
+        segments.clear();
+        views.clear();
+        current = null;
+        if (file != null) {
+            file.close();
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private static void siftDown(int[] heap, int count, int i, int[] headValues) {
+        if (count == 0) {
+            return;
+        }
+        int moving = heap[i];
+        int movingValue = headValues[moving];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= count) {
+                break;
+            }
+            int childValue = headValues[heap[child]];
+            if (child + 1 < count) {
+                int rightValue = headValues[heap[child + 1]];
+                if (rightValue < childValue) {
+                    child++;
+                    childValue = rightValue;
+                }
+            }
+            if (childValue >= movingValue) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = moving;
+    }
+
+    /**
+     * Sorts values[from, to) of the view in place, most significant byte first (American flag sort):
+     * each pass counts the byte, then cycles values into their bucket with absolute get/put, then
+     * recurses into the buckets on the next byte. The sign bit is flipped so negatives sort first.
+     * counts and next hold one row per level, so the sort allocates nothing.
+     */
+    static void radixSort(IntBuffer values, int from, int to, int level, int[][] counts, int[][] next) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(values, from, to);
+            return;
+        }
+        int shift = 24 - 8 * level;
+        int[] starts = counts[level];
+        int[] heads = next[level];
+        Arrays.fill(starts, 0);
+        for (int i = from; i < to; i++) {
+            starts[bucket(values.get(i), shift) + 1]++;
+        }
+        starts[0] = from;
+        for (int b = 0; b < RADIX; b++) {
+            starts[b + 1] += starts[b];
+            heads[b] = starts[b];
+        }
+        for (int b = 0; b < RADIX; b++) {
+            int end = starts[b + 1];
+            while (heads[b] < end) {
+                // Follow the cycle of displaced values until one belongs in bucket b
+                int value = values.get(heads[b]);
+                int target = bucket(value, shift);
+                while (target != b) {
+                    int displaced = values.get(heads[target]);
+                    values.put(heads[target]++, value);
+                    value = displaced;
+                    target = bucket(value, shift);
+                }
+                values.put(heads[b]++, value);
+            }
+        }
+        if (level + 1 < RADIX_LEVELS) {
+            for (int b = 0; b < RADIX; b++) {
+                // Deeper calls use their own rows, so starts stays intact across the recursion
+                if (starts[b + 1] - starts[b] > 1) {
+                    radixSort(values, starts[b], starts[b + 1], level + 1, counts, next);
+                }
+            }
+        }
+    }
+
+    private static int bucket(int value, int shift) {
+        return ((value ^ Integer.MIN_VALUE) >>> shift) & (RADIX - 1);
+    }
+
+    private static void insertionSort(IntBuffer values, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int value = values.get(i);
+            int j = i - 1;
+            while (j >= from && values.get(j) > value) {
+                values.put(j + 1, values.get(j));
+                j--;
+            }
+            values.put(j + 1, value);
+        }
+    }
+
+    private void grow() {
+        checkOpen();
+        long bytes = (long) segmentSize * Integer.BYTES;
+        ByteBuffer segment;
+        if (file == null) {
+            segment = ByteBuffer.allocateDirect((int) bytes);
+        } else {
+            try {
+                segment = file.map(FileChannel.MapMode.READ_WRITE, segments.size() * bytes, bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        segment.order(ByteOrder.nativeOrder());
+        segments.add(segment);
+        current = segment.asIntBuffer();
+        views.add(current);
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Buffer is closed");
+        }
+    }
+
+    private static void release(ByteBuffer segment) {
+        try {
+            if (INVOKE_CLEANER != null && UNSAFE != null) {
+                INVOKE_CLEANER.invoke(UNSAFE, segment);
+            } else if (DIRECT_BUFFER_CLEANER != null && CLEANER_CLEAN != null) {
+                Object cleaner = DIRECT_BUFFER_CLEANER.invoke(segment);
+                if (cleaner != null) {
+                    CLEANER_CLEAN.invoke(cleaner);
+                }
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Left to the garbage collector
+        }
+    }
+
+    /**
+     * @return whether close() can free segments directly on this JVM
+     */
+    static boolean canReleaseEagerly() {
+        return (INVOKE_CLEANER != null && UNSAFE != null) || (DIRECT_BUFFER_CLEANER != null && CLEANER_CLEAN != null);
+    }
+}
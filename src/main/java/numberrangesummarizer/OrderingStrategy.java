@@ -0,0 +1,28 @@
+package numberrangesummarizer;
+
+/**
+ * How NumberRangeSummarizerImpl puts values into ascending order before compressing them into ranges.
+ *
+ * AUTO inspects the values in a single pass (min, max and whether they are already ordered)
+ * and picks one of the concrete strategies below.
+ */
+public enum OrderingStrategy {
+
+    /** Pick a strategy per input based on size, value window and existing order. */
+    AUTO,
+
+    /** Input is already in ascending order, so sorting is skipped. */
+    NONE,
+
+    /** Comparison sort (Arrays.sort), O(n log n); best for small inputs. */
+    COMPARISON,
+
+    /**
+     * Bitset or counting pass over the max-min window, O(n + window); best for dense inputs. Falls
+     * back to RADIX when the window is large relative to the number of values.
+     */
+    COUNTING,
+
+    /** LSD radix sort on 8-bit digits, O(n); best for large sparse inputs. */
+    RADIX
+}
@@ -0,0 +1,454 @@
+package numberrangesummarizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork/join implementation of NumberRangeSummarizer for large inputs on multi-core machines.
+ *
+ * 1. collect: the text is split into segments at comma boundaries; segments are parsed, sorted and
+ *    de-duplicated concurrently, then merged pairwise up the task tree
+ * 2. summarize: the values are merge-sorted in parallel, compressed into ranges per partition, and
+ *    a stitching pass joins a range ending at one partition boundary to a range starting at the next
+ *
+ * Inputs below the threshold go straight to NumberRangeSummarizerImpl. Output is byte-identical to
+ * the sequential implementation, including its treatment of duplicates passed to summarizeCollection,
+ * and the first invalid token in the input is the one reported.
+ */
+public class ParallelRangeSummarizer implements NumberRangeSummarizer {
+
+    /** Default minimum chars (collect) or values (summarize) handled by one task. */
+    public static final int DEFAULT_THRESHOLD = 1 << 16;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+    private final RangeFormatter formatter;
+    private final NumberRangeSummarizerImpl sequential;
+
+    /**
+     * Creates a parallel summarizer on the common pool with the default threshold.
+     */
+    public ParallelRangeSummarizer() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Creates a parallel summarizer.
+     *
+     * @param pool the pool that runs the tasks
+     * @param threshold minimum chars (collect) or values (summarize) handled by one task;
+     *                  smaller inputs are processed sequentially
+     */
+    public ParallelRangeSummarizer(ForkJoinPool pool, int threshold) {
+        this(pool, threshold, RangeFormatter.DEFAULT);
+    }
+
+    /**
+     * Creates a parallel summarizer with a custom output dialect.
+     *
+     * @param pool the pool that runs the tasks
+     * @param threshold minimum chars (collect) or values (summarize) handled by one task;
+     *                  smaller inputs are processed sequentially
+     * @param formatter writes the ranges, for both the parallel and the sequential path
+     */
+    public ParallelRangeSummarizer(ForkJoinPool pool, int threshold, RangeFormatter formatter) {
+        if (pool == null) {
+            throw new IllegalArgumentException("pool must not be null");
+        }
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("threshold must be positive: " + threshold);
+        }
+        if (formatter == null) {
+            throw new IllegalArgumentException("formatter must not be null");
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+        this.formatter = formatter;
+        this.sequential = new NumberRangeSummarizerImpl(OrderingStrategy.AUTO, formatter);
+    }
+
+    @Override
+    public Collection<Integer> collect(String input) {
+        int[] values = collectInts(input);
+        return new IntListView(values, 0, values.length);
+    }
+
+    @Override
+    public String summarizeCollection(Collection<Integer> input) {
+        if (input == null || input.isEmpty()) {
+            return "";
+        }
+        if (input instanceof IntListView) {
+            IntListView view = (IntListView) input;
+            return summarize(view.array(), view.from(), view.to());
+        }
+        int[] values = new int[input.size()];
+        int i = 0;
+        for (Integer value : input) {
+            values[i++] = value;
+        }
+        return summarize(values, 0, values.length);
+    }
+
+    /**
+     * Collects comma-separated numbers into a sorted array of unique ints, parsing segments in parallel.
+     *
+     * @param input comma-separated numbers (possibly with spaces), may be null
+     * @return sorted array of unique integers
+     * @throws IllegalArgumentException if any token cannot be parsed as an integer
+     */
+    @Override
+    public int[] collectInts(CharSequence input) {
+        if (input == null || input.length() <= threshold) {
+            return sequential.collectInts(input);
+        }
+        Part result = pool.invoke(new ParseTask(input, 0, input.length()));
+        if (result.error != null) {
+            throw result.error;
+        }
+        return result.length == result.values.length ? result.values : Arrays.copyOf(result.values, result.length);
+    }
+
+    @Override
+    public String summarize(int[] values, int from, int to) {
+        return summarize(values, from, to, new StringBuilder()).toString();
+    }
+
+    /**
+     * Appends the summary of values[from, to), sorting and compressing partitions in parallel.
+     * The caller's array is never modified.
+     *
+     * @param values the values to summarize
+     * @param from index of the first value
+     * @param to index after the last value
+     * @param out the builder to append to
+     * @return out
+     * @throws IndexOutOfBoundsException if from and to do not describe a slice of values
+     */
+    @Override
+    public StringBuilder summarize(int[] values, int from, int to, StringBuilder out) {
+        if (from < 0 || from > to || to > values.length) {
+            throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", length: " + values.length);
+        }
+        int n = to - from;
+        if (n <= threshold) {
+            return sequential.summarize(values, from, to, out);
+        }
+
+        int[] sorted = values;
+        if (IntOrdering.resolve(values, from, to, false, OrderingStrategy.AUTO) != OrderingStrategy.NONE) {
+            sorted = Arrays.copyOfRange(values, from, to);
+            from = 0;
+            to = n;
+            pool.invoke(new SortTask(sorted, new int[n], 0, n));
+        }
+
+        // Compress each partition independently
+        int partitions = (int) Math.min((n + threshold - 1) / threshold, 4L * pool.getParallelism());
+        List<RangeTask> tasks = new ArrayList<>(partitions);
+        for (int p = 0; p < partitions; p++) {
+            int partFrom = from + (int) ((long) n * p / partitions);
+            int partTo = from + (int) ((long) n * (p + 1) / partitions);
+            tasks.add(new RangeTask(sorted, partFrom, partTo));
+        }
+        pool.invoke(new InvokeAll(tasks));
+
+        // Stitch: a range that ends right before the next partition's first range continues it.
+        // Ranges only ever extend on end + 1, so joining them reproduces the sequential scan exactly.
+        RangeTask previous = tasks.get(0);
+        for (int p = 1; p < partitions; p++) {
+            RangeTask next = tasks.get(p);
+            int last = previous.count - 1;
+            if (next.starts[next.first] == previous.ends[last] + 1) {
+                previous.ends[last] = next.ends[next.first];
+                next.first++;
+            }
+            if (next.first < next.count) {
+                previous = next;
+            }
+        }
+
+        // Format partitions in parallel, then concatenate
+        List<FormatTask> formatTasks = new ArrayList<>(partitions);
+        for (RangeTask task : tasks) {
+            formatTasks.add(new FormatTask(task, formatter));
+        }
+        pool.invoke(new InvokeAll(formatTasks));
+
+        boolean first = true;
+        for (FormatTask formatTask : formatTasks) {
+            if (formatTask.text.length() == 0) {
+                continue;
+            }
+            if (!first) {
+                out.append(formatter.getSeparator());
+            }
+            out.append(formatTask.text);
+            first = false;
+        }
+        return out;
+    }
+
+    /**
+     * @return the pool running the tasks
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * @return minimum chars or values handled by one task
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * @return the formatter writing the ranges
+     */
+    public RangeFormatter getFormatter() {
+        return formatter;
+    }
+
+    /**
+     * Sorted, unique values of one text segment, or the first error found in it.
+     */
+    private static final class Part {
+
+        final int[] values;
+        final int length;
+        final IllegalArgumentException error;
+
+        Part(int[] values, int length, IllegalArgumentException error) {
+            this.values = values;
+            this.length = length;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Parses, sorts and de-duplicates a comma-aligned text segment, splitting it while it is large.
+     */
+    private final class ParseTask extends RecursiveTask<Part> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CharSequence input;
+        private final int from;
+        private final int to;
+
+        ParseTask(CharSequence input, int from, int to) {
+            this.input = input;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Part compute() {
+            int split = to - from > threshold ? splitPoint() : -1;
+            if (split < 0) {
+                return parse();
+            }
+
+            ParseTask left = new ParseTask(input, from, split);
+            ParseTask right = new ParseTask(input, split, to);
+            left.fork();
+            Part rightPart = right.compute();
+            Part leftPart = left.join();
+
+            // Report the leftmost error, as the sequential scan would
+            if (leftPart.error != null) {
+                return leftPart;
+            }
+            if (rightPart.error != null) {
+                return rightPart;
+            }
+            return mergeDistinct(leftPart, rightPart);
+        }
+
+        /**
+         * @return index just after the first comma at or past the midpoint, or -1 if there is none
+         */
+        private int splitPoint() {
+            for (int i = from + (to - from) / 2; i < to - 1; i++) {
+                if (input.charAt(i) == ',') {
+                    return i + 1;
+                }
+            }
+            return -1;
+        }
+
+        private Part parse() {
+            try {
+                IntTokenScanner scanner = new IntTokenScanner((to - from) / 2 + 1);
+                scanner.feed(input, from, to);
+                scanner.finish();
+                int[] values = scanner.buffer();
+                return new Part(values, IntOrdering.sort(values, 0, scanner.size(), true), null);
+            } catch (IllegalArgumentException e) {
+                return new Part(null, 0, e);
+            }
+        }
+
+        private Part mergeDistinct(Part left, Part right) {
+            int[] merged = new int[left.length + right.length];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < left.length || j < right.length) {
+                int value;
+                if (j == right.length || (i < left.length && left.values[i] <= right.values[j])) {
+                    value = left.values[i++];
+                } else {
+                    value = right.values[j++];
+                }
+                if (k == 0 || merged[k - 1] != value) {
+                    merged[k++] = value;
+                }
+            }
+            return new Part(merged, k, null);
+        }
+    }
+
+    /**
+     * Merge sort that keeps duplicates; scratch must be at least as long as the sorted slice.
+     */
+    private final class SortTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] values;
+        private final int[] scratch;
+        private final int from;
+        private final int to;
+
+        SortTask(int[] values, int[] scratch, int from, int to) {
+            this.values = values;
+            this.scratch = scratch;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                IntOrdering.sort(values, from, to, false);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SortTask(values, scratch, from, mid), new SortTask(values, scratch, mid, to));
+
+            int i = from;
+            int j = mid;
+            int k = from;
+            while (i < mid && j < to) {
+                scratch[k++] = values[i] <= values[j] ? values[i++] : values[j++];
+            }
+            System.arraycopy(values, i, scratch, k, mid - i);
+            k += mid - i;
+            System.arraycopy(values, j, scratch, k, to - j);
+            System.arraycopy(scratch, from, values, from, to - from);
+        }
+    }
+
+    /**
+     * Compresses one partition of sorted values into ranges, with the same rules as the sequential scan.
+     */
+    private static final class RangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] values;
+        private final int from;
+        private final int to;
+
+        int[] starts;
+        int[] ends;
+        int count;
+        // Ranges before this index were merged into the previous partition by stitching
+        int first;
+
+        RangeTask(int[] values, int from, int to) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            starts = new int[16];
+            ends = new int[16];
+            int start = values[from];
+            int end = start;
+            for (int i = from + 1; i < to; i++) {
+                int current = values[i];
+                if (current == end + 1 && current != Integer.MIN_VALUE) {
+                    end = current;
+                } else {
+                    add(start, end);
+                    start = current;
+                    end = current;
+                }
+            }
+            add(start, end);
+        }
+
+        private void add(int start, int end) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            starts[count] = start;
+            ends[count] = end;
+            count++;
+        }
+    }
+
+    /**
+     * Formats the ranges a partition kept after stitching.
+     */
+    private static final class FormatTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final RangeTask ranges;
+        private final RangeFormatter formatter;
+        final StringBuilder text = new StringBuilder();
+
+        FormatTask(RangeTask ranges, RangeFormatter formatter) {
+            this.ranges = ranges;
+            this.formatter = formatter;
+        }
+
+        @Override
+        protected void compute() {
+            for (int r = ranges.first; r < ranges.count; r++) {
+                formatter.appendRange(text, ranges.starts[r], ranges.ends[r], r == ranges.first);
+            }
+        }
+    }
+
+    /**
+     * Runs a list of independent actions inside the pool.
+     */
+    private static final class InvokeAll extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<? extends RecursiveAction> actions;
+
+        InvokeAll(List<? extends RecursiveAction> actions) {
+            this.actions = actions;
+        }
+
+        @Override
+        protected void compute() {
+            invokeAll(actions);
+        }
+    }
+}
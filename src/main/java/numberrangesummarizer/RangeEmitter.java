@@ -0,0 +1,95 @@
+package numberrangesummarizer;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Incremental range compressor that writes each range to a Writer as soon as it is closed.
+ *
+ * Values must arrive in ascending order; repeats of the current value are ignored, matching the
+ * duplicate removal done by collect. Text is staged in a reusable builder and handed to the Writer
+ * in blocks, so memory use is constant no matter how many values pass through.
+ */
+final class RangeEmitter {
+
+    private static final int FLUSH_THRESHOLD = 8192;
+
+    private final Writer out;
+    private final RangeFormatter formatter;
+    private final StringBuilder pending = new StringBuilder(FLUSH_THRESHOLD + 32);
+    private final char[] transfer = new char[FLUSH_THRESHOLD + 32];
+
+    private boolean open;
+    private boolean first = true;
+    private int start;
+    private int end;
+
+    RangeEmitter(Writer out) {
+        this(out, RangeFormatter.DEFAULT);
+    }
+
+    RangeEmitter(Writer out, RangeFormatter formatter) {
+        this.out = out;
+        this.formatter = formatter;
+    }
+
+    /**
+     * Adds the next value.
+     *
+     * @param value a value no smaller than the previous one
+     * @throws IllegalArgumentException if value is smaller than the previous one
+     * @throws IOException if the Writer fails
+     */
+    void accept(int value) throws IOException {
+        if (!open) {
+            start = value;
+            end = value;
+            open = true;
+        } else if (value == end) {
+            // Duplicate
+        } else if (value < end) {
+            throw new IllegalArgumentException("Input is not sorted: " + value + " follows " + end);
+        } else if (value == end + 1) {
+            end = value;
+        } else {
+            closeRange();
+            start = value;
+            end = value;
+        }
+    }
+
+    /**
+     * Adds values[from, to), which must be ascending.
+     */
+    void accept(int[] values, int from, int to) throws IOException {
+        for (int i = from; i < to; i++) {
+            accept(values[i]);
+        }
+    }
+
+    /**
+     * Writes the last open range and flushes staged text to the Writer (the Writer itself is not flushed).
+     */
+    void finish() throws IOException {
+        if (open) {
+            closeRange();
+            open = false;
+        }
+        drain();
+    }
+
+    private void closeRange() throws IOException {
+        formatter.appendRange(pending, start, end, first);
+        first = false;
+        if (pending.length() >= FLUSH_THRESHOLD) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        int length = pending.length();
+        pending.getChars(0, length, transfer, 0);
+        out.write(transfer, 0, length);
+        pending.setLength(0);
+    }
+}
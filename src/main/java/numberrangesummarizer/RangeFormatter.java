@@ -0,0 +1,441 @@
+package numberrangesummarizer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes ranges as text straight into a StringBuilder, Appendable or ByteBuffer.
+ *
+ * No intermediate strings are built: ints are converted to digits in place (ASCII bytes for a
+ * ByteBuffer) and the separators are written as they are needed. The dialect is configurable:
+ * 1. separator between ranges, ", " by default
+ * 2. delimiter inside a range, "-" by default; ".." keeps negative ranges unambiguous ("-3..-1")
+ * 3. collapsing two-element runs into two single values ("3, 4" rather than "3-4")
+ *
+ * Formatters are immutable and thread-safe. DEFAULT produces the summarizeCollection format.
+ * Adjacency never wraps around: Integer.MAX_VALUE followed by Integer.MIN_VALUE is two ranges.
+ */
+public final class RangeFormatter {
+
+    /** The summarizeCollection format: "1, 3, 6-8, 12-15". */
+    public static final RangeFormatter DEFAULT = builder().build();
+
+    private final String separator;
+    private final String rangeDelimiter;
+    private final boolean collapsePairs;
+    private final byte[] separatorBytes;
+    private final byte[] rangeDelimiterBytes;
+
+    private RangeFormatter(Builder builder) {
+        this.separator = builder.separator;
+        this.rangeDelimiter = builder.rangeDelimiter;
+        this.collapsePairs = builder.collapsePairs;
+        this.separatorBytes = separator.getBytes(StandardCharsets.UTF_8);
+        this.rangeDelimiterBytes = rangeDelimiter.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return a builder starting from the default dialect
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getSeparator() {
+        return separator;
+    }
+
+    public String getRangeDelimiter() {
+        return rangeDelimiter;
+    }
+
+    public boolean isCollapsePairs() {
+        return collapsePairs;
+    }
+
+    /**
+     * Compresses ascending values[from, to) into ranges and appends them.
+     * Duplicates are treated exactly as summarizeCollection treats them.
+     *
+     * @param values ascending values
+     * @param from index of the first value
+     * @param to index after the last value
+     * @param out the builder to append to
+     * @return out
+     */
+    public StringBuilder format(int[] values, int from, int to, StringBuilder out) {
+        writeRuns(values, from, to, new BuilderSink(out));
+        return out;
+    }
+
+    /**
+     * Compresses ascending values[from, to) into ranges and appends them to any Appendable.
+     *
+     * @throws IOException if out fails to accept the text
+     */
+    public Appendable format(int[] values, int from, int to, Appendable out) throws IOException {
+        if (out instanceof StringBuilder) {
+            return format(values, from, to, (StringBuilder) out);
+        }
+        try {
+            writeRuns(values, from, to, new AppendableSink(out));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return out;
+    }
+
+    /**
+     * Compresses ascending values[from, to) into ranges and writes them as ASCII at the buffer's position.
+     *
+     * @throws BufferOverflowException if the buffer runs out of space; the position is then unspecified
+     */
+    public ByteBuffer format(int[] values, int from, int to, ByteBuffer out) {
+        writeRuns(values, from, to, new ByteBufferSink(out));
+        return out;
+    }
+
+    /**
+     * Compresses ascending 64-bit values[from, to) into ranges and appends them, with the same
+     * duplicate handling as the int version.
+     *
+     * @param values ascending values
+     * @param from index of the first value
+     * @param to index after the last value
+     * @param out the builder to append to
+     * @return out
+     */
+    public StringBuilder format(long[] values, int from, int to, StringBuilder out) {
+        if (from == to) {
+            return out;
+        }
+        BuilderSink sink = new BuilderSink(out);
+        long start = values[from];
+        long end = start;
+        boolean first = true;
+        for (int i = from + 1; i < to; i++) {
+            long current = values[i];
+            if (current == end + 1 && current != Long.MIN_VALUE) {
+                end = current;
+            } else {
+                sink.writeRange(start, end, first);
+                first = false;
+                start = current;
+                end = current;
+            }
+        }
+        sink.writeRange(start, end, first);
+        return out;
+    }
+
+    /**
+     * Appends the ranges of a set.
+     */
+    public StringBuilder format(IntRangeSet set, StringBuilder out) {
+        writeRanges(set, new BuilderSink(out));
+        return out;
+    }
+
+    /**
+     * Appends the ranges of a set to any Appendable.
+     *
+     * @throws IOException if out fails to accept the text
+     */
+    public Appendable format(IntRangeSet set, Appendable out) throws IOException {
+        if (out instanceof StringBuilder) {
+            return format(set, (StringBuilder) out);
+        }
+        try {
+            writeRanges(set, new AppendableSink(out));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return out;
+    }
+
+    /**
+     * Writes the ranges of a set as ASCII at the buffer's position.
+     *
+     * @throws BufferOverflowException if the buffer runs out of space; the position is then unspecified
+     */
+    public ByteBuffer format(IntRangeSet set, ByteBuffer out) {
+        writeRanges(set, new ByteBufferSink(out));
+        return out;
+    }
+
+    /**
+     * @return the ranges of a set as text
+     */
+    public String format(IntRangeSet set) {
+        return format(set, new StringBuilder(set.rangeCount() * 8)).toString();
+    }
+
+    /**
+     * Appends the ranges of a 64-bit set.
+     */
+    public StringBuilder format(LongRangeSet set, StringBuilder out) {
+        BuilderSink sink = new BuilderSink(out);
+        for (int i = 0; i < set.rangeCount(); i++) {
+            sink.writeRange(set.start(i), set.end(i), i == 0);
+        }
+        return out;
+    }
+
+    /**
+     * @return the ranges of a 64-bit set as text
+     */
+    public String format(LongRangeSet set) {
+        return format(set, new StringBuilder(set.rangeCount() * 12)).toString();
+    }
+
+    /**
+     * Appends one range, preceded by the separator unless it is the first. Ints widen to this overload.
+     */
+    StringBuilder appendRange(StringBuilder out, long start, long end, boolean first) {
+        new BuilderSink(out).writeRange(start, end, first);
+        return out;
+    }
+
+    /**
+     * Compresses ascending ints into ranges. Adjacency is tested in int arithmetic with a guard
+     * against Integer.MAX_VALUE wrapping round to Integer.MIN_VALUE.
+     */
+    private void writeRuns(int[] values, int from, int to, Sink sink) {
+        if (from == to) {
+            return;
+        }
+        int start = values[from];
+        int end = start;
+        boolean first = true;
+        for (int i = from + 1; i < to; i++) {
+            int current = values[i];
+            if (current == end + 1 && current != Integer.MIN_VALUE) {
+                end = current;
+            } else {
+                sink.writeRange(start, end, first);
+                first = false;
+                start = current;
+                end = current;
+            }
+        }
+        sink.writeRange(start, end, first);
+    }
+
+    private void writeRanges(IntRangeSet set, Sink sink) {
+        for (int i = 0; i < set.rangeCount(); i++) {
+            sink.writeRange(set.start(i), set.end(i), i == 0);
+        }
+    }
+
+    /**
+     * Number of chars in the decimal form of value, including a minus sign.
+     */
+    private static int charCount(long value) {
+        // Counted on the negative side, so Long.MIN_VALUE needs no special case
+        long negative = value < 0 ? value : -value;
+        int count = value < 0 ? 2 : 1;
+        while (negative <= -10) {
+            negative /= 10;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Target of the formatted text. writeRange holds the dialect rules once; each subclass only
+     * knows how to put separators and numbers into its own kind of output.
+     */
+    private abstract class Sink {
+
+        abstract void separator();
+
+        abstract void rangeDelimiter();
+
+        abstract void number(long value);
+
+        final void writeRange(long start, long end, boolean first) {
+            if (!first) {
+                separator();
+            }
+            number(start);
+            if (start != end) {
+                if (collapsePairs && end == start + 1) {
+                    separator();
+                } else {
+                    rangeDelimiter();
+                }
+                number(end);
+            }
+        }
+    }
+
+    private final class BuilderSink extends Sink {
+
+        private final StringBuilder out;
+
+        BuilderSink(StringBuilder out) {
+            this.out = out;
+        }
+
+        @Override
+        void separator() {
+            out.append(separator);
+        }
+
+        @Override
+        void rangeDelimiter() {
+            out.append(rangeDelimiter);
+        }
+
+        @Override
+        void number(long value) {
+            out.append(value);
+        }
+    }
+
+    /**
+     * Writes to an arbitrary Appendable; IOExceptions travel out unchecked and are unwrapped by the caller.
+     */
+    private final class AppendableSink extends Sink {
+
+        private final Appendable out;
+
+        AppendableSink(Appendable out) {
+            this.out = out;
+        }
+
+        @Override
+        void separator() {
+            text(separator);
+        }
+
+        @Override
+        void rangeDelimiter() {
+            text(rangeDelimiter);
+        }
+
+        /**
+         * Appends the decimal digits one char at a time, most significant first.
+         */
+        @Override
+        void number(long value) {
+            try {
+                if (value < 0) {
+                    out.append('-');
+                }
+                long negative = value < 0 ? value : -value;
+                long divisor = -1;
+                while (divisor >= Long.MIN_VALUE / 10 && divisor * 10 >= negative) {
+                    divisor *= 10;
+                }
+                for (; divisor != 0; divisor /= 10) {
+                    out.append((char) ('0' + negative / divisor % 10));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void text(String text) {
+            try {
+                out.append(text);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Writes ASCII digits and the dialect's UTF-8 separators at a ByteBuffer's position. Each piece
+     * is checked for space before any of it is written.
+     */
+    private final class ByteBufferSink extends Sink {
+
+        private final ByteBuffer out;
+
+        ByteBufferSink(ByteBuffer out) {
+            this.out = out;
+        }
+
+        @Override
+        void separator() {
+            out.put(separatorBytes);
+        }
+
+        @Override
+        void rangeDelimiter() {
+            out.put(rangeDelimiterBytes);
+        }
+
+        /**
+         * Writes the sign and digits, filling from the last digit backwards.
+         */
+        @Override
+        void number(long value) {
+            int length = charCount(value);
+            if (out.remaining() < length) {
+                throw new BufferOverflowException();
+            }
+            int position = out.position();
+            long negative = value < 0 ? value : -value;
+            for (int i = position + length - 1; i >= position; i--) {
+                out.put(i, (byte) ('0' - negative % 10));
+                negative /= 10;
+            }
+            if (value < 0) {
+                out.put(position, (byte) '-');
+            }
+            out.position(position + length);
+        }
+    }
+
+    /**
+     * Builder for a formatter dialect.
+     */
+    public static final class Builder {
+
+        private String separator = ", ";
+        private String rangeDelimiter = "-";
+        private boolean collapsePairs;
+
+        private Builder() {
+        }
+
+        /**
+         * @param separator text between ranges, e.g. ", " or ","
+         */
+        public Builder separator(String separator) {
+            if (separator == null || separator.isEmpty()) {
+                throw new IllegalArgumentException("separator must not be empty");
+            }
+            this.separator = separator;
+            return this;
+        }
+
+        /**
+         * @param rangeDelimiter text between the ends of a range, e.g. "-" or ".."
+         */
+        public Builder rangeDelimiter(String rangeDelimiter) {
+            if (rangeDelimiter == null || rangeDelimiter.isEmpty()) {
+                throw new IllegalArgumentException("rangeDelimiter must not be empty");
+            }
+            this.rangeDelimiter = rangeDelimiter;
+            return this;
+        }
+
+        /**
+         * @param collapsePairs whether a two-element run is written as two single values
+         */
+        public Builder collapsePairs(boolean collapsePairs) {
+            this.collapsePairs = collapsePairs;
+            return this;
+        }
+
+        public RangeFormatter build() {
+            return new RangeFormatter(this);
+        }
+    }
+}
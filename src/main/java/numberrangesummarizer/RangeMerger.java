@@ -0,0 +1,192 @@
+package numberrangesummarizer;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Combines many sorted range lists into one, e.g. the summaries of shards collected on different nodes.
+ *
+ * A binary heap holds the next range of each list, ordered by start, so the ranges come out in
+ * ascending order and overlapping or adjacent ones are coalesced as they are appended. For R ranges
+ * across k lists the cost is O(R log k), however many values the ranges cover, and nothing is
+ * expanded: "1-2000000000" is one range throughout.
+ *
+ * Summary text is read one item at a time; a list whose ranges are not in ascending order of start
+ * is rejected, since the heap relies on it. Sets are always in order.
+ */
+public final class RangeMerger {
+
+    private RangeMerger() {
+    }
+
+    /**
+     * Merges range sets.
+     *
+     * @param sets the sets; null entries are skipped
+     * @return the union of the sets
+     */
+    public static IntRangeSet merge(IntRangeSet... sets) {
+        return merge(Arrays.asList(sets));
+    }
+
+    /**
+     * Merges range sets.
+     *
+     * @param sets the sets; null entries are skipped
+     * @return the union of the sets
+     */
+    public static IntRangeSet merge(List<IntRangeSet> sets) {
+        Source[] sources = new Source[sets.size()];
+        int expectedRanges = 0;
+        int k = 0;
+        for (IntRangeSet set : sets) {
+            if (set != null && !set.isEmpty()) {
+                sources[k++] = new SetSource(set);
+                expectedRanges += set.rangeCount();
+            }
+        }
+        if (k == 1) {
+            return ((SetSource) sources[0]).set;
+        }
+        return merge(sources, k, expectedRanges);
+    }
+
+    /**
+     * Merges summaries such as "1, 3, 6-8" without expanding their ranges.
+     *
+     * @param summaries summaries with ranges in ascending order of start, e.g. from summarizeCollection;
+     *                  null entries are skipped
+     * @return the summary of the union, e.g. "1-3, 6-8" for "1, 3" and "2, 6-8"
+     * @throws IllegalArgumentException if an item is not a valid range or a summary is not in ascending order
+     */
+    public static String mergeSummaries(List<? extends CharSequence> summaries) {
+        return mergeSummariesToSet(summaries).toString();
+    }
+
+    /**
+     * Merges summaries into a range set without expanding their ranges.
+     *
+     * @param summaries summaries with ranges in ascending order of start; null entries are skipped
+     * @return the union of the summaries
+     * @throws IllegalArgumentException if an item is not a valid range or a summary is not in ascending order
+     */
+    public static IntRangeSet mergeSummariesToSet(List<? extends CharSequence> summaries) {
+        Source[] sources = new Source[summaries.size()];
+        int k = 0;
+        int index = 0;
+        for (CharSequence summary : summaries) {
+            if (summary != null) {
+                TextSource source = new TextSource(summary, index);
+                if (source.advance()) {
+                    sources[k++] = source;
+                }
+            }
+            index++;
+        }
+        return merge(sources, k, 16);
+    }
+
+    /**
+     * Drains sources[0, count), each already positioned on its first range, into a builder.
+     */
+    private static IntRangeSet merge(Source[] heap, int count, int expectedRanges) {
+        for (int i = count / 2 - 1; i >= 0; i--) {
+            siftDown(heap, count, i);
+        }
+        IntRangeSet.Builder builder = new IntRangeSet.Builder(expectedRanges);
+        while (count > 0) {
+            Source top = heap[0];
+            builder.add(top.start, top.end);
+            if (!top.advance()) {
+                heap[0] = heap[--count];
+                heap[count] = null;
+            }
+            siftDown(heap, count, 0);
+        }
+        return builder.build();
+    }
+
+    private static void siftDown(Source[] heap, int count, int i) {
+        Source moving = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= count) {
+                break;
+            }
+            if (child + 1 < count && heap[child + 1].start < heap[child].start) {
+                child++;
+            }
+            if (heap[child].start >= moving.start) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = moving;
+    }
+
+    /**
+     * One input list, positioned on its current range.
+     */
+    private abstract static class Source {
+
+        int start;
+        int end;
+
+        /**
+         * Moves to the next range.
+         *
+         * @return false once the list is exhausted
+         */
+        abstract boolean advance();
+    }
+
+    private static final class SetSource extends Source {
+
+        final IntRangeSet set;
+        private int next;
+
+        SetSource(IntRangeSet set) {
+            this.set = set;
+            advance();
+        }
+
+        @Override
+        boolean advance() {
+            if (next == set.rangeCount()) {
+                return false;
+            }
+            start = set.start(next);
+            end = set.end(next);
+            next++;
+            return true;
+        }
+    }
+
+    private static final class TextSource extends Source {
+
+        private final RangeSummaryParser.Cursor cursor;
+        private final int index;
+        private boolean started;
+
+        TextSource(CharSequence summary, int index) {
+            this.cursor = new RangeSummaryParser.Cursor(summary);
+            this.index = index;
+        }
+
+        @Override
+        boolean advance() {
+            if (!cursor.next()) {
+                return false;
+            }
+            if (started && cursor.start < start) {
+                throw new IllegalArgumentException("Summary " + index + " is not in ascending order: "
+                        + cursor.start + " follows " + start);
+            }
+            started = true;
+            start = cursor.start;
+            end = cursor.end;
+            return true;
+        }
+    }
+}
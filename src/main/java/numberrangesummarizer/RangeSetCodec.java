@@ -0,0 +1,293 @@
+package numberrangesummarizer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Compact binary encoding of an IntRangeSet for the network and key-value stores.
+ *
+ * Layout, every number an unsigned LEB128 varint (7 bits per byte, low bits first):
+ * 1. the number of ranges
+ * 2. the first start, zig-zag encoded so small negatives stay short
+ * 3. per range, end - start
+ * 4. per later range, the gap to the previous one: start - previousEnd - 2, which is never negative
+ *    since ranges in a set are disjoint and non-adjacent
+ *
+ * A dense or clustered set costs a few bytes per range, against ~4-12 chars per range as text. Encoding
+ * writes straight into the ByteBuffer or DataOutput and decoding reads straight out of it; Decoder walks
+ * the ranges one at a time without building a set.
+ */
+public final class RangeSetCodec {
+
+    // A 32-bit unsigned quantity never needs more than five varint bytes
+    private static final int MAX_VARINT_BYTES = 5;
+
+    private RangeSetCodec() {
+    }
+
+    /**
+     * @return the exact number of bytes encode writes for set
+     */
+    public static int encodedSize(IntRangeSet set) {
+        int count = set.rangeCount();
+        int size = varintSize(count);
+        long previousEnd = 0;
+        for (int i = 0; i < count; i++) {
+            int start = set.start(i);
+            int end = set.end(i);
+            size += varintSize(i == 0 ? zigZag(start) : start - previousEnd - 2);
+            size += varintSize((long) end - start);
+            previousEnd = end;
+        }
+        return size;
+    }
+
+    /**
+     * @return the encoding of set in a new array
+     */
+    public static byte[] toBytes(IntRangeSet set) {
+        byte[] bytes = new byte[encodedSize(set)];
+        encode(set, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    /**
+     * Writes set at the buffer's position.
+     *
+     * @return out
+     * @throws BufferOverflowException if the buffer runs out of space; the position is then unspecified
+     */
+    public static ByteBuffer encode(IntRangeSet set, ByteBuffer out) {
+        int count = set.rangeCount();
+        putVarint(out, count);
+        long previousEnd = 0;
+        for (int i = 0; i < count; i++) {
+            int start = set.start(i);
+            int end = set.end(i);
+            putVarint(out, i == 0 ? zigZag(start) : start - previousEnd - 2);
+            putVarint(out, (long) end - start);
+            previousEnd = end;
+        }
+        return out;
+    }
+
+    /**
+     * Writes set to a DataOutput, e.g. a DataOutputStream over a socket.
+     *
+     * @throws IOException if out fails to accept the bytes
+     */
+    public static void encode(IntRangeSet set, DataOutput out) throws IOException {
+        int count = set.rangeCount();
+        writeVarint(out, count);
+        long previousEnd = 0;
+        for (int i = 0; i < count; i++) {
+            int start = set.start(i);
+            int end = set.end(i);
+            writeVarint(out, i == 0 ? zigZag(start) : start - previousEnd - 2);
+            writeVarint(out, (long) end - start);
+            previousEnd = end;
+        }
+    }
+
+    /**
+     * Reads a set from the buffer's position, leaving the position just after it.
+     *
+     * @throws IllegalArgumentException if the bytes are not a valid encoding
+     * @throws BufferUnderflowException if the buffer ends inside the encoding
+     */
+    public static IntRangeSet decode(ByteBuffer in) {
+        try {
+            return drain(new Decoder(in));
+        } catch (IOException e) {
+            // A buffer-backed decoder never performs I/O
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads a set from the start of an array.
+     *
+     * @throws IllegalArgumentException if the bytes are not a valid encoding
+     */
+    public static IntRangeSet decode(byte[] bytes) {
+        try {
+            return decode(ByteBuffer.wrap(bytes));
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated range encoding");
+        }
+    }
+
+    /**
+     * Reads a set from a DataInput.
+     *
+     * @throws IllegalArgumentException if the bytes are not a valid encoding
+     * @throws IOException if in fails, including EOFException if it ends inside the encoding
+     */
+    public static IntRangeSet decode(DataInput in) throws IOException {
+        return drain(new Decoder(in));
+    }
+
+    private static IntRangeSet drain(Decoder decoder) throws IOException {
+        IntRangeSet.Builder builder = new IntRangeSet.Builder(Math.min(decoder.remaining(), 1 << 16));
+        while (decoder.nextRange()) {
+            builder.add(decoder.start(), decoder.end());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Reads an encoded set one range at a time, without materializing it.
+     *
+     * <pre>
+     * RangeSetCodec.Decoder ranges = new RangeSetCodec.Decoder(buffer);
+     * while (ranges.nextRange()) {
+     *     use(ranges.start(), ranges.end());
+     * }
+     * </pre>
+     */
+    public static final class Decoder {
+
+        private final ByteBuffer buffer;
+        private final DataInput input;
+        private final int count;
+        private int read;
+        private int start;
+        private int end;
+
+        /**
+         * Starts decoding at the buffer's position; the header is read immediately.
+         *
+         * @throws IllegalArgumentException if the header is not a valid varint
+         */
+        public Decoder(ByteBuffer in) {
+            this.buffer = in;
+            this.input = null;
+            this.count = readCountUnchecked();
+        }
+
+        /**
+         * Starts decoding from a DataInput; the header is read immediately.
+         *
+         * @throws IOException if in fails
+         */
+        public Decoder(DataInput in) throws IOException {
+            this.buffer = null;
+            this.input = in;
+            this.count = readCount();
+        }
+
+        /**
+         * Advances to the next range.
+         *
+         * @return false once every range has been read
+         * @throws IllegalArgumentException if the bytes are not a valid encoding
+         * @throws IOException if the underlying DataInput fails
+         */
+        public boolean nextRange() throws IOException {
+            if (read == count) {
+                return false;
+            }
+            long first = readVarint();
+            long nextStart = read == 0 ? unZigZag(first) : (long) end + 2 + first;
+            long nextEnd = nextStart + readVarint();
+            if (nextStart > Integer.MAX_VALUE || nextEnd > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid range encoding: range " + read + " exceeds int");
+            }
+            start = (int) nextStart;
+            end = (int) nextEnd;
+            read++;
+            return true;
+        }
+
+        /**
+         * @return the first value of the current range
+         */
+        public int start() {
+            return start;
+        }
+
+        /**
+         * @return the last value of the current range (inclusive)
+         */
+        public int end() {
+            return end;
+        }
+
+        /**
+         * @return the number of ranges not read yet
+         */
+        public int remaining() {
+            return count - read;
+        }
+
+        private int readCountUnchecked() {
+            try {
+                return readCount();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private int readCount() throws IOException {
+            long value = readVarint();
+            if (value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Invalid range encoding: range count " + value);
+            }
+            return (int) value;
+        }
+
+        private long readVarint() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 7 * MAX_VARINT_BYTES; shift += 7) {
+                int b = buffer != null ? buffer.get() : input.readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    if (value > 0xFFFFFFFFL) {
+                        throw new IllegalArgumentException("Invalid range encoding: varint exceeds 32 bits");
+                    }
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Invalid range encoding: varint longer than " + MAX_VARINT_BYTES + " bytes");
+        }
+    }
+
+    private static long zigZag(int value) {
+        return ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL;
+    }
+
+    private static long unZigZag(long encoded) {
+        int value = (int) encoded;
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int varintSize(long value) {
+        int size = 1;
+        while (value >= 0x80) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static void putVarint(ByteBuffer out, long value) {
+        while (value >= 0x80) {
+            out.put((byte) (value | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static void writeVarint(DataOutput out, long value) throws IOException {
+        while (value >= 0x80) {
+            out.writeByte((int) (value | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+}
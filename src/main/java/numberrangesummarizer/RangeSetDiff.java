@@ -0,0 +1,163 @@
+package numberrangesummarizer;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * The change between two versions of a range set, as the ranges added and the ranges removed, so a
+ * replica holding the older summary can be brought up to date without resending the whole set.
+ *
+ * <pre>
+ * RangeSetDiff diff = RangeSetDiff.diff("1-100, 200-300", "1-100, 200-310, 400");
+ * diff.toString();                  // "+[301-310, 400] -[]"
+ * diff.apply("1-100, 200-300");     // "1-100, 200-310, 400"
+ * </pre>
+ *
+ * diff and apply are linear merges over the ranges (IntRangeSet.difference and union), never the
+ * values. toBytes() encodes the two sides back to back with RangeSetCodec for the wire.
+ */
+public final class RangeSetDiff {
+
+    private static final RangeSetDiff EMPTY = new RangeSetDiff(IntRangeSet.empty(), IntRangeSet.empty());
+
+    private final IntRangeSet added;
+    private final IntRangeSet removed;
+
+    private RangeSetDiff(IntRangeSet added, IntRangeSet removed) {
+        this.added = added;
+        this.removed = removed;
+    }
+
+    /**
+     * Computes the change from older to newer.
+     *
+     * @return the values in newer but not older as added, and in older but not newer as removed
+     */
+    public static RangeSetDiff diff(IntRangeSet older, IntRangeSet newer) {
+        if (older.equals(newer)) {
+            return EMPTY;
+        }
+        return new RangeSetDiff(newer.difference(older), older.difference(newer));
+    }
+
+    /**
+     * Computes the change between two summaries, e.g. from summarizeCollection, without expanding ranges.
+     *
+     * @throws IllegalArgumentException if either text is not a valid summary
+     */
+    public static RangeSetDiff diff(CharSequence olderSummary, CharSequence newerSummary) {
+        return diff(RangeSummaryParser.parse(olderSummary), RangeSummaryParser.parse(newerSummary));
+    }
+
+    /**
+     * Creates a diff from its two sides, e.g. after receiving them separately.
+     *
+     * @throws IllegalArgumentException if a value is both added and removed
+     */
+    public static RangeSetDiff of(IntRangeSet added, IntRangeSet removed) {
+        if (!added.intersection(removed).isEmpty()) {
+            throw new IllegalArgumentException("Ranges both added and removed: " + added.intersection(removed));
+        }
+        if (added.isEmpty() && removed.isEmpty()) {
+            return EMPTY;
+        }
+        return new RangeSetDiff(added, removed);
+    }
+
+    /**
+     * @return the values the newer set gained
+     */
+    public IntRangeSet added() {
+        return added;
+    }
+
+    /**
+     * @return the values the newer set lost
+     */
+    public IntRangeSet removed() {
+        return removed;
+    }
+
+    /**
+     * @return true if the two sets were equal
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty();
+    }
+
+    /**
+     * Applies the change to the older set, giving the newer one.
+     *
+     * @param older the set the diff was computed from
+     * @return the newer set
+     * @throws IllegalArgumentException if older does not hold every removed value or already holds an added one,
+     *                                  which means the diff was computed from a different set
+     */
+    public IntRangeSet apply(IntRangeSet older) {
+        if (!older.intersection(removed).equals(removed) || !older.intersection(added).isEmpty()) {
+            throw new IllegalArgumentException("Diff does not apply to " + older);
+        }
+        return older.difference(removed).union(added);
+    }
+
+    /**
+     * Applies the change to an older summary, giving the newer summary.
+     *
+     * @throws IllegalArgumentException if the text is not a valid summary or the diff does not apply to it
+     */
+    public String apply(CharSequence olderSummary) {
+        return apply(RangeSummaryParser.parse(olderSummary)).toString();
+    }
+
+    /**
+     * @return the added and then the removed set, each encoded by RangeSetCodec
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[RangeSetCodec.encodedSize(added) + RangeSetCodec.encodedSize(removed)];
+        ByteBuffer out = ByteBuffer.wrap(bytes);
+        RangeSetCodec.encode(added, out);
+        RangeSetCodec.encode(removed, out);
+        return bytes;
+    }
+
+    /**
+     * Reads a diff written by toBytes.
+     *
+     * @throws IllegalArgumentException if the bytes are not a valid encoding
+     */
+    public static RangeSetDiff fromBytes(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        try {
+            return of(RangeSetCodec.decode(in), RangeSetCodec.decode(in));
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated range encoding");
+        }
+    }
+
+    /**
+     * @return the change as text, e.g. "+[301-310, 400] -[1-5]"
+     */
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder("+[");
+        added.appendTo(out).append("] -[");
+        return removed.appendTo(out).append(']').toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RangeSetDiff)) {
+            return false;
+        }
+        RangeSetDiff other = (RangeSetDiff) o;
+        return added.equals(other.added) && removed.equals(other.removed);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * added.hashCode() + removed.hashCode();
+    }
+}
@@ -0,0 +1,225 @@
+package numberrangesummarizer;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the summary format produced by summarizeCollection back, without expanding ranges.
+ *
+ * Each comma-separated item is a single int or a range "start-end"; either bound may be negative,
+ * so "-3--1" is -3 to -1 and "-1-1" is -1 to 1. Whitespace around items and around the range dash
+ * is tolerated and blank items are skipped, matching collect's input rules.
+ *
+ * Ranges are never expanded into individual values: parse() returns an IntRangeSet, and
+ * iterator()/stream() produce values lazily, so "1-2000000000" costs a few bytes either way.
+ */
+public final class RangeSummaryParser {
+
+    private RangeSummaryParser() {
+    }
+
+    /**
+     * Parses a summary into a range set. Ranges may appear in any order and may overlap.
+     *
+     * @param summary the summary text, may be null
+     * @return the set of values the summary describes
+     * @throws IllegalArgumentException if an item is not a valid int or range
+     */
+    public static IntRangeSet parse(CharSequence summary) {
+        Cursor cursor = new Cursor(summary);
+        int[] starts = new int[16];
+        int[] ends = new int[16];
+        int count = 0;
+        boolean ascending = true;
+        while (cursor.next()) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            if (count > 0 && cursor.start < starts[count - 1]) {
+                ascending = false;
+            }
+            starts[count] = cursor.start;
+            ends[count] = cursor.end;
+            count++;
+        }
+        if (!ascending) {
+            sortByStart(starts, ends, count);
+        }
+        IntRangeSet.Builder builder = new IntRangeSet.Builder(count);
+        for (int i = 0; i < count; i++) {
+            builder.add(starts[i], ends[i]);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Lazily iterates the values of a summary in the order written, parsing one item at a time.
+     * Values repeated by overlapping items are produced again, as written.
+     *
+     * @param summary the summary text, may be null
+     * @return an iterator that never holds more than the current range
+     * @throws IllegalArgumentException from hasNext/nextInt when an invalid item is reached
+     */
+    public static PrimitiveIterator.OfInt iterator(CharSequence summary) {
+        Cursor cursor = new Cursor(summary);
+        return new PrimitiveIterator.OfInt() {
+            private long next;
+            private long end = -1;
+
+            @Override
+            public boolean hasNext() {
+                if (next <= end) {
+                    return true;
+                }
+                if (!cursor.next()) {
+                    return false;
+                }
+                next = cursor.start;
+                end = cursor.end;
+                return true;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return (int) next++;
+            }
+        };
+    }
+
+    /**
+     * Lazily streams the values of a summary in the order written.
+     *
+     * @param summary the summary text, may be null
+     * @return a sequential stream backed by iterator(summary)
+     */
+    public static IntStream stream(CharSequence summary) {
+        return StreamSupport.intStream(
+                Spliterators.spliteratorUnknownSize(iterator(summary), Spliterator.ORDERED | Spliterator.NONNULL),
+                false);
+    }
+
+    private static void sortByStart(int[] starts, int[] ends, int count) {
+        // Pack each range into a long so one primitive sort orders by start (start in the high half)
+        long[] packed = new long[count];
+        for (int i = 0; i < count; i++) {
+            packed[i] = ((long) starts[i] << 32) | (ends[i] & 0xFFFFFFFFL);
+        }
+        Arrays.sort(packed);
+        for (int i = 0; i < count; i++) {
+            starts[i] = (int) (packed[i] >> 32);
+            ends[i] = (int) packed[i];
+        }
+    }
+
+    /**
+     * Walks the summary one item at a time, exposing the current range as start/end.
+     */
+    static final class Cursor {
+
+        private final CharSequence text;
+        private final int length;
+        private int position;
+
+        int start;
+        int end;
+
+        Cursor(CharSequence text) {
+            this.text = text == null ? "" : text;
+            this.length = this.text.length();
+        }
+
+        /**
+         * Advances to the next non-blank item.
+         *
+         * @return false at the end of the text
+         * @throws IllegalArgumentException if the item is malformed
+         */
+        boolean next() {
+            while (position < length) {
+                int itemStart = position;
+                skipWhitespace();
+                if (position == length) {
+                    return false;
+                }
+                if (text.charAt(position) == ',') {
+                    // Blank item
+                    position++;
+                    continue;
+                }
+                long first = readInt(itemStart);
+                long second = first;
+                skipWhitespace();
+                if (position < length && text.charAt(position) == '-') {
+                    position++;
+                    skipWhitespace();
+                    second = readInt(itemStart);
+                    skipWhitespace();
+                }
+                if (position < length && text.charAt(position) != ',') {
+                    throw invalid(itemStart);
+                }
+                if (first > second) {
+                    throw invalid(itemStart);
+                }
+                position++;
+                start = (int) first;
+                end = (int) second;
+                return true;
+            }
+            return false;
+        }
+
+        private long readInt(int itemStart) {
+            boolean negative = false;
+            if (position < length && (text.charAt(position) == '-' || text.charAt(position) == '+')) {
+                negative = text.charAt(position) == '-';
+                position++;
+            }
+            int digitsStart = position;
+            long value = 0;
+            while (position < length) {
+                char c = text.charAt(position);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                value = value * 10 + (c - '0');
+                if (value > 1L + Integer.MAX_VALUE) {
+                    throw invalid(itemStart);
+                }
+                position++;
+            }
+            if (position == digitsStart) {
+                throw invalid(itemStart);
+            }
+            value = negative ? -value : value;
+            if (value > Integer.MAX_VALUE) {
+                throw invalid(itemStart);
+            }
+            return value;
+        }
+
+        private void skipWhitespace() {
+            while (position < length && text.charAt(position) <= ' ') {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException invalid(int itemStart) {
+            int itemEnd = itemStart;
+            while (itemEnd < length && text.charAt(itemEnd) != ',') {
+                itemEnd++;
+            }
+            String item = text.subSequence(itemStart, itemEnd).toString().trim();
+            return new IllegalArgumentException("Invalid range format: '" + item + "'");
+        }
+    }
+}
@@ -0,0 +1,431 @@
+package numberrangesummarizer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Summarizer for comma-separated inputs too large to hold in memory.
+ *
+ * Input is read in fixed-size chunks from a Reader, a ReadableByteChannel or a memory-mapped file;
+ * tokens split across chunk boundaries are handled by the scanner. The output is identical to
+ * summarizeCollection(collect(input)) on NumberRangeSummarizerImpl.
+ *
+ * 1. Sorted input: ranges are written to the Writer as they close, in constant memory
+ * 2. Unsorted input: values are gathered into runs that are sorted, de-duplicated and spilled
+ *    to temp files, then k-way merged into the Writer (external merge sort). Input that fits
+ *    into a single run never touches the disk.
+ */
+public class StreamingRangeSummarizer {
+
+    /** Default chunk size, in chars or bytes, read from the input per call. */
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    /** Default number of values held in memory before a sorted run is spilled. */
+    public static final int DEFAULT_RUN_SIZE = 1 << 22;
+
+    private static final int RUN_IO_BUFFER = 64 * 1024;
+
+    /** Most runs merged at once; more runs are merged in passes so open files and buffers stay bounded. */
+    static final int MAX_MERGE_FAN_IN = 64;
+
+    private final int chunkSize;
+    private final int runSize;
+    private final Path tempDirectory;
+    private final long mapWindowSize;
+
+    /**
+     * Creates a streaming summarizer with default chunk and run sizes, spilling to the system temp directory.
+     */
+    public StreamingRangeSummarizer() {
+        this(DEFAULT_CHUNK_SIZE, DEFAULT_RUN_SIZE, null);
+    }
+
+    /**
+     * Creates a streaming summarizer.
+     *
+     * @param chunkSize chars or bytes read from the input per call
+     * @param runSize values held in memory before a sorted run is spilled to disk
+     * @param tempDirectory where runs are spilled, or null for the system temp directory
+     */
+    public StreamingRangeSummarizer(int chunkSize, int runSize, Path tempDirectory) {
+        this(chunkSize, runSize, tempDirectory, MappedFileReader.DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Creates a streaming summarizer with a custom memory-mapping window for file input.
+     *
+     * @param chunkSize chars or bytes read from the input per call
+     * @param runSize values held in memory before a sorted run is spilled to disk
+     * @param tempDirectory where runs are spilled, or null for the system temp directory
+     * @param mapWindowSize bytes of a file mapped at a time, at most Integer.MAX_VALUE
+     */
+    public StreamingRangeSummarizer(int chunkSize, int runSize, Path tempDirectory, long mapWindowSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        if (runSize <= 0) {
+            throw new IllegalArgumentException("runSize must be positive: " + runSize);
+        }
+        this.chunkSize = chunkSize;
+        this.runSize = runSize;
+        if (mapWindowSize <= 0 || mapWindowSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("mapWindowSize must be between 1 and " + Integer.MAX_VALUE
+                    + ": " + mapWindowSize);
+        }
+        this.tempDirectory = tempDirectory;
+        this.mapWindowSize = mapWindowSize;
+    }
+
+    /**
+     * Summarizes comma-separated numbers read from a Reader.
+     *
+     * @param in the input; read to the end but not closed
+     * @param out receives the summary; flushed but not closed
+     * @param sorted true if the input is known to be ascending, enabling constant-memory mode
+     * @throws IllegalArgumentException if a token is invalid, or sorted is true and the input is not ascending
+     * @throws IOException if reading, writing or spilling fails
+     */
+    public void summarize(Reader in, Writer out, boolean sorted) throws IOException {
+        char[] chunk = new char[chunkSize];
+        CharBuffer view = CharBuffer.wrap(chunk);
+        Sink sink = sorted ? new SortedSink(out) : new SpillingSink(out);
+        try {
+            IntTokenScanner scanner = new IntTokenScanner(chunkSize / 2 + 1);
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                scanner.feed(view, 0, read);
+                sink.accept(scanner);
+            }
+            scanner.finish();
+            sink.accept(scanner);
+            sink.finish();
+        } finally {
+            sink.close();
+        }
+        out.flush();
+    }
+
+    /**
+     * Summarizes comma-separated numbers read from a byte channel holding ASCII or UTF-8 text.
+     * Bytes are parsed directly without decoding to chars.
+     *
+     * @param in the input; read to the end but not closed
+     * @param out receives the summary; flushed but not closed
+     * @param sorted true if the input is known to be ascending, enabling constant-memory mode
+     * @throws IllegalArgumentException if a token is invalid, or sorted is true and the input is not ascending
+     * @throws IOException if reading, writing or spilling fails
+     */
+    public void summarize(ReadableByteChannel in, Writer out, boolean sorted) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(chunkSize);
+        Sink sink = sorted ? new SortedSink(out) : new SpillingSink(out);
+        try {
+            IntTokenScanner scanner = new IntTokenScanner(chunkSize / 2 + 1);
+            while (in.read(chunk) != -1) {
+                chunk.flip();
+                scanner.feed(chunk);
+                sink.accept(scanner);
+                chunk.clear();
+            }
+            scanner.finish();
+            sink.accept(scanner);
+            sink.finish();
+        } finally {
+            sink.close();
+        }
+        out.flush();
+    }
+
+    /**
+     * Summarizes comma-separated numbers in an ASCII or UTF-8 file.
+     * The file is memory-mapped in windows and parsed straight from the mapping, so files of any
+     * size (including over 2 GB) are handled without copying them into a String or the heap.
+     *
+     * @param file the input file
+     * @param out receives the summary; flushed but not closed
+     * @param sorted true if the input is known to be ascending, enabling constant-memory mode
+     * @throws IllegalArgumentException if a token is invalid, or sorted is true and the input is not ascending
+     * @throws IOException if mapping, writing or spilling fails
+     */
+    public void summarize(Path file, Writer out, boolean sorted) throws IOException {
+        Sink sink = sorted ? new SortedSink(out) : new SpillingSink(out);
+        try (MappedFileReader in = new MappedFileReader(file, mapWindowSize)) {
+            IntTokenScanner scanner = new IntTokenScanner(chunkSize / 2 + 1);
+            while (in.feedNext(scanner, chunkSize)) {
+                sink.accept(scanner);
+            }
+            scanner.finish();
+            sink.accept(scanner);
+            sink.finish();
+        } finally {
+            sink.close();
+        }
+        out.flush();
+    }
+
+    /**
+     * Receives the values parsed from each chunk.
+     */
+    private interface Sink {
+
+        /** Consumes and clears the values the scanner has parsed so far. */
+        void accept(IntTokenScanner scanner) throws IOException;
+
+        void finish() throws IOException;
+
+        /** Releases temp files; called whether or not finish succeeded. */
+        void close() throws IOException;
+    }
+
+    /**
+     * Writes ranges straight through as ascending values arrive.
+     */
+    private static final class SortedSink implements Sink {
+
+        private final RangeEmitter emitter;
+
+        SortedSink(Writer out) {
+            this.emitter = new RangeEmitter(out);
+        }
+
+        @Override
+        public void accept(IntTokenScanner scanner) throws IOException {
+            emitter.accept(scanner.buffer(), 0, scanner.size());
+            scanner.clear();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            emitter.finish();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Gathers values into runs, spilling each sorted run to a temp file, then merges the runs.
+     */
+    private final class SpillingSink implements Sink {
+
+        private final Writer out;
+        private int[] run;
+        private int runLength;
+        private final List<Path> spilled = new ArrayList<>();
+
+        SpillingSink(Writer out) {
+            this.out = out;
+            // Grown on demand up to runSize so small inputs stay small
+            this.run = new int[Math.min(runSize, 1024)];
+        }
+
+        @Override
+        public void accept(IntTokenScanner scanner) throws IOException {
+            int[] values = scanner.buffer();
+            int size = scanner.size();
+            int offset = 0;
+            while (offset < size) {
+                if (runLength == run.length) {
+                    run = Arrays.copyOf(run, (int) Math.min(runSize, 2L * run.length));
+                }
+                int count = Math.min(size - offset, run.length - runLength);
+                System.arraycopy(values, offset, run, runLength, count);
+                runLength += count;
+                offset += count;
+                if (runLength == runSize) {
+                    spill();
+                }
+            }
+            scanner.clear();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            RangeEmitter emitter = new RangeEmitter(out);
+            if (spilled.isEmpty()) {
+                int end = sortRun();
+                emitter.accept(run, 0, end);
+            } else {
+                if (runLength > 0) {
+                    spill();
+                }
+                merge(emitter);
+            }
+            emitter.finish();
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (Path path : spilled) {
+                Files.deleteIfExists(path);
+            }
+        }
+
+        private int sortRun() {
+            int end = IntOrdering.sort(run, 0, runLength, true);
+            runLength = 0;
+            return end;
+        }
+
+        private void spill() throws IOException {
+            int end = sortRun();
+            try (DataOutputStream output = createRun(end)) {
+                for (int i = 0; i < end; i++) {
+                    output.writeInt(run[i]);
+                }
+            }
+        }
+
+        private DataOutputStream createRun(long count) throws IOException {
+            Path path = tempDirectory == null
+                    ? Files.createTempFile("ranges-", ".run")
+                    : Files.createTempFile(tempDirectory, "ranges-", ".run");
+            spilled.add(path);
+            DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(path), RUN_IO_BUFFER));
+            output.writeLong(count);
+            return output;
+        }
+
+        private void merge(RangeEmitter emitter) throws IOException {
+            List<Path> runs = new ArrayList<>(spilled);
+            // Intermediate passes: fold groups of MAX_MERGE_FAN_IN runs into longer runs
+            while (runs.size() > MAX_MERGE_FAN_IN) {
+                List<Path> merged = new ArrayList<>();
+                for (int from = 0; from < runs.size(); from += MAX_MERGE_FAN_IN) {
+                    List<Path> group = runs.subList(from, Math.min(runs.size(), from + MAX_MERGE_FAN_IN));
+                    if (group.size() == 1) {
+                        merged.add(group.get(0));
+                        continue;
+                    }
+                    long count = 0;
+                    for (Path path : group) {
+                        count += countOf(path);
+                    }
+                    // Duplicates across runs are kept; the emitter drops them in the final pass
+                    try (DataOutputStream output = createRun(count)) {
+                        mergeRuns(group, null, output);
+                    }
+                    merged.add(spilled.get(spilled.size() - 1));
+                    for (Path path : group) {
+                        Files.deleteIfExists(path);
+                    }
+                }
+                runs = merged;
+            }
+            mergeRuns(runs, emitter, null);
+        }
+
+        /**
+         * Merges the runs into either the emitter or another run file. Every reader opened here is
+         * closed before returning, whether or not the merge completes.
+         */
+        private void mergeRuns(List<Path> runs, RangeEmitter emitter, DataOutputStream output) throws IOException {
+            List<RunReader> readers = new ArrayList<>(runs.size());
+            PriorityQueue<RunReader> heap = new PriorityQueue<>(runs.size(),
+                    (a, b) -> Integer.compare(a.current, b.current));
+            try {
+                for (Path path : runs) {
+                    RunReader reader = new RunReader(path);
+                    readers.add(reader);
+                    if (reader.advance()) {
+                        heap.add(reader);
+                    }
+                }
+                while (!heap.isEmpty()) {
+                    RunReader reader = heap.poll();
+                    if (emitter != null) {
+                        emitter.accept(reader.current);
+                    } else {
+                        output.writeInt(reader.current);
+                    }
+                    if (reader.advance()) {
+                        heap.add(reader);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                closeAll(readers, e);
+                throw e;
+            }
+            closeAll(readers, null);
+        }
+
+        private long countOf(Path path) throws IOException {
+            try (DataInputStream input = new DataInputStream(Files.newInputStream(path))) {
+                return input.readLong();
+            }
+        }
+    }
+
+    /**
+     * Closes every reader even if some fail. Failures are attached to the primary exception when one
+     * is already in flight, otherwise the first is thrown.
+     */
+    private static void closeAll(List<RunReader> readers, Exception primary) throws IOException {
+        IOException failure = null;
+        for (RunReader reader : readers) {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                if (primary != null) {
+                    primary.addSuppressed(e);
+                } else if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Sequential reader over one spilled run.
+     */
+    private static final class RunReader {
+
+        private final DataInputStream input;
+        private long remaining;
+        int current;
+
+        RunReader(Path path) throws IOException {
+            this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), RUN_IO_BUFFER));
+            try {
+                this.remaining = input.readLong();
+            } catch (EOFException e) {
+                input.close();
+                throw new IOException("Truncated run file: " + path, e);
+            }
+        }
+
+        boolean advance() throws IOException {
+            if (remaining == 0) {
+                return false;
+            }
+            current = input.readInt();
+            remaining--;
+            return true;
+        }
+
+        void close() throws IOException {
+            input.close();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package numberrangesummarizer;
+
+/**
+ * Receives per-phase measurements from NumberRangeSummarizerImpl, e.g. to bridge them to a metrics system.
+ *
+ * Callbacks run synchronously on the calling thread, so implementations must be cheap and thread-safe
+ * if the summarizer is shared. Every method has an empty default; override only what is needed.
+ * Without a listener the summarizer takes its uninstrumented path and never reads the clock.
+ *
+ * @see SummarizerMetrics
+ */
+public interface SummarizerListener {
+
+    /**
+     * Called after text has been parsed into values.
+     *
+     * @param chars length of the input text
+     * @param tokens number of values parsed, duplicates included
+     * @param nanos time spent parsing
+     */
+    default void parsed(int chars, int tokens, long nanos) {
+    }
+
+    /**
+     * Called after values have been sorted (and de-duplicated on the collect path).
+     *
+     * @param values number of values before ordering
+     * @param unique number of values after ordering; equal to values on the summarize path
+     * @param strategy the strategy applied, never AUTO
+     * @param nanos time spent ordering
+     */
+    default void ordered(int values, int unique, OrderingStrategy strategy, long nanos) {
+    }
+
+    /**
+     * Called after ordered values have been compressed into ranges and written out. Compression and
+     * formatting happen in the same pass, so they are timed together.
+     *
+     * @param values number of values summarized
+     * @param ranges number of ranges written
+     * @param nanos time spent compressing and formatting
+     */
+    default void formatted(int values, int ranges, long nanos) {
+    }
+
+    /**
+     * Called when parsing fails, just before the exception is thrown to the caller.
+     *
+     * @param error the exception about to be thrown
+     */
+    default void failed(IllegalArgumentException error) {
+    }
+}
@@ -0,0 +1,198 @@
+package numberrangesummarizer;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ready-made SummarizerListener that aggregates measurements in memory, for polling or export.
+ *
+ * Records per-phase timers (parse, order, format), histograms of input tokens, output ranges and
+ * compression ratio (values per range), and error counts by cause. Everything is lock-free and safe
+ * to share between summarizers and threads.
+ *
+ * <pre>
+ * SummarizerMetrics metrics = new SummarizerMetrics();
+ * NumberRangeSummarizer summarizer = new NumberRangeSummarizerImpl(OrderingStrategy.AUTO, RangeFormatter.DEFAULT, metrics);
+ * ...
+ * metrics.parseNanos().percentile(0.99);
+ * </pre>
+ */
+public class SummarizerMetrics implements SummarizerListener {
+
+    private final Histogram parseNanos = new Histogram();
+    private final Histogram orderNanos = new Histogram();
+    private final Histogram formatNanos = new Histogram();
+    private final Histogram inputTokens = new Histogram();
+    private final Histogram outputRanges = new Histogram();
+    private final Histogram compressionRatio = new Histogram();
+    private final LongAdder[] errors = new LongAdder[ErrorCause.values().length];
+
+    public SummarizerMetrics() {
+        for (int i = 0; i < errors.length; i++) {
+            errors[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void parsed(int chars, int tokens, long nanos) {
+        parseNanos.record(nanos);
+        inputTokens.record(tokens);
+    }
+
+    @Override
+    public void ordered(int values, int unique, OrderingStrategy strategy, long nanos) {
+        orderNanos.record(nanos);
+    }
+
+    @Override
+    public void formatted(int values, int ranges, long nanos) {
+        formatNanos.record(nanos);
+        outputRanges.record(ranges);
+        if (ranges > 0) {
+            compressionRatio.record(values / ranges);
+        }
+    }
+
+    @Override
+    public void failed(IllegalArgumentException error) {
+        errors[causeOf(error).ordinal()].increment();
+    }
+
+    /**
+     * @return time spent parsing text, in nanoseconds per call
+     */
+    public Histogram parseNanos() {
+        return parseNanos;
+    }
+
+    /**
+     * @return time spent sorting and de-duplicating, in nanoseconds per call
+     */
+    public Histogram orderNanos() {
+        return orderNanos;
+    }
+
+    /**
+     * @return time spent compressing and formatting, in nanoseconds per call
+     */
+    public Histogram formatNanos() {
+        return formatNanos;
+    }
+
+    /**
+     * @return values parsed per input, duplicates included
+     */
+    public Histogram inputTokens() {
+        return inputTokens;
+    }
+
+    /**
+     * @return ranges written per summary
+     */
+    public Histogram outputRanges() {
+        return outputRanges;
+    }
+
+    /**
+     * @return values per output range, rounded down; 1 means nothing was compressed
+     */
+    public Histogram compressionRatio() {
+        return compressionRatio;
+    }
+
+    /**
+     * @return the number of failed parses with the given cause
+     */
+    public long errorCount(ErrorCause cause) {
+        return errors[cause.ordinal()].sum();
+    }
+
+    /**
+     * Reads the cause the scanner attached to its error; anything else counts as malformed.
+     */
+    static ErrorCause causeOf(IllegalArgumentException error) {
+        Throwable cause = error.getCause();
+        if (cause instanceof InvalidTokenException) {
+            return ((InvalidTokenException) cause).errorCause();
+        }
+        return ErrorCause.MALFORMED;
+    }
+
+    /**
+     * Lock-free histogram of non-negative longs in power-of-two buckets: bucket 0 holds 0, and
+     * bucket b holds [2^(b-1), 2^b). Percentiles are reported as the upper bound of their bucket,
+     * so they are accurate to within a factor of two.
+     */
+    public static final class Histogram {
+
+        private static final int BUCKETS = 64;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+
+        /**
+         * Records a value; negative values are recorded as 0.
+         */
+        public void record(long value) {
+            long v = Math.max(value, 0);
+            buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(v));
+            count.increment();
+            sum.add(v);
+        }
+
+        /**
+         * @return the number of values recorded
+         */
+        public long count() {
+            return count.sum();
+        }
+
+        /**
+         * @return the sum of the values recorded
+         */
+        public long sum() {
+            return sum.sum();
+        }
+
+        /**
+         * @return the mean of the values recorded, or 0 if there are none
+         */
+        public double mean() {
+            long n = count();
+            return n == 0 ? 0 : (double) sum() / n;
+        }
+
+        /**
+         * @return the number of values recorded in bucket b
+         */
+        public long bucketCount(int b) {
+            return buckets.get(b);
+        }
+
+        /**
+         * @param quantile between 0 and 1, e.g. 0.99
+         * @return an upper bound for the value at the quantile, or 0 if nothing was recorded
+         */
+        public long percentile(double quantile) {
+            if (quantile < 0 || quantile > 1) {
+                throw new IllegalArgumentException("quantile must be between 0 and 1: " + quantile);
+            }
+            long total = 0;
+            long[] snapshot = new long[BUCKETS];
+            for (int b = 0; b < BUCKETS; b++) {
+                snapshot[b] = buckets.get(b);
+                total += snapshot[b];
+            }
+            long rank = (long) Math.ceil(quantile * total);
+            long seen = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                seen += snapshot[b];
+                if (seen >= rank && snapshot[b] > 0) {
+                    return b == 0 ? 0 : (1L << b) - 1;
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,398 @@
+package numberrangesummarizer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Long-running HTTP front end, so callers pay JVM startup and warmup once rather than per summary.
+ * Built on the JDK's com.sun.net.httpserver; no extra dependencies.
+ *
+ * Endpoints:
+ * 1. POST /summarize: the body is comma-separated numbers; the response is the summary as text/plain.
+ *    The body (chunked or not) is parsed as it arrives through StreamingRangeSummarizer, so large
+ *    bodies are never held whole. Add ?sorted=true for ascending input to run in constant memory.
+ *    Invalid input, or any other query parameter or value, gives 400 with the error message.
+ * 2. GET /health: "ok" plus request, error, rejected, active and queued counts as JSON.
+ *
+ * Connections are HTTP/1.1 keep-alive, and requests on one connection are answered in order.
+ * At most workerCount summaries run at once and up to queueCapacity more wait for a turn; beyond
+ * that /summarize is answered at once with 503 and Retry-After.
+ *
+ * Two pools keep this bounded. A small front pool with a bounded queue reads each request's headers
+ * and routes it: /health is answered there, and /summarize takes an admission permit and is handed to
+ * the worker pool (workerCount threads, queueCapacity slots) or answered with 503. Front work is short,
+ * so /health never waits behind a summary. If even the front queue is full, the accepting thread
+ * routes the request itself, which slows accepting instead of queueing without limit.
+ * After close(), requests still arriving are answered with 503.
+ */
+public class SummarizerServer implements Closeable {
+
+    /** Default number of worker threads. */
+    public static final int DEFAULT_WORKERS = Runtime.getRuntime().availableProcessors();
+
+    /** Default number of requests waiting for a worker before new ones are held back. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    /** Threads that read request headers and route them; they never run a summary. */
+    private static final int FRONT_THREADS = 2;
+
+    /** Routed requests that may wait for a front thread before the accepting thread routes them itself. */
+    private static final int FRONT_QUEUE_CAPACITY = 256;
+
+    /** Seconds a rejected client is asked to wait before retrying. */
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final HttpServer server;
+    private final ThreadPoolExecutor front;
+    private final ThreadPoolExecutor workers;
+    private final StreamingRangeSummarizer summarizer;
+    private final int workerCount;
+    private final Semaphore admitted;
+    private volatile boolean closed;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Starts a server on the loopback interface with the default pool sizes.
+     *
+     * @param port the port, or 0 for any free port (see getPort)
+     * @throws IOException if the port cannot be bound
+     */
+    public SummarizerServer(int port) throws IOException {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), DEFAULT_WORKERS,
+                DEFAULT_QUEUE_CAPACITY, new StreamingRangeSummarizer());
+    }
+
+    /**
+     * Starts a server.
+     *
+     * @param address the address to bind
+     * @param workerCount threads that run requests
+     * @param queueCapacity requests that may wait for a worker
+     * @param summarizer summarizes each request body
+     * @throws IOException if the address cannot be bound
+     */
+    public SummarizerServer(InetSocketAddress address, int workerCount, int queueCapacity,
+                            StreamingRangeSummarizer summarizer) throws IOException {
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("workerCount must be positive: " + workerCount);
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity must be positive: " + queueCapacity);
+        }
+        if (summarizer == null) {
+            throw new IllegalArgumentException("summarizer must not be null");
+        }
+        this.summarizer = summarizer;
+        this.workerCount = workerCount;
+        // A permit per worker and queue slot, so an admitted summary is never rejected by the pool
+        this.admitted = new Semaphore(workerCount + queueCapacity);
+        this.front = new ThreadPoolExecutor(FRONT_THREADS, FRONT_THREADS, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(FRONT_QUEUE_CAPACITY), daemonThreads("summarizer-front"),
+                (runnable, pool) -> {
+                    // Front queue full, or closed: route on the accepting thread; after close() this answers 503
+                    runnable.run();
+                });
+        // The permits are the real bound; the queue is one permit-holder per thread larger because a
+        // worker releases its permit just before it returns to take the next task
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerCount + queueCapacity), daemonThreads("summarizer-worker"));
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(front);
+        server.createContext("/summarize", this::summarize);
+        server.createContext("/health", this::health);
+        server.start();
+    }
+
+    /**
+     * @return the bound port, useful after passing 0
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return requests answered so far, including failed ones
+     */
+    public long requestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * @return requests answered with an error status
+     */
+    public long failureCount() {
+        return failures.sum();
+    }
+
+    /**
+     * @return /summarize requests turned away with 503 because the server was saturated or closing
+     */
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Stops accepting connections, waits up to a second for requests in progress, then stops the workers.
+     * Requests that arrive meanwhile are answered with 503.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        server.stop(1);
+        front.shutdownNow();
+        // Summaries still waiting for a worker see closed and answer 503 instead of being dropped
+        for (Runnable pending : workers.shutdownNow()) {
+            pending.run();
+        }
+    }
+
+    /**
+     * Routes a /summarize request on a front thread: admitted requests go to the worker pool with the
+     * exchange still open, the rest are answered with 503 straight away.
+     */
+    private void summarize(HttpExchange exchange) throws IOException {
+        requests.increment();
+        if (closed || !admitted.tryAcquire()) {
+            try {
+                sendUnavailable(exchange, closed ? "Server is shutting down" : "Server is busy, retry later");
+            } finally {
+                exchange.close();
+            }
+            return;
+        }
+        try {
+            workers.execute(() -> runAdmitted(exchange));
+        } catch (RejectedExecutionException e) {
+            // Only after close()
+            admitted.release();
+            try {
+                sendUnavailable(exchange, "Server is shutting down");
+            } finally {
+                exchange.close();
+            }
+        }
+    }
+
+    private void runAdmitted(HttpExchange exchange) {
+        try {
+            if (closed) {
+                sendUnavailable(exchange, "Server is shutting down");
+            } else {
+                summarizeAdmitted(exchange);
+            }
+        } catch (IOException e) {
+            // The client went away; nothing left to answer
+        } finally {
+            admitted.release();
+            exchange.close();
+        }
+    }
+
+    private void summarizeAdmitted(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Allow", "POST");
+            sendText(exchange, 405, "Use POST with comma-separated numbers in the body");
+            return;
+        }
+        boolean sorted;
+        try {
+            sorted = parseSorted(exchange.getRequestURI().getRawQuery());
+        } catch (IllegalArgumentException e) {
+            sendText(exchange, 400, e.getMessage());
+            return;
+        }
+        DeferredResponse out = new DeferredResponse(exchange);
+        try {
+            summarizer.summarize(Channels.newChannel(exchange.getRequestBody()), out, sorted);
+            out.close();
+        } catch (IllegalArgumentException e) {
+            if (out.isCommitted()) {
+                // Part of the summary is already on the wire; cutting the connection is the only signal left
+                failures.increment();
+                exchange.close();
+                return;
+            }
+            sendText(exchange, 400, e.getMessage());
+        }
+    }
+
+    /**
+     * Parses the /summarize query string; "sorted" (true or false) is the only parameter.
+     *
+     * @param rawQuery the undecoded query, or null
+     * @return whether the body is declared ascending
+     * @throws IllegalArgumentException for unknown parameters, repeated parameters or bad values
+     */
+    static boolean parseSorted(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return false;
+        }
+        Boolean sorted = null;
+        for (String parameter : rawQuery.split("&", -1)) {
+            int equals = parameter.indexOf('=');
+            String name = decode(equals < 0 ? parameter : parameter.substring(0, equals));
+            String value = equals < 0 ? null : decode(parameter.substring(equals + 1));
+            if (!"sorted".equals(name)) {
+                throw new IllegalArgumentException("Unknown query parameter: '" + name + "'");
+            }
+            if (sorted != null) {
+                throw new IllegalArgumentException("Repeated query parameter: 'sorted'");
+            }
+            if ("true".equals(value)) {
+                sorted = Boolean.TRUE;
+            } else if ("false".equals(value)) {
+                sorted = Boolean.FALSE;
+            } else {
+                throw new IllegalArgumentException("sorted must be true or false: '" + value + "'");
+            }
+        }
+        return sorted;
+    }
+
+    private static String decode(String text) {
+        try {
+            return URLDecoder.decode(text, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void health(HttpExchange exchange) throws IOException {
+        try {
+            int active = workers.getActiveCount();
+            int queued = workers.getQueue().size();
+            String body = "{\"status\":\"" + (closed ? "closing" : "ok") + "\",\"requests\":" + requests.sum()
+                    + ",\"failures\":" + failures.sum()
+                    + ",\"rejected\":" + rejected.sum()
+                    + ",\"active\":" + active
+                    + ",\"queued\":" + queued
+                    + ",\"workers\":" + workerCount + "}";
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Answers 503 without reading the body; closing the exchange drains what it can or drops the connection.
+     */
+    private void sendUnavailable(HttpExchange exchange, String text) throws IOException {
+        rejected.increment();
+        failures.increment();
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.getResponseHeaders().set("Retry-After", RETRY_AFTER_SECONDS);
+        exchange.sendResponseHeaders(503, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private void sendText(HttpExchange exchange, int status, String text) throws IOException {
+        if (status >= 400) {
+            failures.increment();
+        }
+        // Drain the rest of the body so the connection can be reused
+        byte[] discard = new byte[8192];
+        while (exchange.getRequestBody().read(discard) != -1) {
+            // Discarded
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    /**
+     * Writer that sends the 200 headers (chunked) only when the first summary text is flushed, so an
+     * error found while parsing can still be answered with 400.
+     */
+    private static final class DeferredResponse extends Writer {
+
+        private final HttpExchange exchange;
+        private final StringBuilder pending = new StringBuilder();
+        private Writer body;
+
+        DeferredResponse(HttpExchange exchange) {
+            this.exchange = exchange;
+        }
+
+        boolean isCommitted() {
+            return body != null;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            if (body == null) {
+                if (pending.length() + length <= 8192) {
+                    pending.append(chars, offset, length);
+                    return;
+                }
+                commit();
+            }
+            body.write(chars, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (body != null) {
+                body.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (body == null) {
+                // Small summary: send it with a Content-Length instead of chunking
+                byte[] bytes = pending.toString().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+                exchange.sendResponseHeaders(200, bytes.length == 0 ? -1 : bytes.length);
+                if (bytes.length > 0) {
+                    exchange.getResponseBody().write(bytes);
+                }
+                return;
+            }
+            body.close();
+        }
+
+        private void commit() throws IOException {
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(200, 0);
+            OutputStream stream = exchange.getResponseBody();
+            body = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+            body.write(pending.toString());
+            pending.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package numberrangesummarizer;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Tokenizing state machine shared by IntTokenScanner and LongTokenScanner.
+ *
+ * The scanner walks the input once, character by character, and hands each digit to the subclass,
+ * which accumulates the token's value in place (the negative-accumulator technique of
+ * Integer.parseInt and Long.parseLong), so no substrings, boxed values or intermediate
+ * collections are created for valid input. Only the accumulate and overflow step and the value
+ * buffer differ between the subclasses.
+ *
+ * Input may be fed in several chunks; a token split across chunk boundaries is carried over to
+ * the next call. Token rules match the original split/trim/parse pipeline:
+ * 1. Leading and trailing whitespace (any char <= ' ') around a token is ignored
+ * 2. Blank tokens are skipped
+ * 3. Anything else that is not an optionally signed decimal number in range throws
+ *    IllegalArgumentException, with an InvalidTokenException cause telling overflow from malformed text
+ * Only ASCII digits are accepted; unlike Integer.parseInt, other Unicode digits (e.g. "\u0661\u0662")
+ * are malformed.
+ *
+ * A scanner in validation mode records invalid tokens instead of throwing: each costs three ints
+ * (the trimmed span in the input and the cause) and no exception, substring or stack trace.
+ */
+abstract class TokenScanner {
+
+    // Scanner states for the token currently being read
+    private static final int START = 0;      // before the first non-whitespace char
+    private static final int SIGN = 1;       // seen '+' or '-', no digits yet
+    private static final int DIGITS = 2;     // inside the digits
+    private static final int TRAILING = 3;   // whitespace after the digits
+    private static final int INVALID = 4;    // malformed, skipping to the next comma
+
+    int size;
+
+    private int state = START;
+    private boolean negative;
+    private boolean overflowed;
+
+    // Raw text of a token that started in an earlier chunk, kept only for error messages
+    private final StringBuilder carry = new StringBuilder();
+
+    // Validation mode (maxErrors > 0): invalid tokens are recorded as (start, end, cause) triples, not thrown
+    private int maxErrors;
+    private int tokenBegin;
+    private int[] errorSpans;
+    private int errorCount;
+    private int stoppedAt = -1;
+
+    /**
+     * Starts a token's value: sets the most negative value it may reach.
+     */
+    abstract void startValue(boolean negative);
+
+    /**
+     * Accumulates one more digit of the current token, calling overflow() when the value leaves the range.
+     */
+    abstract void appendDigit(int digit);
+
+    /**
+     * Appends the completed token's value to the buffer.
+     */
+    abstract void addValue(boolean negative);
+
+    /**
+     * Feeds a complete input in validation mode. Valid tokens are kept as usual; each invalid one
+     * is recorded as a span, and scanning stops at the comma after the maxErrors-th invalid token.
+     *
+     * @param input comma-separated numbers, may be null
+     * @param maxErrors invalid tokens to record before stopping, at least 1
+     */
+    void feedValidating(CharSequence input, int maxErrors) {
+        this.maxErrors = maxErrors;
+        this.errorSpans = new int[3 * 8];
+        if (input == null) {
+            return;
+        }
+        feed(input, 0, input.length());
+        if (stoppedAt < 0) {
+            if (isInvalid()) {
+                recordError(input, input.length());
+            } else {
+                endToken();
+            }
+        }
+    }
+
+    /**
+     * Feeds a chunk of input. A token left open at the end of the chunk continues in the next call.
+     *
+     * @param input the chunk source
+     * @param from index of the first char to read
+     * @param to index after the last char to read
+     * @throws IllegalArgumentException if a token completed in this chunk is invalid
+     */
+    void feed(CharSequence input, int from, int to) {
+        int tokenStart = from;
+        for (int i = from; i < to; i++) {
+            char c = input.charAt(i);
+            if (c == ',') {
+                if (isInvalid()) {
+                    if (maxErrors > 0) {
+                        recordError(input, i);
+                        if (errorCount == maxErrors) {
+                            stoppedAt = i;
+                            return;
+                        }
+                    } else {
+                        carry.append(input, tokenStart, i);
+                    }
+                }
+                endToken();
+                tokenStart = i + 1;
+            } else if (state == START) {
+                if (c > ' ') {
+                    tokenStart = i;
+                    tokenBegin = i;
+                    begin(c);
+                }
+            } else {
+                advance(c);
+            }
+        }
+        if (state != START && maxErrors == 0) {
+            carry.append(input, tokenStart, to);
+        }
+    }
+
+    /**
+     * Feeds a chunk of ASCII (or UTF-8) bytes from position to limit without decoding them to chars.
+     * The buffer's position is left unchanged. Any non-ASCII byte makes its token invalid.
+     *
+     * @param input the chunk source
+     * @throws IllegalArgumentException if a token completed in this chunk is invalid
+     */
+    void feed(ByteBuffer input) {
+        int from = input.position();
+        int to = input.limit();
+        int tokenStart = from;
+        for (int i = from; i < to; i++) {
+            // Bytes >= 0x80 map to chars above ' ' that are not digits, so they are rejected as usual
+            char c = (char) (input.get(i) & 0xFF);
+            if (c == ',') {
+                if (isInvalid()) {
+                    appendBytes(input, tokenStart, i);
+                }
+                endToken();
+                tokenStart = i + 1;
+            } else if (state == START) {
+                if (c > ' ') {
+                    tokenStart = i;
+                    begin(c);
+                }
+            } else {
+                advance(c);
+            }
+        }
+        if (state != START) {
+            appendBytes(input, tokenStart, to);
+        }
+    }
+
+    /**
+     * Completes the last token once all input has been fed.
+     *
+     * @throws IllegalArgumentException if the last token is invalid
+     */
+    void finish() {
+        endToken();
+    }
+
+    /**
+     * @return the number of values parsed so far
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Discards the parsed values while keeping the buffer and any partially read token.
+     */
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return invalid tokens recorded in validation mode
+     */
+    int errorCount() {
+        return errorCount;
+    }
+
+    /**
+     * @return the recorded errors as start, end, ErrorCause ordinal triples; only the first
+     *         3 * errorCount() entries are meaningful
+     */
+    int[] errorSpans() {
+        return errorSpans;
+    }
+
+    /**
+     * @return the index of the comma where validation stopped at its error limit, or -1 if it read everything
+     */
+    int stoppedAt() {
+        return stoppedAt;
+    }
+
+    /**
+     * Marks the token as overflowed but keeps reading it as digits, so a later non-digit still makes
+     * it malformed. The subclass then zeroes its accumulator and limit so further digits pass
+     * through appendDigit without another branch.
+     */
+    final void overflow() {
+        overflowed = true;
+    }
+
+    /**
+     * @return the initial capacity for a complete input: roughly one value per two chars is the
+     *         densest possible input ("1,2,3")
+     */
+    static int capacityFor(CharSequence input) {
+        return input == null ? 1 : Math.min(input.length() / 2 + 1, 1 << 16);
+    }
+
+    private void begin(char c) {
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            startValue(negative);
+            state = SIGN;
+        } else if (c >= '0' && c <= '9') {
+            negative = false;
+            startValue(false);
+            appendDigit(c - '0');
+            state = DIGITS;
+        } else {
+            state = INVALID;
+        }
+    }
+
+    private void advance(char c) {
+        switch (state) {
+            case SIGN:
+                if (c >= '0' && c <= '9') {
+                    appendDigit(c - '0');
+                    state = DIGITS;
+                } else {
+                    state = INVALID;
+                }
+                break;
+            case DIGITS:
+                if (c >= '0' && c <= '9') {
+                    appendDigit(c - '0');
+                } else {
+                    state = c <= ' ' ? TRAILING : INVALID;
+                }
+                break;
+            case TRAILING:
+                if (c > ' ') {
+                    state = INVALID;
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private boolean isInvalid() {
+        return state == SIGN || state == INVALID || overflowed;
+    }
+
+    /**
+     * @return why the current invalid token was rejected
+     */
+    private ErrorCause errorCause() {
+        return state == SIGN || state == INVALID ? ErrorCause.MALFORMED : ErrorCause.OVERFLOW;
+    }
+
+    /**
+     * Records the current invalid token, which ends before index end, trimmed of trailing whitespace.
+     */
+    private void recordError(CharSequence input, int end) {
+        while (end > tokenBegin && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (3 * errorCount == errorSpans.length) {
+            errorSpans = Arrays.copyOf(errorSpans, errorSpans.length * 2);
+        }
+        errorSpans[3 * errorCount] = tokenBegin;
+        errorSpans[3 * errorCount + 1] = end;
+        errorSpans[3 * errorCount + 2] = errorCause().ordinal();
+        errorCount++;
+        reset();
+    }
+
+    private void appendBytes(ByteBuffer input, int from, int to) {
+        for (int i = from; i < to; i++) {
+            carry.append((char) (input.get(i) & 0xFF));
+        }
+    }
+
+    /**
+     * Completes the current token. For an invalid token the caller has already
+     * appended the rest of its text to carry.
+     */
+    private void endToken() {
+        switch (state) {
+            case START:
+                // Blank token
+                break;
+            case DIGITS:
+            case TRAILING:
+                if (overflowed) {
+                    throw invalidToken();
+                }
+                addValue(negative);
+                break;
+            default:
+                throw invalidToken();
+        }
+        reset();
+    }
+
+    private IllegalArgumentException invalidToken() {
+        String token = carry.toString().trim();
+        ErrorCause cause = errorCause();
+        reset();
+        return InvalidTokenException.invalidNumber(token, cause);
+    }
+
+    private void reset() {
+        state = START;
+        overflowed = false;
+        carry.setLength(0);
+    }
+}
@@ -0,0 +1,115 @@
+package numberrangesummarizer;
+
+/**
+ * Outcome of NumberRangeSummarizerImpl.validate: the valid values plus every invalid token found.
+ *
+ * Errors are kept as [start, end) spans into the input, trimmed of surrounding whitespace, plus
+ * the cause the scanner found, so recording one costs three ints; the offending text and the usual
+ * error message are only built when asked for. The result keeps a reference to the input for that purpose.
+ */
+public final class ValidationResult {
+
+    private static final ErrorCause[] CAUSES = ErrorCause.values();
+
+    private final CharSequence input;
+    private final int[] values;
+    private final int[] errorSpans;
+    private final int errorCount;
+    private final int scannedLength;
+
+    ValidationResult(CharSequence input, int[] values, int[] errorSpans, int errorCount, int scannedLength) {
+        this.input = input;
+        this.values = values;
+        this.errorSpans = errorSpans;
+        this.errorCount = errorCount;
+        this.scannedLength = scannedLength;
+    }
+
+    /**
+     * @return the valid values, sorted and unique as collectInts returns them
+     */
+    public int[] values() {
+        return values.clone();
+    }
+
+    /**
+     * @return true if no invalid token was found
+     */
+    public boolean isValid() {
+        return errorCount == 0;
+    }
+
+    /**
+     * @return true if the whole input was scanned, false if the policy stopped it early
+     */
+    public boolean isComplete() {
+        return scannedLength == (input == null ? 0 : input.length());
+    }
+
+    /**
+     * @return the number of input chars scanned; with an early stop, the index of the comma after the last error
+     */
+    public int scannedLength() {
+        return scannedLength;
+    }
+
+    /**
+     * @return the number of invalid tokens recorded
+     */
+    public int errorCount() {
+        return errorCount;
+    }
+
+    /**
+     * @return the index in the input of the first char of invalid token i
+     */
+    public int errorStart(int i) {
+        checkErrorIndex(i);
+        return errorSpans[3 * i];
+    }
+
+    /**
+     * @return the index in the input after the last char of invalid token i
+     */
+    public int errorEnd(int i) {
+        checkErrorIndex(i);
+        return errorSpans[3 * i + 1];
+    }
+
+    /**
+     * @return the text of invalid token i, e.g. "abc"
+     */
+    public String errorToken(int i) {
+        return input.subSequence(errorStart(i), errorEnd(i)).toString();
+    }
+
+    /**
+     * @return whether invalid token i overflowed an int or is malformed
+     */
+    public ErrorCause errorCause(int i) {
+        checkErrorIndex(i);
+        return CAUSES[errorSpans[3 * i + 2]];
+    }
+
+    /**
+     * @return the message collect would have thrown for invalid token i
+     */
+    public String errorMessage(int i) {
+        return "Invalid number format: '" + errorToken(i) + "'";
+    }
+
+    /**
+     * @return a short description, e.g. "ValidationResult[values: 3, errors: 1, complete]"
+     */
+    @Override
+    public String toString() {
+        return "ValidationResult[values: " + values.length + ", errors: " + errorCount
+                + (isComplete() ? ", complete]" : ", stopped at " + scannedLength + "]");
+    }
+
+    private void checkErrorIndex(int i) {
+        if (i < 0 || i >= errorCount) {
+            throw new IndexOutOfBoundsException("Error: " + i + ", errors: " + errorCount);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package numberrangesummarizer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for BatchRangeSummarizer
+ */
+public class BatchRangeSummarizerTest {
+
+    private final NumberRangeSummarizer reference = new NumberRangeSummarizerImpl();
+
+    @Test
+    void testSequentialBatchMatchesSingleCalls() {
+        // Arrange
+        BatchRangeSummarizer batch = new BatchRangeSummarizer();
+        List<String> inputs = Arrays.asList("1,3,6,7,8,12,13,14,15,21,22,23,24,31", "5, 4, 3", "", null, "7,7,7", "-2,-1,0");
+        
+        // Act
+        List<String> results = batch.summarize(inputs);
+        
+        // Assert
+        assertEquals(Arrays.asList("1, 3, 6-8, 12-15, 21-24, 31", "3-5", "", "", "7", "-2-0"), results);
+    }
+
+    @Test
+    void testExecutorBatchKeepsOrder() {
+        // Arrange - 5000 random small inputs over slices of 16 items
+        Random random = new Random(13);
+        CharSequence[] inputs = new CharSequence[5000];
+        String[] expected = new String[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            StringBuilder text = new StringBuilder();
+            int count = random.nextInt(20);
+            for (int j = 0; j < count; j++) {
+                text.append(j == 0 ? "" : ",").append(random.nextInt(40) - 10);
+            }
+            inputs[i] = text;
+            expected[i] = reference.summarizeCollection(reference.collect(text.toString()));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        
+        // Act
+        String[] results;
+        try {
+            results = new BatchRangeSummarizer(executor, 16).summarize(inputs);
+        } finally {
+            executor.shutdown();
+        }
+        
+        // Assert
+        assertArrayEquals(expected, results);
+    }
+
+    @Test
+    void testVirtualThreadExecutorWorksOnAnyRuntime() throws Exception {
+        // Arrange
+        CharSequence[] inputs = new CharSequence[1000];
+        Arrays.fill(inputs, "3,2,1,9");
+        
+        // Act
+        String[] results;
+        try (AutoCloseableExecutor executor = new AutoCloseableExecutor(BatchRangeSummarizer.newVirtualThreadExecutor())) {
+            results = new BatchRangeSummarizer(executor.service, 10).summarize(inputs);
+        }
+        
+        // Assert
+        for (String result : results) {
+            assertEquals("1-3, 9", result);
+        }
+    }
+
+    @Test
+    void testFirstInvalidItemIsReported() {
+        // Arrange
+        CharSequence[] inputs = new CharSequence[100];
+        Arrays.fill(inputs, "1,2");
+        inputs[40] = "1,x";
+        inputs[90] = "1,y";
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        
+        // Act & Assert
+        try {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> new BatchRangeSummarizer(executor, 8).summarize(inputs));
+            assertEquals("Invalid number format: 'x'", e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testInvalidSliceSize() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new BatchRangeSummarizer(null, 0));
+    }
+
+    /**
+     * ExecutorService only became AutoCloseable in Java 19.
+     */
+    private static final class AutoCloseableExecutor implements AutoCloseable {
+
+        final ExecutorService service;
+
+        AutoCloseableExecutor(ExecutorService service) {
+            this.service = service;
+        }
+
+        @Override
+        public void close() {
+            service.shutdown();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package numberrangesummarizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for CachingRangeSummarizer
+ */
+public class CachingRangeSummarizerTest {
+
+    @Test
+    void testRepeatedInputIsServedFromCache() {
+        // Arrange
+        CountingSummarizer delegate = new CountingSummarizer();
+        CachingRangeSummarizer cached = new CachingRangeSummarizer(delegate, 16, 1 << 20);
+        String input = "1,3,6,7,8,12,13,14,15,21,22,23,24,31";
+        
+        // Act
+        String first = cached.summarizeCollection(cached.collect(input));
+        String second = cached.summarizeCollection(cached.collect(new String(input.toCharArray())));
+        
+        // Assert
+        assertEquals("1, 3, 6-8, 12-15, 21-24, 31", first);
+        assertEquals(first, second);
+        assertEquals(1, delegate.collects.get());
+        assertEquals(1, delegate.summaries.get());
+        assertEquals(2, cached.hitCount());
+        assertEquals(2, cached.missCount());
+    }
+
+    @Test
+    void testCachedResultsCannotBeCorrupted() {
+        // Arrange
+        CachingRangeSummarizer cached = new CachingRangeSummarizer();
+        Collection<Integer> collected = cached.collect("3,2,1");
+        int[] values = cached.collectInts("3,2,1");
+        
+        // Act
+        values[0] = 99;
+        
+        // Assert
+        assertThrows(UnsupportedOperationException.class, () -> collected.add(4));
+        assertArrayEquals(new int[]{1, 2, 3}, cached.collectInts("3,2,1"));
+    }
+
+    @Test
+    void testSummaryKeyIsCopiedFromCallerArray() {
+        // Arrange
+        CachingRangeSummarizer cached = new CachingRangeSummarizer();
+        int[] values = {1, 2, 3};
+        cached.summarize(values, 0, 3);
+        
+        // Act
+        values[2] = 7;
+        
+        // Assert
+        assertEquals("1-2, 7", cached.summarize(values, 0, 3));
+        assertEquals("1-3", cached.summarize(new int[]{1, 2, 3}, 0, 3));
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        // Arrange
+        CountingSummarizer delegate = new CountingSummarizer();
+        CachingRangeSummarizer cached = new CachingRangeSummarizer(delegate, 2, 1 << 20);
+        cached.collect("1");
+        cached.collect("2");
+        cached.collect("1");
+        
+        // Act - "2" is the least recently used
+        cached.collect("3");
+        cached.collect("1");
+        cached.collect("2");
+        
+        // Assert
+        assertEquals(4, delegate.collects.get());
+        assertEquals(2, cached.evictionCount());
+        assertEquals(2, cached.size());
+    }
+
+    @Test
+    void testWeightBound() {
+        // Arrange - each entry weighs at least its 1000 chars of key
+        CachingRangeSummarizer cached = new CachingRangeSummarizer(new NumberRangeSummarizerImpl(), 1000, 5000);
+        
+        // Act
+        for (int i = 0; i < 20; i++) {
+            char[] padding = new char[999];
+            Arrays.fill(padding, ' ');
+            cached.collect(i + new String(padding));
+        }
+        
+        // Assert
+        assertTrue(cached.weight() <= 5000);
+        assertTrue(cached.size() < 20);
+        assertTrue(cached.evictionCount() > 0);
+    }
+
+    @Test
+    void testInvalidInputIsNotCached() {
+        // Arrange
+        CachingRangeSummarizer cached = new CachingRangeSummarizer();
+        
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> cached.collect("1,x"));
+        assertEquals(0, cached.size());
+    }
+
+    @Test
+    void testConcurrentAccess() throws Exception {
+        // Arrange
+        CachingRangeSummarizer cached = new CachingRangeSummarizer(new NumberRangeSummarizerImpl(), 8, 1 << 20);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        
+        // Act
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    int n = i % 16;
+                    String summary = cached.summarizeCollection(cached.collect("0," + n + "," + (n + 1)));
+                    assertEquals(n == 0 ? "0-1" : n == 1 ? "0-2" : "0, " + n + "-" + (n + 1), summary);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        
+        // Assert
+        assertEquals(8 * 2000 * 2, cached.hitCount() + cached.missCount());
+        assertTrue(cached.size() <= 8);
+    }
+
+    private static final class CountingSummarizer implements NumberRangeSummarizer {
+
+        final NumberRangeSummarizerImpl impl = new NumberRangeSummarizerImpl();
+        final AtomicInteger collects = new AtomicInteger();
+        final AtomicInteger summaries = new AtomicInteger();
+
+        @Override
+        public Collection<Integer> collect(String input) {
+            collects.incrementAndGet();
+            return impl.collect(input);
+        }
+
+        @Override
+        public int[] collectInts(CharSequence input) {
+            collects.incrementAndGet();
+            return impl.collectInts(input);
+        }
+
+        @Override
+        public String summarizeCollection(Collection<Integer> input) {
+            summaries.incrementAndGet();
+            return impl.summarizeCollection(input);
+        }
+
+        @Override
+        public String summarize(int[] values, int from, int to) {
+            summaries.incrementAndGet();
+            return impl.summarize(values, from, to);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package numberrangesummarizer;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the gap-tolerant summaries of NumberRangeSummarizerImpl
+ */
+public class CoarseSummaryTest {
+
+    private final NumberRangeSummarizerImpl summarizer = new NumberRangeSummarizerImpl();
+
+    @Test
+    void testMaxGapMergesNearbyRangesAndCountsOverCoverage() {
+        // Arrange
+        int[] values = {31, 1, 3, 6, 7, 8, 12, 13, 14, 15, 21, 22, 23, 24, 1};
+        
+        // Act
+        CoarseSummary summary = summarizer.summarizeWithMaxGap(values, 0, values.length, 2);
+        
+        // Assert - fills 2 and 4-5; 9-11 is three values wide and stays a gap
+        assertEquals("1-8, 12-15, 21-24, 31", summary.text());
+        assertEquals(3, summary.overCoverage());
+        assertEquals(6, summary.exactRangeCount());
+        assertEquals(4, summary.ranges().rangeCount());
+    }
+
+    @Test
+    void testMaxGapZeroMatchesExactSummary() {
+        // Arrange
+        String input = "1,3,6,7,8,12,13,14,15,21,22,23,24,31";
+        
+        // Act
+        CoarseSummary summary = summarizer.summarizeWithMaxGap(summarizer.collect(input), 0);
+        
+        // Assert
+        assertEquals(summarizer.summarizeCollection(summarizer.collect(input)), summary.text());
+        assertEquals(0, summary.overCoverage());
+    }
+
+    @Test
+    void testAtMostRangesBoundsOutputOnNoisyInput() {
+        // Arrange - 5000 sparse values
+        Random random = new Random(23);
+        int[] values = new int[5000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(1_000_000);
+        }
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        long unique = Arrays.stream(sorted).distinct().count();
+        
+        // Act
+        CoarseSummary summary = summarizer.summarizeToAtMost(values, 0, values.length, 50);
+        
+        // Assert
+        assertEquals(50, summary.ranges().rangeCount());
+        assertEquals(summary.ranges().cardinality() - unique, summary.overCoverage());
+        for (int value : values) {
+            assertTrue(summary.ranges().contains(value));
+        }
+    }
+
+    @Test
+    void testAtMostRangesOnCollectionIgnoresDuplicates() {
+        // Act
+        CoarseSummary summary = summarizer.summarizeToAtMost(Arrays.asList(5, 1, 1, 2, 9, 10), 2);
+        
+        // Assert
+        assertEquals("1-5, 9-10", summary.toString());
+        assertEquals(2, summary.overCoverage());
+        assertEquals("", summarizer.summarizeToAtMost((Collection<Integer>) null, 3).text());
+    }
+}
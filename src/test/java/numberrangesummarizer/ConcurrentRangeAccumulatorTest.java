@@ -0,0 +1,142 @@
+package numberrangesummarizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for ConcurrentRangeAccumulator
+ */
+public class ConcurrentRangeAccumulatorTest {
+
+    @Test
+    void testSingleThreadMatchesSummarizer() {
+        // Arrange
+        ConcurrentRangeAccumulator accumulator = new ConcurrentRangeAccumulator(4);
+        NumberRangeSummarizerImpl summarizer = new NumberRangeSummarizerImpl();
+        int[] values = {31, 1, 15, 3, 22, 6, 24, 7, 12, 8, 21, 13, 14, 23, 3, 31};
+        
+        // Act
+        for (int value : values) {
+            accumulator.add(value);
+        }
+        
+        // Assert
+        assertEquals(summarizer.summarize(summarizer.collectInts("1,3,6,7,8,12,13,14,15,21,22,23,24,31"), 0, 14),
+                accumulator.summarize());
+    }
+
+    @Test
+    void testManyThreadsFeedOneSummary() throws Exception {
+        // Arrange - 8 threads each add an interleaved slice of 0..79999, plus some pre-summarized ranges
+        int threads = 8;
+        int count = 80_000;
+        ConcurrentRangeAccumulator accumulator = new ConcurrentRangeAccumulator(256);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        
+        // Act
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int v = offset; v < count; v += threads) {
+                    accumulator.add(v);
+                }
+                accumulator.addRange(1_000_000 + offset * 10, 1_000_000 + offset * 10 + 9);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        int stripes = accumulator.stripeCount();
+        executor.shutdown();
+        
+        // Assert
+        assertEquals("0-79999, 1000000-1000079", accumulator.summarize());
+        assertEquals(threads, stripes);
+    }
+
+    @Test
+    void testSnapshotsDuringWritesAreConsistent() throws Exception {
+        // Arrange - a writer adds 0, 1, 2, ... in order, so every snapshot must be a single prefix range
+        ConcurrentRangeAccumulator accumulator = new ConcurrentRangeAccumulator(64);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> writer = executor.submit(() -> {
+            for (int v = 0; v < 200_000; v++) {
+                accumulator.add(v);
+            }
+        });
+        
+        // Act & Assert
+        while (!writer.isDone()) {
+            IntRangeSet snapshot = accumulator.snapshot();
+            assertTrue(snapshot.rangeCount() <= 1, snapshot::toString);
+            assertTrue(snapshot.isEmpty() || snapshot.start(0) == 0);
+        }
+        writer.get();
+        executor.shutdown();
+        assertEquals("0-199999", accumulator.summarize());
+    }
+
+    @Test
+    void testManySmallFoldsMatchSummarizer() {
+        // Arrange - a one-value buffer folds on every add, with scattered values and duplicates
+        ConcurrentRangeAccumulator accumulator = new ConcurrentRangeAccumulator(1);
+        NumberRangeSummarizerImpl summarizer = new NumberRangeSummarizerImpl();
+        int[] values = new Random(5).ints(20_000, -30_000, 30_000).toArray();
+        int[] distinct = Arrays.stream(values).distinct().toArray();
+        
+        // Act
+        for (int value : values) {
+            accumulator.add(value);
+        }
+        accumulator.addAll(IntRangeSet.ofRange(100_000, 100_010));
+        
+        // Assert
+        assertEquals(summarizer.summarize(distinct, 0, distinct.length) + ", 100000-100010", accumulator.summarize());
+    }
+
+    @Test
+    void testStripesOfEndedThreadsAreRetired() throws Exception {
+        // Arrange
+        ConcurrentRangeAccumulator accumulator = new ConcurrentRangeAccumulator(16);
+        
+        // Act - 50 short-lived threads, one after another
+        for (int t = 0; t < 50; t++) {
+            int offset = t * 3;
+            Thread thread = new Thread(() -> {
+                accumulator.add(offset);
+                accumulator.add(offset + 1);
+            });
+            thread.start();
+            thread.join();
+        }
+        String summary = accumulator.summarize();
+        
+        // Assert
+        assertEquals(0, accumulator.stripeCount());
+        assertEquals(50, IntRangeSet.parse(summary).rangeCount());
+        assertTrue(summary.startsWith("0-1, 3-4, 6-7"), summary);
+        assertTrue(summary.endsWith("147-148"), summary);
+    }
+
+    @Test
+    void testEmptyAccumulator() {
+        // Act & Assert
+        assertEquals("", new ConcurrentRangeAccumulator().summarize());
+    }
+}
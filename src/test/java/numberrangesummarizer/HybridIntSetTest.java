@@ -0,0 +1,139 @@
+package numberrangesummarizer;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for HybridIntSet and HybridRangeSummarizer
+ */
+public class HybridIntSetTest {
+
+    @Test
+    void testContainersAdaptToContents() {
+        // Arrange
+        HybridIntSet set = new HybridIntSet();
+        
+        // Act - a sparse chunk, a dense random chunk and a consecutive chunk
+        for (int i = 0; i < 100; i++) {
+            set.add(i * 600);
+        }
+        Random random = new Random(16);
+        for (int i = 0; i < 30000; i++) {
+            set.add((1 << 16) + random.nextInt(1 << 16));
+        }
+        set.addRange(2 << 16, (2 << 16) + 50000);
+        set.optimize();
+        
+        // Assert
+        assertEquals("array", set.containerType(0));
+        assertEquals("bitmap", set.containerType(1 << 16));
+        assertEquals("run", set.containerType(2 << 16));
+        assertNull(set.containerType(3 << 16));
+    }
+
+    @Test
+    void testMatchesTreeSetOnMixedInput() {
+        // Arrange
+        HybridIntSet set = new HybridIntSet();
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(42);
+        
+        // Act
+        for (int i = 0; i < 50000; i++) {
+            int value = random.nextInt(3) == 0 ? random.nextInt() : random.nextInt(200000) - 100000;
+            set.add(value);
+            expected.add(value);
+        }
+        for (int i = 0; i < 20; i++) {
+            int start = random.nextInt(400000) - 200000;
+            int end = start + random.nextInt(70000);
+            set.addRange(start, end);
+            for (int v = start; v <= end; v++) {
+                expected.add(v);
+            }
+        }
+        
+        // Assert - before and after optimizing
+        for (int round = 0; round < 2; round++) {
+            assertEquals(expected.size(), set.cardinality());
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), set.toRangeSet().toArray());
+            int[] iterated = new int[expected.size()];
+            int k = 0;
+            for (java.util.PrimitiveIterator.OfInt it = set.iterator(); it.hasNext(); ) {
+                iterated[k++] = it.nextInt();
+            }
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), iterated);
+            set.optimize();
+        }
+    }
+
+    @Test
+    void testExtremeValuesAndChunkBoundaries() {
+        // Arrange
+        HybridIntSet set = new HybridIntSet();
+        
+        // Act
+        set.add(Integer.MIN_VALUE);
+        set.add(Integer.MAX_VALUE);
+        set.addRange(65530, 65545);
+        set.add(-1);
+        set.add(0);
+        
+        // Assert
+        assertEquals("-2147483648, -1-0, 65530-65545, 2147483647", set.toString());
+        assertTrue(set.contains(65536));
+        assertFalse(set.contains(65546));
+    }
+
+    @Test
+    void testRunContainerMerging() {
+        // Arrange
+        HybridIntSet set = new HybridIntSet();
+        set.addRange(10, 20);
+        set.addRange(30, 40);
+        set.optimize();
+        
+        // Act
+        set.add(25);
+        set.addRange(21, 29);
+        set.add(5);
+        
+        // Assert
+        assertEquals("run", set.containerType(0));
+        assertEquals("5, 10-40", set.toString());
+        assertEquals(32, set.cardinality());
+    }
+
+    @Test
+    void testSummarizerMatchesImpl() {
+        // Arrange
+        NumberRangeSummarizer hybrid = new HybridRangeSummarizer();
+        NumberRangeSummarizer impl = new NumberRangeSummarizerImpl();
+        String input = "1,3,6,7,8,12,13,14,15,21,22,23,24,31, -5, -4, 70000, 3";
+        
+        // Act & Assert
+        assertEquals(impl.summarizeCollection(impl.collect(input)), hybrid.summarizeCollection(hybrid.collect(input)));
+        assertEquals("-5--4, 1, 3, 6-8, 12-15, 21-24, 31, 70000", hybrid.summarizeCollection(hybrid.collect(input)));
+        assertEquals(impl.summarizeCollection(java.util.Arrays.asList(1, 1, 2, 2, 3, 3, 5, 5)),
+                hybrid.summarizeCollection(java.util.Arrays.asList(1, 1, 2, 2, 3, 3, 5, 5)));
+        assertEquals("", hybrid.summarizeCollection(hybrid.collect(null)));
+    }
+
+    @Test
+    void testCollectedViewIsReadOnly() {
+        // Arrange
+        NumberRangeSummarizer hybrid = new HybridRangeSummarizer();
+        
+        // Act & Assert
+        assertThrows(UnsupportedOperationException.class, () -> hybrid.collect("1,2").add(3));
+        assertThrows(IllegalArgumentException.class, () -> hybrid.collect("1,x"));
+    }
+}
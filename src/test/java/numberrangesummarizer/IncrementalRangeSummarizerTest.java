@@ -0,0 +1,129 @@
+package numberrangesummarizer;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for IncrementalRangeSummarizer
+ */
+public class IncrementalRangeSummarizerTest {
+
+    private IncrementalRangeSummarizer incremental;
+
+    @BeforeEach
+    void setUp() {
+        incremental = new IncrementalRangeSummarizer();
+    }
+
+    @Test
+    void testSampleFromBriefAddedOutOfOrder() {
+        // Arrange
+        int[] values = {31, 1, 15, 3, 22, 6, 24, 7, 12, 8, 21, 13, 14, 23};
+        
+        // Act
+        for (int value : values) {
+            incremental.add(value);
+        }
+        
+        // Assert
+        assertEquals("1, 3, 6-8, 12-15, 21-24, 31", incremental.summary());
+        assertEquals(6, incremental.rangeCount());
+        assertEquals(14, incremental.cardinality());
+    }
+
+    @Test
+    void testMatchesBatchSummarizerAfterEveryAdd() {
+        // Arrange
+        NumberRangeSummarizerImpl batch = new NumberRangeSummarizerImpl();
+        Random random = new Random(9);
+        int[] values = random.ints(400, -100, 100).toArray();
+        
+        for (int i = 0; i < values.length; i++) {
+            // Act
+            incremental.add(values[i]);
+            
+            // Assert
+            String input = Arrays.stream(values, 0, i + 1).mapToObj(String::valueOf).collect(Collectors.joining(","));
+            assertEquals(batch.summarizeCollection(batch.collect(input)), incremental.summary());
+        }
+    }
+
+    @Test
+    void testAddReportsDuplicates() {
+        // Act & Assert
+        assertTrue(incremental.add(5));
+        assertFalse(incremental.add(5));
+        assertEquals(1, incremental.cardinality());
+    }
+
+    @Test
+    void testAddRangeBridgesNeighbours() {
+        // Arrange
+        incremental.addRange(1, 3);
+        incremental.addRange(10, 12);
+        incremental.add(20);
+        
+        // Act
+        long added = incremental.addRange(4, 9);
+        
+        // Assert
+        assertEquals(6, added);
+        assertEquals("1-12, 20", incremental.summary());
+        assertEquals(0, incremental.addRange(2, 11));
+        assertThrows(IllegalArgumentException.class, () -> incremental.addRange(3, 2));
+    }
+
+    @Test
+    void testIntegerBoundsDoNotWrap() {
+        // Act
+        incremental.add(Integer.MAX_VALUE);
+        incremental.add(Integer.MIN_VALUE);
+        incremental.add(Integer.MAX_VALUE - 1);
+        
+        // Assert
+        assertEquals("-2147483648, 2147483646-2147483647", incremental.summary());
+        assertTrue(incremental.contains(Integer.MIN_VALUE));
+        assertFalse(incremental.contains(0));
+    }
+
+    @Test
+    void testSummaryAndSnapshotAreCachedUntilChange() {
+        // Arrange
+        incremental.addAll(new int[] {1, 2, 3}, 0, 3);
+        
+        // Act
+        String summary = incremental.summary();
+        IntRangeSet snapshot = incremental.snapshot();
+        
+        // Assert
+        assertSame(summary, incremental.summary());
+        assertSame(snapshot, incremental.snapshot());
+        incremental.add(3);
+        assertSame(summary, incremental.summary(), "Adding a present value changes nothing");
+        incremental.add(7);
+        assertEquals("1-3, 7", incremental.summary());
+        assertEquals("1-3", snapshot.toString(), "Snapshots are immutable");
+    }
+
+    @Test
+    void testClear() {
+        // Arrange
+        incremental.add(1);
+        
+        // Act
+        incremental.clear();
+        
+        // Assert
+        assertTrue(incremental.isEmpty());
+        assertEquals("", incremental.summary());
+    }
+}
@@ -0,0 +1,139 @@
+package numberrangesummarizer;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the adaptive IntOrdering stage
+ */
+public class IntOrderingTest {
+
+    private static final OrderingStrategy[] CONCRETE = {
+        OrderingStrategy.COMPARISON, OrderingStrategy.COUNTING, OrderingStrategy.RADIX
+    };
+
+    @Test
+    void testAutoSkipsAlreadyOrderedInput() {
+        // Arrange
+        int[] values = {-5, -2, 0, 3, 3, 9};
+        
+        // Act & Assert
+        assertEquals(OrderingStrategy.NONE, IntOrdering.resolve(values, 0, values.length, true, OrderingStrategy.AUTO));
+        assertEquals(OrderingStrategy.NONE, IntOrdering.resolve(values, 0, values.length, false, OrderingStrategy.AUTO));
+    }
+
+    @Test
+    void testAutoPicksComparisonForSmallInput() {
+        // Arrange
+        int[] values = {3, 1, 2};
+        
+        // Act & Assert
+        assertEquals(OrderingStrategy.COMPARISON, IntOrdering.resolve(values, 0, values.length, true, OrderingStrategy.AUTO));
+    }
+
+    @Test
+    void testAutoPicksCountingForDenseWindow() {
+        // Arrange - a shuffled block of 10,000 consecutive ids
+        int[] values = shuffled(1_000_000, 10_000, new Random(1));
+        
+        // Act & Assert
+        assertEquals(OrderingStrategy.COUNTING, IntOrdering.resolve(values, 0, values.length, true, OrderingStrategy.AUTO));
+        assertEquals(OrderingStrategy.COUNTING, IntOrdering.resolve(values, 0, values.length, false, OrderingStrategy.AUTO));
+    }
+
+    @Test
+    void testAutoPicksRadixForLargeSparseInput() {
+        // Arrange
+        int[] values = new Random(2).ints(10_000).toArray();
+        
+        // Act & Assert
+        assertEquals(OrderingStrategy.RADIX, IntOrdering.resolve(values, 0, values.length, true, OrderingStrategy.AUTO));
+    }
+
+    @Test
+    void testForcedCountingFallsBackToRadixForHugeWindow() {
+        // Arrange
+        int[] values = {Integer.MAX_VALUE, Integer.MIN_VALUE};
+        
+        // Act & Assert
+        assertEquals(OrderingStrategy.RADIX, IntOrdering.resolve(values, 0, values.length, true, OrderingStrategy.COUNTING));
+    }
+
+    @Test
+    void testForcedCountingFallsBackToRadixForSparseWindow() {
+        // Arrange
+        int[] values = {1 << 26, 5, 0, 5};
+
+        // Act
+        OrderingStrategy resolved = IntOrdering.resolve(values, 0, values.length, false, OrderingStrategy.COUNTING);
+        int end = IntOrdering.order(values, 0, values.length, true, OrderingStrategy.COUNTING);
+
+        // Assert
+        assertEquals(OrderingStrategy.RADIX, resolved);
+        assertArrayEquals(new int[]{0, 5, 1 << 26}, Arrays.copyOf(values, end));
+    }
+
+    @Test
+    void testEveryStrategySortsAndDedupesLikeArraysSort() {
+        Random random = new Random(3);
+        int[][] inputs = {
+            random.ints(5_000, -50, 50).toArray(),
+            random.ints(5_000).toArray(),
+            shuffled(-2_500, 5_000, random),
+            {Integer.MIN_VALUE, Integer.MAX_VALUE, 0, -1, Integer.MIN_VALUE}
+        };
+        
+        for (int[] input : inputs) {
+            int[] expectedSorted = input.clone();
+            Arrays.sort(expectedSorted);
+            int[] expectedDistinct = Arrays.stream(expectedSorted).distinct().toArray();
+            
+            for (OrderingStrategy requested : CONCRETE) {
+                // Act
+                int[] sorted = input.clone();
+                OrderingStrategy strategy = IntOrdering.resolve(sorted, 0, sorted.length, false, requested);
+                int sortedEnd = IntOrdering.order(sorted, 0, sorted.length, false, strategy);
+                
+                int[] distinct = input.clone();
+                strategy = IntOrdering.resolve(distinct, 0, distinct.length, true, requested);
+                int distinctEnd = IntOrdering.order(distinct, 0, distinct.length, true, strategy);
+                
+                // Assert
+                assertArrayEquals(expectedSorted, Arrays.copyOf(sorted, sortedEnd), requested.name());
+                assertArrayEquals(expectedDistinct, Arrays.copyOf(distinct, distinctEnd), requested.name());
+            }
+        }
+    }
+
+    @Test
+    void testOrderingRespectsSliceBounds() {
+        // Arrange
+        int[] values = {100, 3, 1, 2, 1, -100};
+        
+        // Act
+        int end = IntOrdering.order(values, 1, 5, true, OrderingStrategy.RADIX);
+        
+        // Assert
+        assertEquals(4, end);
+        assertArrayEquals(new int[] {100, 1, 2, 3}, Arrays.copyOf(values, end));
+        assertEquals(-100, values[5]);
+    }
+
+    private static int[] shuffled(int first, int count, Random random) {
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = first + i;
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,203 @@
+package numberrangesummarizer;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for IntRangeSet
+ */
+public class IntRangeSetTest {
+
+    @Test
+    void testFormatsLikeSummarizer() {
+        // Arrange
+        IntRangeSet set = IntRangeSet.of(31, 1, 15, 3, 22, 6, 24, 7, 12, 8, 21, 13, 14, 23, 3);
+        
+        // Act & Assert
+        assertEquals("1, 3, 6-8, 12-15, 21-24, 31", set.toString());
+        assertEquals(6, set.rangeCount());
+        assertEquals(14, set.cardinality());
+    }
+
+    @Test
+    void testContainsUsesRanges() {
+        // Arrange
+        IntRangeSet set = IntRangeSet.of(-3, -2, -1, 1, 2, 10);
+        
+        // Act & Assert
+        assertTrue(set.contains(-2));
+        assertTrue(set.contains(10));
+        assertFalse(set.contains(0));
+        assertFalse(set.contains(Integer.MIN_VALUE));
+        assertEquals(1, set.rangeIndexOf(2));
+        assertEquals(-3, set.rangeIndexOf(5));
+    }
+
+    @Test
+    void testHugeRangeIsCompact() {
+        // Arrange
+        IntRangeSet set = IntRangeSet.ofRange(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        
+        // Act & Assert
+        assertEquals(1L << 32, set.cardinality());
+        assertEquals(1, set.rangeCount());
+        assertTrue(set.contains(0));
+        assertEquals("-2147483648-2147483647", set.toString());
+    }
+
+    @Test
+    void testIterationAndStream() {
+        // Arrange
+        IntRangeSet set = IntRangeSet.of(Integer.MAX_VALUE, Integer.MAX_VALUE - 1, 5, -1);
+        
+        // Act
+        PrimitiveIterator.OfInt iterator = set.iterator();
+        int[] iterated = new int[4];
+        for (int i = 0; i < 4; i++) {
+            iterated[i] = iterator.nextInt();
+        }
+        
+        // Assert
+        int[] expected = {-1, 5, Integer.MAX_VALUE - 1, Integer.MAX_VALUE};
+        assertArrayEquals(expected, iterated);
+        assertFalse(iterator.hasNext());
+        assertArrayEquals(expected, set.stream().toArray());
+        assertArrayEquals(expected, set.toArray());
+    }
+
+    @Test
+    void testSetOperationsMatchTreeSet() {
+        Random random = new Random(5);
+        for (int round = 0; round < 50; round++) {
+            // Arrange
+            int[] a = random.ints(random.nextInt(60), -40, 40).toArray();
+            int[] b = random.ints(random.nextInt(60), -40, 40).toArray();
+            IntRangeSet setA = IntRangeSet.of(a);
+            IntRangeSet setB = IntRangeSet.of(b);
+            
+            TreeSet<Integer> union = boxed(a);
+            union.addAll(boxed(b));
+            TreeSet<Integer> intersection = boxed(a);
+            intersection.retainAll(boxed(b));
+            TreeSet<Integer> difference = boxed(a);
+            difference.removeAll(boxed(b));
+            
+            // Act & Assert
+            assertArrayEquals(unboxed(union), setA.union(setB).toArray());
+            assertArrayEquals(unboxed(intersection), setA.intersection(setB).toArray());
+            assertArrayEquals(unboxed(difference), setA.difference(setB).toArray());
+        }
+    }
+
+    @Test
+    void testOperationsNearIntegerBounds() {
+        // Arrange
+        IntRangeSet high = IntRangeSet.ofRange(Integer.MAX_VALUE - 2, Integer.MAX_VALUE);
+        IntRangeSet low = IntRangeSet.ofRange(Integer.MIN_VALUE, Integer.MIN_VALUE + 2);
+        
+        // Act & Assert - MAX_VALUE and MIN_VALUE are not adjacent
+        assertEquals(2, high.union(low).rangeCount());
+        assertEquals(IntRangeSet.ofRange(Integer.MAX_VALUE - 2, Integer.MAX_VALUE - 1),
+                high.difference(IntRangeSet.of(Integer.MAX_VALUE)));
+    }
+
+    @Test
+    void testBuilderRejectsOutOfOrderRanges() {
+        // Arrange
+        IntRangeSet.Builder builder = new IntRangeSet.Builder().add(5, 10);
+        
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> builder.add(1, 2));
+        assertThrows(IllegalArgumentException.class, () -> builder.add(20, 19));
+        assertEquals("5-12", builder.add(6, 12).build().toString());
+    }
+
+    @Test
+    void testFromSortedRejectsValuesOutOfOrder() {
+        // Arrange - 2 lies inside the open range 1-3, which the builder alone would accept
+        int[] values = {1, 2, 3, 2};
+        long[] longValues = {1, 2, 3, 2};
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> IntRangeSet.fromSorted(values, 0, values.length));
+        assertThrows(IllegalArgumentException.class, () -> LongRangeSet.fromSorted(longValues, 0, longValues.length));
+        assertEquals("1-3", IntRangeSet.fromSorted(values, 0, 3).toString());
+        assertEquals("1-3", IntRangeSet.fromSorted(new int[]{1, 1, 2, 3, 3}, 0, 5).toString());
+    }
+
+    @Test
+    void testSummarizerBuildsRangeSetDirectly() {
+        // Arrange
+        NumberRangeSummarizerImpl summarizer = new NumberRangeSummarizerImpl();
+        String input = "100, 1, 3, 3, 2, 2, 4, 4, 5, 99, 98, 97, 96, 95";
+        
+        // Act
+        IntRangeSet fromText = summarizer.collectRanges(input);
+        IntRangeSet fromArray = summarizer.toRangeSet(new int[] {5, 4, 3, 2, 1, 95, 96, 97, 98, 99, 100}, 0, 11);
+        
+        // Assert
+        assertEquals(summarizer.summarizeCollection(summarizer.collect(input)), fromText.toString());
+        assertEquals(fromText, fromArray);
+        assertEquals(fromText.hashCode(), fromArray.hashCode());
+    }
+
+    private static TreeSet<Integer> boxed(int[] values) {
+        TreeSet<Integer> set = new TreeSet<>();
+        Arrays.stream(values).forEach(set::add);
+        return set;
+    }
+
+    @Test
+    void testMergeGapsFillsOnlyNarrowGaps() {
+        // Arrange
+        IntRangeSet set = IntRangeSet.parse("1-3, 5, 9, 12-15, 2147483647");
+        
+        // Act
+        IntRangeSet merged = set.mergeGaps(2);
+        
+        // Assert
+        assertEquals("1-5, 9-15, 2147483647", merged.toString());
+        assertEquals(set, set.mergeGaps(0));
+        assertEquals("1-2147483647", set.mergeGaps(Integer.MAX_VALUE).toString());
+        assertThrows(IllegalArgumentException.class, () -> set.mergeGaps(-1));
+    }
+
+    @Test
+    void testMergeToAtMostClosesSmallestGapsFirst() {
+        // Arrange - gaps of 3, 1, 4 and 1 values
+        IntRangeSet set = IntRangeSet.parse("1, 5, 7, 12, 14");
+        
+        // Act & Assert
+        assertEquals("1, 5-7, 12-14", set.mergeToAtMost(3).toString());
+        assertEquals("1-7, 12-14", set.mergeToAtMost(2).toString());
+        assertEquals("1-14", set.mergeToAtMost(1).toString());
+        assertEquals(set, set.mergeToAtMost(5));
+        assertThrows(IllegalArgumentException.class, () -> set.mergeToAtMost(0));
+    }
+
+    @Test
+    void testMergeToAtMostHandlesWidestGaps() {
+        // Arrange - the gap between the extremes is 2^32 - 3 values wide
+        IntRangeSet set = IntRangeSet.of(Integer.MIN_VALUE, 0, Integer.MAX_VALUE);
+        
+        // Act
+        IntRangeSet merged = set.mergeToAtMost(2);
+        
+        // Assert
+        assertEquals("-2147483648, 0-2147483647", merged.toString());
+        assertEquals(1L << 32, set.mergeToAtMost(1).cardinality());
+    }
+
+    private static int[] unboxed(TreeSet<Integer> set) {
+        return set.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
@@ -0,0 +1,142 @@
+package numberrangesummarizer;
+
+import java.io.ByteArrayInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the pipe mode of InteractiveDemo
+ */
+public class InteractiveDemoTest {
+
+    private final NumberRangeSummarizer reference = new NumberRangeSummarizerImpl();
+
+    @Test
+    void testPipeWritesOneSummaryPerLine() throws IOException {
+        // Arrange
+        String input = "1,3,6,7,8,12,13,14,15,21,22,23,24,31\n\n5, 4, 3\r\n7,7,7";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // Act
+        long lines = InteractiveDemo.pipe(stream(input), out, new BatchRangeSummarizer());
+        
+        // Assert
+        assertEquals(4, lines);
+        assertEquals("1, 3, 6-8, 12-15, 21-24, 31\n\n3-5\n7\n", out.toString("UTF-8"));
+    }
+
+    @Test
+    void testPipeReportsInvalidLinesAndContinues() throws IOException {
+        // Arrange
+        String input = "1,2,3\n1,abc,3\n9,8\n";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // Act
+        InteractiveDemo.pipe(stream(input), out, new BatchRangeSummarizer());
+        
+        // Assert
+        assertEquals("1-3\nError: Invalid number format: 'abc'\n8-9\n", out.toString("UTF-8"));
+    }
+
+    @Test
+    void testPipeHandlesLongLinesAndNonAsciiErrors() throws IOException {
+        // Arrange - one line longer than the read buffer, then a line with a non-ASCII token
+        StringBuilder longLine = new StringBuilder();
+        for (int i = 0; i < 40_000; i++) {
+            longLine.append(i == 0 ? "" : ",").append(i * 2);
+        }
+        String input = longLine + "\n1,\u00e9t\u00e9,2\n4,5";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // Act
+        long lines = InteractiveDemo.pipe(stream(input), out, new BatchRangeSummarizer());
+        
+        // Assert
+        assertEquals(3, lines);
+        assertEquals(reference.summarizeCollection(reference.collect(longLine.toString()))
+                + "\nError: Invalid number format: '\u00e9t\u00e9'\n4-5\n", out.toString("UTF-8"));
+    }
+
+    @Test
+    void testPipeAnswersEachLineBeforeTheNextArrives() throws Exception {
+        // Arrange - a producer that writes one line and waits for its summary before writing the next
+        PipedOutputStream producer = new PipedOutputStream();
+        PipedInputStream stdin = new PipedInputStream(producer);
+        PipedInputStream replies = new PipedInputStream();
+        PipedOutputStream stdout = new PipedOutputStream(replies);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(replies, StandardCharsets.UTF_8));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        
+        try {
+            // Act
+            Future<Long> lines = executor.submit(() -> InteractiveDemo.pipe(stdin, stdout, new BatchRangeSummarizer()));
+            producer.write("3,1,2\n".getBytes(StandardCharsets.UTF_8));
+            producer.flush();
+            String first = readLine(executor, reader);
+            producer.write("7,9\n".getBytes(StandardCharsets.UTF_8));
+            producer.flush();
+            String second = readLine(executor, reader);
+            producer.close();
+            
+            // Assert
+            assertEquals("1-3", first);
+            assertEquals("7, 9", second);
+            assertEquals(2L, lines.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testParallelPipeKeepsOrderAcrossBatches() throws IOException {
+        // Arrange - enough lines for several batches, summarized on 4 threads
+        Random random = new Random(20);
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < InteractiveDemo.PIPE_BATCH_LINES * 3 + 17; i++) {
+            StringBuilder line = new StringBuilder();
+            for (int j = random.nextInt(8); j >= 0; j--) {
+                line.append(line.length() == 0 ? "" : ",").append(random.nextInt(20) - 5);
+            }
+            input.append(line).append('\n');
+            expected.append(reference.summarizeCollection(reference.collect(line.toString()))).append('\n');
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // Act
+        long lines;
+        try {
+            lines = InteractiveDemo.pipe(stream(input.toString()), out, new BatchRangeSummarizer(executor, 256));
+        } finally {
+            executor.shutdown();
+        }
+        
+        // Assert
+        assertEquals(InteractiveDemo.PIPE_BATCH_LINES * 3 + 17, lines);
+        assertEquals(expected.toString(), out.toString("UTF-8"));
+    }
+
+    private static String readLine(ExecutorService executor, BufferedReader reader) throws Exception {
+        // Bounded wait, so a pipe that holds lines back fails the test instead of hanging it. The same
+        // pool thread reads every reply, as a piped stream fails once its reading thread has died
+        return executor.submit(reader::readLine).get(5, TimeUnit.SECONDS);
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
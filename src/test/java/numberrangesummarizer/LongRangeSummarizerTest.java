@@ -0,0 +1,130 @@
+package numberrangesummarizer;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for LongRangeSummarizer and LongRangeSet
+ */
+public class LongRangeSummarizerTest {
+
+    private final LongRangeSummarizer summarizer = new LongRangeSummarizer();
+
+    @Test
+    void testSampleInputMatchesIntSummarizer() {
+        // Arrange
+        String input = "1,3,6,7,8,12,13,14,15,21,22,23,24,31";
+        
+        // Act
+        String result = summarizer.summarizeCollection(summarizer.collect(input));
+        
+        // Assert
+        assertEquals("1, 3, 6-8, 12-15, 21-24, 31", result);
+    }
+
+    @Test
+    void testValuesBeyondIntRange() {
+        // Arrange
+        String input = "4294967296, 4294967297, 2147483648, 2147483647, -2147483649";
+        
+        // Act
+        long[] values = summarizer.collectLongs(input);
+        
+        // Assert
+        assertArrayEquals(new long[]{-2147483649L, 2147483647L, 2147483648L, 4294967296L, 4294967297L}, values);
+        assertEquals("-2147483649, 2147483647-2147483648, 4294967296-4294967297",
+                summarizer.summarize(values, 0, values.length));
+    }
+
+    @Test
+    void testExtremesOfLongRange() {
+        // Arrange
+        String input = "9223372036854775807, -9223372036854775808, 9223372036854775806, -9223372036854775807";
+        
+        // Act
+        String result = summarizer.summarizeCollection(summarizer.collect(input));
+        
+        // Assert - Long.MAX_VALUE and Long.MIN_VALUE are not adjacent
+        assertEquals("-9223372036854775808--9223372036854775807, 9223372036854775806-9223372036854775807", result);
+    }
+
+    @Test
+    void testMaxFollowedByMinIsNotMerged() {
+        // Arrange - not ascending, so summarize sorts a copy; the formatter itself must not wrap either
+        long[] unsorted = {Long.MAX_VALUE, Long.MIN_VALUE};
+        
+        // Act & Assert
+        assertEquals("-9223372036854775808, 9223372036854775807", summarizer.summarize(unsorted, 0, 2));
+        assertEquals("9223372036854775807, -9223372036854775808",
+                RangeFormatter.DEFAULT.format(unsorted, 0, 2, new StringBuilder()).toString());
+        assertArrayEquals(new long[]{Long.MAX_VALUE, Long.MIN_VALUE}, unsorted);
+    }
+
+    @Test
+    void testOverflowingTokensAreRejected() {
+        // Act & Assert
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> summarizer.collect("1, 9223372036854775808"));
+        assertEquals("Invalid number format: '9223372036854775808'", e.getMessage());
+        assertEquals(ErrorCause.OVERFLOW, ((InvalidTokenException) e.getCause()).errorCause());
+        assertThrows(IllegalArgumentException.class, () -> summarizer.collect("-9223372036854775809"));
+        assertThrows(IllegalArgumentException.class, () -> summarizer.collect("1, -, 2"));
+    }
+
+    @Test
+    void testDuplicatesInCollectionKeepIntSemantics() {
+        // Arrange
+        Collection<Long> input = Arrays.asList(1L, 1L, 2L, 2L, 3L, 3L, 5L, 5L);
+        
+        // Act & Assert
+        assertEquals(new NumberRangeSummarizerImpl().summarizeCollection(Arrays.asList(1, 1, 2, 2, 3, 3, 5, 5)),
+                summarizer.summarizeCollection(input));
+    }
+
+    @Test
+    void testLongRangeSet() {
+        // Arrange
+        LongRangeSet set = summarizer.collectRanges("9223372036854775805, 9223372036854775807, 9223372036854775806, -9223372036854775808");
+        LongRangeSet full = LongRangeSet.ofRange(Long.MIN_VALUE, Long.MAX_VALUE);
+        
+        // Act & Assert
+        assertEquals(2, set.rangeCount());
+        assertEquals(4, set.cardinality());
+        assertTrue(set.contains(Long.MAX_VALUE));
+        assertFalse(set.contains(0));
+        assertEquals(Long.MAX_VALUE, full.cardinality());
+        assertEquals(set, set.intersection(full));
+        assertEquals(full, set.union(full));
+        assertEquals(LongRangeSet.ofRange(Long.MIN_VALUE, Long.MIN_VALUE + 1),
+                LongRangeSet.of(Long.MIN_VALUE + 1, Long.MIN_VALUE, Long.MIN_VALUE));
+        long sum = 0;
+        for (java.util.PrimitiveIterator.OfLong it = set.iterator(); it.hasNext(); ) {
+            sum += it.nextLong() - Long.MAX_VALUE;
+        }
+        assertEquals(-3 + Long.MIN_VALUE - Long.MAX_VALUE, sum);
+    }
+
+    @Test
+    void testLongRangeSetDifference() {
+        // Arrange
+        LongRangeSet full = LongRangeSet.ofRange(Long.MIN_VALUE, Long.MAX_VALUE);
+        LongRangeSet set = LongRangeSet.of(1, 2, 3, 5, 6, 9);
+        LongRangeSet extremes = LongRangeSet.of(Long.MIN_VALUE, Long.MAX_VALUE);
+
+        // Act & Assert
+        assertEquals(LongRangeSet.of(1, 6, 9), set.difference(LongRangeSet.of(2, 3, 5, 10)));
+        assertEquals(LongRangeSet.empty(), set.difference(full));
+        assertEquals(set, set.difference(LongRangeSet.empty()));
+        assertEquals(LongRangeSet.ofRange(Long.MIN_VALUE + 1, Long.MAX_VALUE - 1), full.difference(extremes));
+        assertEquals(LongRangeSet.of(Long.MIN_VALUE), extremes.difference(LongRangeSet.ofRange(0, Long.MAX_VALUE)));
+        assertEquals(LongRangeSet.ofRange(Long.MIN_VALUE, -1),
+                full.difference(LongRangeSet.ofRange(0, Long.MAX_VALUE)));
+    }
+}
@@ -1,17 +1,25 @@
 package numberrangesummarizer;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Comprehensive test class for NumberRangeSummarizerImpl
@@ -386,4 +394,238 @@ public class NumberRangeSummarizerImplTest {
         // Assert
         assertEquals("1-3", result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCollectWithIntegerBounds() {
+        // Arrange
+        String input = "2147483647, -2147483648, 0";
+        
+        // Act
+        Collection<Integer> collected = summarizer.collect(input);
+        
+        // Assert
+        assertEquals(Arrays.asList(Integer.MIN_VALUE, 0, Integer.MAX_VALUE), collected);
+    }
+
+    @Test
+    void testCollectWithOverflowingTokenFails() {
+        // Arrange
+        String input = "1, 2147483648, 3";
+        
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            summarizer.collect(input);
+        });
+        
+        assertTrue(exception.getMessage().contains("'2147483648'"));
+    }
+
+    @Test
+    void testCollectWithExplicitPlusSign() {
+        // Arrange
+        String input = "+1, +2, 3";
+        
+        // Act
+        Collection<Integer> collected = summarizer.collect(input);
+        
+        // Assert
+        assertEquals(Arrays.asList(1, 2, 3), collected);
+    }
+
+    @Test
+    void testCollectWithMalformedTokensNamesToken() {
+        // Act & Assert - inner whitespace, lone sign and trailing garbage are all rejected
+        assertTrue(assertThrows(IllegalArgumentException.class, () -> summarizer.collect("1, 2 3"))
+                .getMessage().contains("'2 3'"));
+        assertTrue(assertThrows(IllegalArgumentException.class, () -> summarizer.collect("1, - "))
+                .getMessage().contains("'-'"));
+        assertTrue(assertThrows(IllegalArgumentException.class, () -> summarizer.collect(" 12x "))
+                .getMessage().contains("'12x'"));
+    }
+
+    @Test
+    void testCollectedCollectionIsReadOnly() {
+        // Arrange
+        Collection<Integer> collected = summarizer.collect("1,2,3");
+        
+        // Act & Assert
+        assertThrows(UnsupportedOperationException.class, () -> collected.add(4));
+    }
+
+    @Test
+    void testCollectIntsReturnsSortedUniqueArray() {
+        // Arrange
+        String input = " 5, 3, 3, -1, 4 ";
+        
+        // Act
+        int[] collected = summarizer.collectInts(input);
+        
+        // Assert
+        assertArrayEquals(new int[] {-1, 3, 4, 5}, collected);
+    }
+
+    @Test
+    void testSummarizeIntSliceLeavesCallerArrayUntouched() {
+        // Arrange
+        int[] values = {99, 8, 7, 6, 3, 1, 99};
+        
+        // Act
+        String result = summarizer.summarize(values, 1, 6);
+        
+        // Assert
+        assertEquals("1, 3, 6-8", result);
+        assertArrayEquals(new int[] {99, 8, 7, 6, 3, 1, 99}, values);
+    }
+
+    @Test
+    void testSummarizeIntsMatchesSummarizeCollection() {
+        // Arrange
+        int[] values = {1, 1, 2, 2, 3, 3, 5, 5};
+        
+        // Act
+        String result = summarizer.summarize(values, 0, values.length);
+        
+        // Assert
+        assertEquals(summarizer.summarizeCollection(Arrays.asList(1, 1, 2, 2, 3, 3, 5, 5)), result);
+    }
+
+    @Test
+    void testSummarizeIntoAppendable() throws IOException {
+        // Arrange
+        int[] values = {1, 2, 3, 7};
+        StringBuilder builder = new StringBuilder("ids: ");
+        StringWriter writer = new StringWriter();
+        
+        // Act
+        summarizer.summarize(values, 0, values.length, builder);
+        summarizer.summarize(values, 0, values.length, (Appendable) writer);
+        
+        // Assert
+        assertEquals("ids: 1-3, 7", builder.toString());
+        assertEquals("1-3, 7", writer.toString());
+    }
+
+    @Test
+    void testSummarizeIntsWithEmptyAndInvalidSlices() {
+        // Arrange
+        int[] values = {1, 2, 3};
+        
+        // Act & Assert
+        assertEquals("", summarizer.summarize(values, 1, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> summarizer.summarize(values, 2, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> summarizer.summarize(values, 2, 1));
+    }
+
+    @Test
+    void testDefaultPrimitiveMethodsAdaptBoxedImplementation() {
+        // Arrange - an implementation that only provides the boxed methods
+        NumberRangeSummarizer boxedOnly = new NumberRangeSummarizer() {
+            @Override
+            public Collection<Integer> collect(String input) {
+                return summarizer.collect(input);
+            }
+
+            @Override
+            public String summarizeCollection(Collection<Integer> input) {
+                return summarizer.summarizeCollection(input);
+            }
+        };
+        
+        // Act & Assert
+        assertArrayEquals(new int[] {1, 2, 4}, boxedOnly.collectInts("4,2,1"));
+        assertEquals("1-2, 4", boxedOnly.summarize(new int[] {4, 2, 1}, 0, 3));
+    }
+
+    @Test
+    void testEveryOrderingStrategyGivesSameResult() {
+        // Arrange
+        String input = "15, 3, 14, 1, 13, 12, -2, 3, -1";
+        
+        for (OrderingStrategy strategy : OrderingStrategy.values()) {
+            if (strategy == OrderingStrategy.NONE) {
+                continue;
+            }
+            NumberRangeSummarizerImpl configured = new NumberRangeSummarizerImpl(strategy);
+            
+            // Act
+            Collection<Integer> collected = configured.collect(input);
+            String result = configured.summarizeCollection(Arrays.asList(3, 1, 2, 2, 7));
+            
+            // Assert
+            assertEquals("-2--1, 1, 3, 12-15", configured.summarizeCollection(collected), strategy.name());
+            assertEquals("1-2, 2-3, 7", result, strategy.name());
+        }
+    }
+
+    @Test
+    void testChooseOrderingStrategyReportsSkippedSort() {
+        // Arrange
+        int[] sorted = {1, 2, 3, 10};
+        int[] unsorted = {10, 1, 2, 3};
+        
+        // Act & Assert
+        assertEquals(OrderingStrategy.NONE, summarizer.chooseOrderingStrategy(sorted, 0, sorted.length, true));
+        assertEquals(OrderingStrategy.COMPARISON, summarizer.chooseOrderingStrategy(unsorted, 0, unsorted.length, true));
+        assertEquals(OrderingStrategy.AUTO, summarizer.getOrderingStrategy());
+    }
+
+    @Test
+    void testCollectIntsFromMappedFile(@TempDir Path tempDirectory) throws IOException {
+        // Arrange
+        Path file = Files.write(tempDirectory.resolve("numbers.txt"),
+                "5, 3, 3,\n-1, 4".getBytes(StandardCharsets.US_ASCII));
+        
+        // Act
+        int[] collected = summarizer.collectInts(file);
+        
+        // Assert
+        assertArrayEquals(new int[] {-1, 3, 4, 5}, collected);
+    }
+
+    @Test
+    void testInvalidTokenKeepsNumberFormatCause() {
+        // Act
+        IllegalArgumentException malformed = assertThrows(IllegalArgumentException.class,
+                () -> summarizer.collect("1, 12x"));
+        IllegalArgumentException overflow = assertThrows(IllegalArgumentException.class,
+                () -> summarizer.collect("1, 99999999999 ,2"));
+        IllegalArgumentException overflowThenLetter = assertThrows(IllegalArgumentException.class,
+                () -> summarizer.collect("99999999999x"));
+        
+        // Assert
+        assertEquals("Invalid number format: '12x'", malformed.getMessage());
+        assertTrue(malformed.getCause() instanceof NumberFormatException);
+        assertEquals(ErrorCause.MALFORMED, ((InvalidTokenException) malformed.getCause()).errorCause());
+        assertEquals("Invalid number format: '99999999999'", overflow.getMessage());
+        assertEquals(ErrorCause.OVERFLOW, ((InvalidTokenException) overflow.getCause()).errorCause());
+        assertEquals(ErrorCause.MALFORMED, ((InvalidTokenException) overflowThenLetter.getCause()).errorCause());
+        assertArrayEquals(new int[] {Integer.MIN_VALUE, Integer.MAX_VALUE},
+                summarizer.collectInts("-2147483648, 2147483647"));
+    }
+
+    @Test
+    void testCollectReturnsReadOnlyList() {
+        // Act - unlike the original ArrayList, the collected list is a read-only view
+        Collection<Integer> collected = summarizer.collect("3,1,2");
+        
+        // Assert
+        assertThrows(UnsupportedOperationException.class, () -> collected.add(4));
+        assertThrows(UnsupportedOperationException.class, () -> collected.remove(1));
+        assertThrows(UnsupportedOperationException.class, () -> ((List<Integer>) collected).set(0, 4));
+        assertThrows(UnsupportedOperationException.class, collected::clear);
+        Collection<Integer> copy = new ArrayList<>(collected);
+        copy.add(4);
+        assertEquals(Arrays.asList(1, 2, 3, 4), copy);
+    }
+
+    @Test
+    void testCollectAcceptsOnlyAsciiDigits() {
+        // Arrange - Integer.parseInt, used by the original implementation, accepts any Unicode digit
+        String arabicIndic = "\u0661\u0662";
+
+        // Act & Assert
+        assertEquals(12, Integer.parseInt(arabicIndic));
+        assertTrue(assertThrows(IllegalArgumentException.class, () -> summarizer.collect("1, " + arabicIndic))
+                .getMessage().contains("'" + arabicIndic + "'"));
+    }
+}
@@ -0,0 +1,205 @@
+package numberrangesummarizer;
+
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test class for OffHeapIntBuffer
+ */
+public class OffHeapIntBufferTest {
+
+    private final NumberRangeSummarizerImpl summarizer = new NumberRangeSummarizerImpl();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testSummaryMatchesHeapPath() throws IOException {
+        // Arrange
+        String input = "1,3,6,7,8,12,13,14,15,21,22,23,24,31,8,1";
+        
+        // Act
+        String summary;
+        try (OffHeapIntBuffer buffer = new OffHeapIntBuffer(4)) {
+            summarizer.collectInto(input, buffer);
+            summary = summarizer.summarize(buffer);
+            
+            // Assert
+            assertEquals(16, buffer.size());
+            assertEquals(4 * 4 * 4, buffer.sizeInBytes());
+        }
+        assertEquals("1, 3, 6-8, 12-15, 21-24, 31", summary);
+    }
+
+    @Test
+    void testInPlaceRadixSortMatchesArraysSort() {
+        // Arrange - full-range, negative-heavy, clustered and all-equal inputs
+        Random random = new Random(25);
+        int[][] inputs = {
+            random.ints(50_000).toArray(),
+            random.ints(50_000, -1_000, 10).toArray(),
+            random.ints(50_000, 1 << 20, (1 << 20) + 300).toArray(),
+            new int[5_000],
+            {Integer.MAX_VALUE, Integer.MIN_VALUE, 0, -1, 1}
+        };
+        
+        for (int[] input : inputs) {
+            IntBuffer view = IntBuffer.wrap(input.clone());
+            int[] expected = input.clone();
+            Arrays.sort(expected);
+            
+            // Act
+            OffHeapIntBuffer.radixSort(view, 0, input.length, 0, new int[4][257], new int[4][256]);
+            
+            // Assert
+            assertArrayEquals(expected, view.array());
+        }
+    }
+
+    @Test
+    void testManySegmentsMergeIntoRanges() throws IOException {
+        // Arrange - shuffled values with duplicates, spread over segments of 1000 ints
+        Random random = new Random(25);
+        int[] values = new int[25_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(30_000) - 10_000;
+        }
+        
+        // Act
+        IntRangeSet ranges;
+        try (OffHeapIntBuffer buffer = new OffHeapIntBuffer(1000)) {
+            buffer.addAll(values, 0, 12_345);
+            for (int i = 12_345; i < values.length; i++) {
+                buffer.add(values[i]);
+            }
+            assertEquals(values[20_000], buffer.get(20_000));
+            ranges = buffer.toRangeSet();
+        }
+        
+        // Assert
+        assertEquals(IntRangeSet.of(values), ranges);
+    }
+
+    @Test
+    void testMappedBufferCollectsFileAndDeletesTempFile() throws IOException {
+        // Arrange
+        Path input = directory.resolve("numbers.txt");
+        StringBuilder text = new StringBuilder();
+        for (int i = 5000; i >= 0; i--) {
+            text.append(i * 2).append(", ");
+        }
+        Files.write(input, text.toString().getBytes(StandardCharsets.US_ASCII));
+        Path spill = Files.createDirectory(directory.resolve("spill"));
+        
+        // Act
+        IntRangeSet ranges;
+        try (OffHeapIntBuffer buffer = OffHeapIntBuffer.mapped(spill, 512)) {
+            summarizer.collectInto(input, buffer);
+            ranges = buffer.toRangeSet();
+            assertEquals(1, fileCount(spill));
+        }
+        
+        // Assert
+        assertEquals(5001, ranges.rangeCount());
+        assertEquals(10_000, ranges.max());
+        assertEquals(0, fileCount(spill));
+    }
+
+    @Test
+    void testClosedBufferRejectsUse() throws IOException {
+        // Arrange
+        OffHeapIntBuffer buffer = new OffHeapIntBuffer(8);
+        buffer.add(1);
+        
+        // Act
+        buffer.close();
+        buffer.close();
+        
+        // Assert
+        assertThrows(IllegalStateException.class, () -> buffer.add(2));
+        assertThrows(IllegalStateException.class, buffer::toRangeSet);
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapIntBuffer(0));
+    }
+
+    @Test
+    void testCloseFreesDirectSegments() throws IOException {
+        // Arrange - three 4 MiB segments
+        assumeTrue(OffHeapIntBuffer.canReleaseEagerly(), "No cleaner reachable on this JVM");
+        OffHeapIntBuffer buffer = new OffHeapIntBuffer(1 << 20);
+        for (int i = 0; i < 3 << 20; i++) {
+            buffer.add(i);
+        }
+        long before = bufferPool("direct").getMemoryUsed();
+        
+        // Act
+        buffer.close();
+        
+        // Assert
+        long freed = before - bufferPool("direct").getMemoryUsed();
+        assertTrue(freed >= 3L * (4 << 20), "freed " + freed + " bytes");
+        assertThrows(IllegalStateException.class, () -> buffer.get(0));
+    }
+
+    @Test
+    void testCloseUnmapsMappedSegments() throws IOException {
+        // Arrange
+        assumeTrue(OffHeapIntBuffer.canReleaseEagerly(), "No cleaner reachable on this JVM");
+        OffHeapIntBuffer buffer = OffHeapIntBuffer.mapped(directory, 1 << 16);
+        for (int i = 0; i < 4 << 16; i++) {
+            buffer.add(i);
+        }
+        long before = bufferPool("mapped").getCount();
+        
+        // Act
+        buffer.close();
+        
+        // Assert
+        assertTrue(before - bufferPool("mapped").getCount() >= 4, "segments still mapped");
+        assertEquals(0, fileCount(directory));
+        assertThrows(IllegalStateException.class, () -> buffer.get(0));
+    }
+
+    @Test
+    void testEmptyBufferAndInvalidInput() throws IOException {
+        try (OffHeapIntBuffer buffer = new OffHeapIntBuffer(8)) {
+            // Act & Assert
+            assertTrue(buffer.toRangeSet().isEmpty());
+            summarizer.collectInto((CharSequence) null, buffer);
+            assertEquals("", summarizer.summarize(buffer));
+            assertThrows(IllegalArgumentException.class, () -> summarizer.collectInto("1,x", buffer));
+            assertFalse(buffer.size() > 1);
+        }
+    }
+
+    private static BufferPoolMXBean bufferPool(String name) {
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if (pool.getName().equals(name)) {
+                return pool;
+            }
+        }
+        throw new IllegalStateException("No buffer pool named " + name);
+    }
+
+    private static long fileCount(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
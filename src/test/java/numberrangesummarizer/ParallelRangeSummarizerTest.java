@@ -0,0 +1,133 @@
+package numberrangesummarizer;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for ParallelRangeSummarizer
+ * A tiny threshold forces many partitions so every stitching case is exercised
+ */
+public class ParallelRangeSummarizerTest {
+
+    private ForkJoinPool pool;
+    private ParallelRangeSummarizer parallel;
+    private final NumberRangeSummarizerImpl sequential = new NumberRangeSummarizerImpl();
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        parallel = new ParallelRangeSummarizer(pool, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testSampleFromBrief() {
+        // Arrange
+        String input = "1,3,6,7,8,12,13,14,15,21,22,23,24,31";
+        
+        // Act
+        String result = parallel.summarizeCollection(parallel.collect(input));
+        
+        // Assert
+        assertEquals("1, 3, 6-8, 12-15, 21-24, 31", result);
+    }
+
+    @Test
+    void testRandomInputsMatchSequentialOutput() {
+        Random random = new Random(11);
+        for (int round = 0; round < 20; round++) {
+            // Arrange - mostly dense values so ranges cross partition boundaries
+            int[] values = random.ints(500 + random.nextInt(500), -300, 300).toArray();
+            String input = Arrays.stream(values)
+                    .mapToObj(String::valueOf)
+                    .collect(Collectors.joining(round % 2 == 0 ? "," : " , "));
+            
+            // Act & Assert
+            assertArrayEquals(sequential.collectInts(input), parallel.collectInts(input));
+            assertEquals(sequential.summarize(values, 0, values.length), parallel.summarize(values, 0, values.length));
+        }
+    }
+
+    @Test
+    void testDuplicatesInSummarizeMatchSequentialQuirk() {
+        // Arrange
+        Collection<Integer> input = IntStream.range(0, 200)
+                .map(i -> i / 2)
+                .boxed()
+                .collect(Collectors.toList());
+        
+        // Act & Assert
+        assertEquals(sequential.summarizeCollection(input), parallel.summarizeCollection(input));
+    }
+
+    @Test
+    void testRangeSpanningManyPartitionsIsStitched() {
+        // Arrange
+        int[] values = IntStream.rangeClosed(-1000, 1000).toArray();
+        
+        // Act
+        String result = parallel.summarize(values, 0, values.length);
+        
+        // Assert
+        assertEquals("-1000-1000", result);
+    }
+
+    @Test
+    void testCustomFormatterMatchesSequentialOutput() {
+        // Arrange - pairs collapse, and values above the threshold take the parallel path
+        RangeFormatter formatter = RangeFormatter.builder().separator(",").rangeDelimiter("..").collapsePairs(true).build();
+        ParallelRangeSummarizer custom = new ParallelRangeSummarizer(pool, 8, formatter);
+        NumberRangeSummarizerImpl reference = new NumberRangeSummarizerImpl(OrderingStrategy.AUTO, formatter);
+        int[] values = new Random(3).ints(400, -200, 200).toArray();
+        
+        // Act & Assert
+        assertEquals(reference.summarize(values, 0, values.length), custom.summarize(values, 0, values.length));
+        assertEquals("-3..-1,1,2", custom.summarizeCollection(custom.collect("1, -1, -2, 2, -3")));
+        assertEquals(formatter, custom.getFormatter());
+    }
+
+    @Test
+    void testLeftmostInvalidTokenIsReported() {
+        // Arrange
+        String input = IntStream.range(0, 500)
+                .mapToObj(i -> i == 100 ? "first" : i == 400 ? "second" : String.valueOf(i))
+                .collect(Collectors.joining(","));
+        
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            parallel.collect(input);
+        });
+        assertEquals("Invalid number format: 'first'", exception.getMessage());
+    }
+
+    @Test
+    void testSmallAndEmptyInputs() {
+        // Act & Assert
+        assertEquals("", parallel.summarizeCollection(parallel.collect("")));
+        assertEquals("", parallel.summarizeCollection(null));
+        assertEquals("42", parallel.summarizeCollection(parallel.collect(" 42 ")));
+    }
+
+    @Test
+    void testInvalidConfigurationRejected() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new ParallelRangeSummarizer(pool, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelRangeSummarizer(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> new ParallelRangeSummarizer(pool, 10, null));
+    }
+}
@@ -0,0 +1,151 @@
+package numberrangesummarizer;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for RangeFormatter
+ */
+public class RangeFormatterTest {
+
+    private static final int[] SAMPLE = {-3, -2, -1, 1, 2, 6, 7, 8, 10};
+
+    @Test
+    void testDefaultMatchesSummarizer() {
+        // Act
+        String result = RangeFormatter.DEFAULT.format(SAMPLE, 0, SAMPLE.length, new StringBuilder()).toString();
+        
+        // Assert
+        assertEquals("-3--1, 1-2, 6-8, 10", result);
+    }
+
+    @Test
+    void testCustomDialect() {
+        // Arrange
+        RangeFormatter formatter = RangeFormatter.builder()
+                .separator(",")
+                .rangeDelimiter("..")
+                .collapsePairs(true)
+                .build();
+        
+        // Act
+        String result = formatter.format(SAMPLE, 0, SAMPLE.length, new StringBuilder()).toString();
+        
+        // Assert
+        assertEquals("-3..-1,1,2,6..8,10", result);
+    }
+
+    @Test
+    void testAllTargetsProduceSameText() throws IOException {
+        // Arrange
+        RangeFormatter formatter = RangeFormatter.builder().rangeDelimiter("..").build();
+        int[] values = {Integer.MIN_VALUE, Integer.MIN_VALUE + 1, 0, 9, 10, Integer.MAX_VALUE};
+        StringWriter writer = new StringWriter();
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+        
+        // Act
+        String built = formatter.format(values, 0, values.length, new StringBuilder()).toString();
+        formatter.format(values, 0, values.length, writer);
+        formatter.format(values, 0, values.length, buffer);
+        
+        // Assert
+        assertEquals("-2147483648..-2147483647, 0, 9..10, 2147483647", built);
+        assertEquals(built, writer.toString());
+        assertEquals(built, new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void testLongExtremesAndUnicodeSeparator() {
+        // Arrange
+        RangeFormatter formatter = RangeFormatter.builder().separator(" \u00b7 ").build();
+        long[] longs = {Long.MIN_VALUE, Long.MIN_VALUE + 1, 0, Long.MAX_VALUE};
+        int[] ints = {-5, -4, 7};
+        ByteBuffer buffer = ByteBuffer.allocate(32);
+        
+        // Act
+        String longText = formatter.format(longs, 0, longs.length, new StringBuilder()).toString();
+        formatter.format(ints, 0, ints.length, buffer);
+        
+        // Assert
+        assertEquals("-9223372036854775808--9223372036854775807 \u00b7 0 \u00b7 9223372036854775807", longText);
+        assertEquals("-5--4 \u00b7 7", new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testRangeSetFormatting() throws IOException {
+        // Arrange
+        IntRangeSet set = IntRangeSet.of(1, 3, 6, 7, 8);
+        StringWriter writer = new StringWriter();
+        ByteBuffer buffer = ByteBuffer.allocate(32);
+        
+        // Act
+        RangeFormatter.DEFAULT.format(set, writer);
+        RangeFormatter.DEFAULT.format(set, buffer);
+        
+        // Assert
+        assertEquals("1, 3, 6-8", RangeFormatter.DEFAULT.format(set));
+        assertEquals("1, 3, 6-8", writer.toString());
+        assertEquals("1, 3, 6-8", new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void testByteBufferOverflow() {
+        // Arrange
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        
+        // Act & Assert
+        assertThrows(BufferOverflowException.class,
+                () -> RangeFormatter.DEFAULT.format(new int[] {123456}, 0, 1, buffer));
+    }
+
+    @Test
+    void testByteBufferOverflowWritesNoStraySign() {
+        // Arrange - room for the sign but not the digits
+        ByteBuffer buffer = ByteBuffer.allocate(3);
+        
+        // Act & Assert
+        assertThrows(BufferOverflowException.class,
+                () -> RangeFormatter.DEFAULT.format(new int[] {-1234}, 0, 1, buffer));
+        assertEquals(0, buffer.position());
+        assertEquals(0, buffer.get(0));
+    }
+
+    @Test
+    void testSummarizerUsesConfiguredFormatter() {
+        // Arrange
+        NumberRangeSummarizerImpl summarizer = new NumberRangeSummarizerImpl(OrderingStrategy.AUTO,
+                RangeFormatter.builder().separator(",").build());
+        
+        // Act
+        String result = summarizer.summarizeCollection(summarizer.collect("5, 1, 2, 3"));
+        
+        // Assert
+        assertEquals("1-3,5", result);
+    }
+
+    @Test
+    void testEmptyDelimitersRejected() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> RangeFormatter.builder().separator(""));
+        assertThrows(IllegalArgumentException.class, () -> RangeFormatter.builder().rangeDelimiter(null));
+    }
+
+    @Test
+    void testAdjacencyDoesNotWrapAtIntegerMaxValue() {
+        // Arrange - not ascending, but a wrapping end + 1 would merge it into one range
+        int[] values = {Integer.MAX_VALUE - 1, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE + 1};
+        
+        // Act
+        String result = RangeFormatter.DEFAULT.format(values, 0, values.length, new StringBuilder()).toString();
+        
+        // Assert
+        assertEquals("2147483646-2147483647, -2147483648--2147483647", result);
+    }
+}
@@ -0,0 +1,99 @@
+package numberrangesummarizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for RangeMerger
+ */
+public class RangeMergerTest {
+
+    @Test
+    void testMergeSummariesCoalescesOverlappingAndAdjacentRanges() {
+        // Arrange
+        List<String> shards = Arrays.asList("1, 3, 6-8", "2, 9-12", "", null, "7-20, 40", "-5--1, 0");
+        
+        // Act
+        String merged = RangeMerger.mergeSummaries(shards);
+        
+        // Assert
+        assertEquals("-5-3, 6-20, 40", merged);
+    }
+
+    @Test
+    void testMergeDoesNotExpandHugeRanges() {
+        // Arrange
+        IntRangeSet low = IntRangeSet.ofRange(Integer.MIN_VALUE, 0);
+        IntRangeSet high = IntRangeSet.ofRange(1, Integer.MAX_VALUE);
+        
+        // Act
+        IntRangeSet merged = RangeMerger.merge(low, high, IntRangeSet.empty());
+        
+        // Assert
+        assertEquals(1, merged.rangeCount());
+        assertEquals(1L << 32, merged.cardinality());
+        assertSame(low, RangeMerger.merge(low, IntRangeSet.empty(), null));
+        assertTrue(RangeMerger.merge().isEmpty());
+    }
+
+    @Test
+    void testMergeMatchesPairwiseUnion() {
+        // Arrange - 50 random shards of a shared id space
+        Random random = new Random(22);
+        List<IntRangeSet> sets = new ArrayList<>();
+        List<String> summaries = new ArrayList<>();
+        IntRangeSet expected = IntRangeSet.empty();
+        for (int shard = 0; shard < 50; shard++) {
+            int[] values = new int[random.nextInt(200)];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextInt(5000) - 1000;
+            }
+            IntRangeSet set = IntRangeSet.of(values);
+            sets.add(set);
+            summaries.add(set.toString());
+            expected = expected.union(set);
+        }
+        
+        // Act
+        IntRangeSet merged = RangeMerger.merge(sets);
+        IntRangeSet mergedText = RangeMerger.mergeSummariesToSet(summaries);
+        
+        // Assert
+        assertEquals(expected, merged);
+        assertEquals(expected, mergedText);
+    }
+
+    @Test
+    void testSummaryWithDuplicatesFromSummarizeCollection() {
+        // Arrange - summarizeCollection keeps duplicates, so its ranges may repeat a start
+        NumberRangeSummarizer summarizer = new NumberRangeSummarizerImpl();
+        String withDuplicates = summarizer.summarizeCollection(Arrays.asList(1, 1, 2, 2, 3, 3, 5, 5));
+        
+        // Act
+        String merged = RangeMerger.mergeSummaries(Collections.singletonList(withDuplicates));
+        
+        // Assert
+        assertEquals("1, 1-2, 2-3, 3, 5, 5", withDuplicates);
+        assertEquals("1-3, 5", merged);
+    }
+
+    @Test
+    void testUnorderedSummaryIsRejected() {
+        // Act
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> RangeMerger.mergeSummaries(Arrays.asList("1-3", null, "10, 5")));
+        
+        // Assert
+        assertEquals("Summary 2 is not in ascending order: 5 follows 10", error.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> RangeMerger.mergeSummaries(Arrays.asList("1, x")));
+    }
+}
@@ -0,0 +1,118 @@
+package numberrangesummarizer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for RangeSetCodec
+ */
+public class RangeSetCodecTest {
+
+    @Test
+    void testKnownEncoding() {
+        // Arrange - "1, 3, 6-8": count 3, zigzag(1)=2, len 0, gap 0, len 0, gap 1, len 2
+        IntRangeSet set = IntRangeSet.parse("1, 3, 6-8");
+        
+        // Act
+        byte[] bytes = RangeSetCodec.toBytes(set);
+        
+        // Assert
+        assertArrayEquals(new byte[]{3, 2, 0, 0, 0, 1, 2}, bytes);
+        assertEquals(set, RangeSetCodec.decode(bytes));
+    }
+
+    @Test
+    void testRoundTripExtremes() {
+        // Arrange
+        IntRangeSet[] sets = {
+            IntRangeSet.empty(),
+            IntRangeSet.ofRange(Integer.MIN_VALUE, Integer.MAX_VALUE),
+            IntRangeSet.of(Integer.MIN_VALUE, -1, 0, Integer.MAX_VALUE),
+            IntRangeSet.parse("-3--1, 5, 7-9")
+        };
+        
+        for (IntRangeSet set : sets) {
+            // Act
+            byte[] bytes = RangeSetCodec.toBytes(set);
+            
+            // Assert
+            assertEquals(RangeSetCodec.encodedSize(set), bytes.length);
+            assertEquals(set, RangeSetCodec.decode(bytes));
+        }
+    }
+
+    @Test
+    void testDataStreamRoundTripOfRandomSets() throws Exception {
+        // Arrange
+        Random random = new Random(15);
+        int[] values = new int[5000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(20000) - 10000;
+        }
+        IntRangeSet set = IntRangeSet.of(values);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        
+        // Act
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            RangeSetCodec.encode(set, out);
+            out.writeInt(42);
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        IntRangeSet decoded = RangeSetCodec.decode(in);
+        
+        // Assert - the stream is left just after the encoding
+        assertEquals(set, decoded);
+        assertEquals(42, in.readInt());
+        assertTrue(bytes.size() < set.toString().length());
+    }
+
+    @Test
+    void testStreamingDecoder() throws Exception {
+        // Arrange
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        RangeSetCodec.encode(IntRangeSet.parse("1-5, 100, 200-300"), buffer);
+        buffer.flip();
+        
+        // Act
+        RangeSetCodec.Decoder decoder = new RangeSetCodec.Decoder(buffer);
+        
+        // Assert
+        assertEquals(3, decoder.remaining());
+        assertTrue(decoder.nextRange());
+        assertEquals(1, decoder.start());
+        assertEquals(5, decoder.end());
+        assertTrue(decoder.nextRange());
+        assertEquals(100, decoder.start());
+        assertEquals(100, decoder.end());
+        assertTrue(decoder.nextRange());
+        assertEquals(200, decoder.start());
+        assertEquals(300, decoder.end());
+        assertFalse(decoder.nextRange());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void testMalformedInput() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> RangeSetCodec.decode(new byte[]{2, 2, 0}));
+        assertThrows(IllegalArgumentException.class,
+                () -> RangeSetCodec.decode(new byte[]{1, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0}));
+        // A range that runs past Integer.MAX_VALUE
+        assertThrows(IllegalArgumentException.class,
+                () -> RangeSetCodec.decode(new byte[]{1, (byte) 0xFE, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F, 1}));
+        assertThrows(EOFException.class,
+                () -> RangeSetCodec.decode(new DataInputStream(new ByteArrayInputStream(new byte[]{1, 2}))));
+    }
+}
@@ -0,0 +1,91 @@
+package numberrangesummarizer;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for RangeSetDiff
+ */
+public class RangeSetDiffTest {
+
+    @Test
+    void testDiffAndApplySummaries() {
+        // Arrange
+        String older = "1-100, 200-300, 500";
+        String newer = "1-90, 200-310, 400";
+        
+        // Act
+        RangeSetDiff diff = RangeSetDiff.diff(older, newer);
+        
+        // Assert
+        assertEquals("+[301-310, 400] -[91-100, 500]", diff.toString());
+        assertEquals(newer, diff.apply(older));
+    }
+
+    @Test
+    void testDiffWorksOnSummarizerOutputWithoutExpanding() {
+        // Arrange - billions of values, a handful of ranges
+        NumberRangeSummarizerImpl summarizer = new NumberRangeSummarizerImpl();
+        String older = summarizer.summarizeCollection(summarizer.collect("-5,-4,-3,7")) + ", 10-2000000000";
+        String newer = "-5--3, 10-1999999999";
+        
+        // Act
+        RangeSetDiff diff = RangeSetDiff.diff(older, newer);
+        
+        // Assert
+        assertEquals("+[] -[7, 2000000000]", diff.toString());
+        assertEquals(newer, diff.apply(older));
+    }
+
+    @Test
+    void testEqualSetsGiveEmptyDiff() {
+        // Act
+        RangeSetDiff diff = RangeSetDiff.diff("1-3, 5", "1, 2-3, 5");
+        
+        // Assert
+        assertTrue(diff.isEmpty());
+        assertEquals("1-3, 5", diff.apply("1-3, 5"));
+    }
+
+    @Test
+    void testRandomDiffsRoundTripThroughBytes() {
+        // Arrange
+        Random random = new Random(24);
+        for (int round = 0; round < 200; round++) {
+            IntRangeSet older = randomSet(random);
+            IntRangeSet newer = randomSet(random);
+            
+            // Act
+            RangeSetDiff diff = RangeSetDiff.fromBytes(RangeSetDiff.diff(older, newer).toBytes());
+            
+            // Assert
+            assertEquals(RangeSetDiff.diff(older, newer), diff);
+            assertEquals(newer, diff.apply(older));
+        }
+    }
+
+    @Test
+    void testDiffRejectsWrongBase() {
+        // Arrange
+        RangeSetDiff diff = RangeSetDiff.diff("1-10", "1-5, 20");
+        
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> diff.apply("1-5"));
+        assertThrows(IllegalArgumentException.class, () -> diff.apply("1-10, 20"));
+        assertThrows(IllegalArgumentException.class,
+                () -> RangeSetDiff.of(IntRangeSet.ofRange(1, 5), IntRangeSet.of(5)));
+        assertThrows(IllegalArgumentException.class, () -> RangeSetDiff.fromBytes(new byte[]{1}));
+    }
+
+    private static IntRangeSet randomSet(Random random) {
+        int[] values = new int[random.nextInt(100)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(400) - 100;
+        }
+        return IntRangeSet.of(values);
+    }
+}
@@ -0,0 +1,93 @@
+package numberrangesummarizer;
+
+import java.util.PrimitiveIterator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for RangeSummaryParser
+ */
+public class RangeSummaryParserTest {
+
+    @Test
+    void testRoundTripsSummarizerOutput() {
+        // Arrange
+        NumberRangeSummarizerImpl summarizer = new NumberRangeSummarizerImpl();
+        String summary = summarizer.summarizeCollection(summarizer.collect("1,3,6,7,8,12,13,14,15,21,22,23,24,31"));
+        
+        // Act
+        IntRangeSet parsed = RangeSummaryParser.parse(summary);
+        
+        // Assert
+        assertEquals(summary, parsed.toString());
+    }
+
+    @Test
+    void testNegativeRangeForms() {
+        // Act & Assert
+        assertArrayEquals(new int[] {-3, -2, -1}, RangeSummaryParser.parse("-3--1").toArray());
+        assertArrayEquals(new int[] {-1, 0, 1}, RangeSummaryParser.parse("-1-1").toArray());
+        assertArrayEquals(new int[] {-5, -4, -3, -1, 0, 1, 3, 4, 5},
+                RangeSummaryParser.parse("-5--3, -1-1, 3-5").toArray());
+        assertEquals("-2147483648--2147483647, 2147483647",
+                RangeSummaryParser.parse("-2147483648--2147483647, 2147483647").toString());
+    }
+
+    @Test
+    void testHugeRangeIsNeverExpanded() {
+        // Act
+        IntRangeSet set = RangeSummaryParser.parse("1-2000000000");
+        PrimitiveIterator.OfInt iterator = RangeSummaryParser.iterator("1-2000000000, 7");
+        
+        // Assert
+        assertEquals(2_000_000_000L, set.cardinality());
+        assertEquals(1, iterator.nextInt());
+        assertEquals(2, iterator.nextInt());
+        assertEquals(10, RangeSummaryParser.stream("1-2000000000").limit(10).count());
+    }
+
+    @Test
+    void testLazyIteratorFollowsWrittenOrder() {
+        // Act
+        int[] values = RangeSummaryParser.stream(" 10 - 12 , , 1, -1-0").toArray();
+        
+        // Assert
+        assertArrayEquals(new int[] {10, 11, 12, 1, -1, 0}, values);
+    }
+
+    @Test
+    void testUnorderedAndOverlappingRangesAreNormalized() {
+        // Act
+        IntRangeSet set = RangeSummaryParser.parse("10-12, 1, 1-2, 2-3, 11-15");
+        
+        // Assert
+        assertEquals("1-3, 10-15", set.toString());
+    }
+
+    @Test
+    void testEmptyAndBlankSummaries() {
+        // Act & Assert
+        assertTrue(RangeSummaryParser.parse("").isEmpty());
+        assertTrue(RangeSummaryParser.parse(null).isEmpty());
+        assertTrue(RangeSummaryParser.parse(" , ").isEmpty());
+        assertFalse(RangeSummaryParser.iterator("").hasNext());
+    }
+
+    @Test
+    void testInvalidItemsAreNamed() {
+        // Act & Assert
+        assertEquals("Invalid range format: '5-3'",
+                assertThrows(IllegalArgumentException.class, () -> RangeSummaryParser.parse("1, 5-3")).getMessage());
+        assertEquals("Invalid range format: '1-2-3'",
+                assertThrows(IllegalArgumentException.class, () -> RangeSummaryParser.parse("1-2-3")).getMessage());
+        assertEquals("Invalid range format: 'x'",
+                assertThrows(IllegalArgumentException.class, () -> RangeSummaryParser.parse("1, x")).getMessage());
+        assertEquals("Invalid range format: '2147483648'",
+                assertThrows(IllegalArgumentException.class, () -> RangeSummaryParser.parse("2147483648")).getMessage());
+    }
+}
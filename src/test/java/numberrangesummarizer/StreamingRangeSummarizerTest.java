@@ -0,0 +1,197 @@
+package numberrangesummarizer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test class for StreamingRangeSummarizer
+ * Small chunk and run sizes force tokens across chunk boundaries and runs onto disk
+ */
+public class StreamingRangeSummarizerTest {
+
+    @TempDir
+    Path tempDirectory;
+
+    private final NumberRangeSummarizerImpl reference = new NumberRangeSummarizerImpl();
+
+    @Test
+    void testSortedReaderInputWithTokensSplitAcrossChunks() throws IOException {
+        // Arrange
+        String input = "1,3,6,7,8,12,13,14,15,21,22,23,24,31";
+        StreamingRangeSummarizer streaming = new StreamingRangeSummarizer(3, 16, tempDirectory);
+        
+        // Act
+        String result = summarize(streaming, input, true);
+        
+        // Assert
+        assertEquals("1, 3, 6-8, 12-15, 21-24, 31", result);
+    }
+
+    @Test
+    void testSortedInputWithDuplicatesAndWhitespace() throws IOException {
+        // Arrange
+        String input = " -3 , -2, -2 , , -1, 1 ,2 ";
+        StreamingRangeSummarizer streaming = new StreamingRangeSummarizer(4, 16, tempDirectory);
+        
+        // Act
+        String result = summarize(streaming, input, true);
+        
+        // Assert
+        assertEquals("-3--1, 1-2", result);
+    }
+
+    @Test
+    void testSortedModeRejectsUnsortedInput() {
+        // Arrange
+        StreamingRangeSummarizer streaming = new StreamingRangeSummarizer(8, 16, tempDirectory);
+        
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            summarize(streaming, "1,2,5,4", true);
+        });
+        assertTrue(exception.getMessage().contains("not sorted"));
+    }
+
+    @Test
+    void testUnsortedInputSpillsRunsAndMatchesInMemoryResult() throws IOException {
+        // Arrange - 5,000 values with duplicates across 40 runs
+        Random random = new Random(7);
+        String input = random.ints(5_000, -2_000, 2_000)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(", "));
+        StreamingRangeSummarizer streaming = new StreamingRangeSummarizer(7, 128, tempDirectory);
+        
+        // Act
+        String result = summarize(streaming, input, false);
+        
+        // Assert
+        assertEquals(reference.summarizeCollection(reference.collect(input)), result);
+        try (Stream<Path> files = Files.list(tempDirectory)) {
+            assertEquals(0, files.count(), "Spilled runs should be deleted");
+        }
+    }
+
+    @Test
+    void testManyRunsAreMergedInPassesAndDeleted() throws IOException {
+        // Arrange - 20,000 values in runs of 64 give ~300 runs, above the merge fan-in
+        Random random = new Random(11);
+        String input = random.ints(20_000, -50_000, 50_000)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+        StreamingRangeSummarizer streaming = new StreamingRangeSummarizer(13, 64, tempDirectory);
+        
+        // Act
+        String result = summarize(streaming, input, false);
+        
+        // Assert
+        assertTrue(20_000 / 64 > StreamingRangeSummarizer.MAX_MERGE_FAN_IN);
+        assertEquals(reference.summarizeCollection(reference.collect(input)), result);
+        try (Stream<Path> files = Files.list(tempDirectory)) {
+            assertEquals(0, files.count(), "Intermediate and spilled runs should be deleted");
+        }
+    }
+
+    @Test
+    void testUnsortedInputThatFitsInOneRun() throws IOException {
+        // Arrange
+        StreamingRangeSummarizer streaming = new StreamingRangeSummarizer();
+        
+        // Act
+        String result = summarize(streaming, "100, 1, 3, 3, 2, 2, 4, 4, 5, 99, 98, 97, 96, 95", false);
+        
+        // Assert
+        assertEquals("1-5, 95-100", result);
+    }
+
+    @Test
+    void testChannelInputMatchesReaderInput() throws IOException {
+        // Arrange
+        String input = IntStream.rangeClosed(1, 10_000)
+                .filter(i -> i % 100 != 0)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+        StreamingRangeSummarizer streaming = new StreamingRangeSummarizer(5, 1_000, tempDirectory);
+        StringWriter out = new StringWriter();
+        
+        // Act
+        streaming.summarize(Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII))),
+                out, false);
+        
+        // Assert
+        assertEquals(summarize(streaming, input, true), out.toString());
+        assertEquals(reference.summarizeCollection(reference.collect(input)), out.toString());
+    }
+
+    @Test
+    void testInvalidTokenSplitAcrossChunksIsReportedWhole() {
+        // Arrange
+        StreamingRangeSummarizer streaming = new StreamingRangeSummarizer(2, 16, tempDirectory);
+        
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            summarize(streaming, "1, 2, 12abc34 , 5", false);
+        });
+        assertTrue(exception.getMessage().contains("'12abc34'"));
+    }
+
+    @Test
+    void testEmptyInput() throws IOException {
+        // Arrange
+        StreamingRangeSummarizer streaming = new StreamingRangeSummarizer();
+        
+        // Act & Assert
+        assertEquals("", summarize(streaming, "", false));
+        assertEquals("", summarize(streaming, " , ,", true));
+    }
+
+    private static String summarize(StreamingRangeSummarizer streaming, String input, boolean sorted)
+            throws IOException {
+        StringWriter out = new StringWriter();
+        streaming.summarize(new StringReader(input), out, sorted);
+        return out.toString();
+    }
+
+    @Test
+    void testMappedFileInputAcrossSmallWindows() throws IOException {
+        // Arrange - 7-byte windows and 3-byte chunks split tokens at both levels
+        String input = "31, 1,3,6,7,8,12,13,14,15,21,22,23,24\n";
+        Path file = Files.write(tempDirectory.resolve("numbers.txt"), input.getBytes(StandardCharsets.US_ASCII));
+        StreamingRangeSummarizer streaming = new StreamingRangeSummarizer(3, 4, tempDirectory, 7);
+        StringWriter out = new StringWriter();
+        
+        // Act
+        streaming.summarize(file, out, false);
+        
+        // Assert
+        assertEquals("1, 3, 6-8, 12-15, 21-24, 31", out.toString());
+    }
+
+    @Test
+    void testMappedEmptyFile() throws IOException {
+        // Arrange
+        Path file = Files.createFile(tempDirectory.resolve("empty.txt"));
+        StringWriter out = new StringWriter();
+        
+        // Act
+        new StreamingRangeSummarizer().summarize(file, out, true);
+        
+        // Assert
+        assertEquals("", out.toString());
+    }
+}
@@ -0,0 +1,119 @@
+package numberrangesummarizer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for SummarizerListener instrumentation and SummarizerMetrics
+ */
+public class SummarizerMetricsTest {
+
+    @Test
+    void testListenerSeesEveryPhase() {
+        // Arrange
+        List<String> events = new ArrayList<>();
+        SummarizerListener listener = new SummarizerListener() {
+            @Override
+            public void parsed(int chars, int tokens, long nanos) {
+                events.add("parsed " + chars + " " + tokens);
+            }
+
+            @Override
+            public void ordered(int values, int unique, OrderingStrategy strategy, long nanos) {
+                events.add("ordered " + values + " " + unique);
+            }
+
+            @Override
+            public void formatted(int values, int ranges, long nanos) {
+                events.add("formatted " + values + " " + ranges);
+            }
+        };
+        NumberRangeSummarizer summarizer = new NumberRangeSummarizerImpl(OrderingStrategy.AUTO, RangeFormatter.DEFAULT, listener);
+        
+        // Act
+        String result = summarizer.summarizeCollection(summarizer.collect("8,7,6,3,1,3"));
+        
+        // Assert
+        assertEquals("1, 3, 6-8", result);
+        assertEquals(4, events.size());
+        assertEquals("parsed 11 6", events.get(0));
+        assertEquals("ordered 6 5", events.get(1));
+        assertEquals("ordered 5 5", events.get(2));
+        assertEquals("formatted 5 3", events.get(3));
+    }
+
+    @Test
+    void testMetricsAggregate() {
+        // Arrange
+        SummarizerMetrics metrics = new SummarizerMetrics();
+        NumberRangeSummarizer summarizer = new NumberRangeSummarizerImpl(OrderingStrategy.AUTO, RangeFormatter.DEFAULT, metrics);
+        
+        // Act
+        for (int i = 0; i < 10; i++) {
+            summarizer.summarizeCollection(summarizer.collect("1,2,3,4,5,6,7,8,10,11"));
+        }
+        assertThrows(IllegalArgumentException.class, () -> summarizer.collect("1, 2147483648"));
+        assertThrows(IllegalArgumentException.class, () -> summarizer.collect("1, -"));
+        assertThrows(IllegalArgumentException.class, () -> summarizer.collect("1, 2x"));
+        
+        // Assert
+        assertEquals(10, metrics.parseNanos().count());
+        assertEquals(20, metrics.orderNanos().count());
+        assertEquals(10, metrics.formatNanos().count());
+        assertEquals(100, metrics.inputTokens().sum());
+        assertEquals(15, metrics.inputTokens().percentile(0.5));
+        assertEquals(2.0, metrics.outputRanges().mean());
+        assertEquals(5, metrics.compressionRatio().sum() / 10);
+        assertEquals(1, metrics.errorCount(ErrorCause.OVERFLOW));
+        assertEquals(2, metrics.errorCount(ErrorCause.MALFORMED));
+    }
+
+    @Test
+    void testErrorCauseComesFromTheScannerNotTheMessage() {
+        // Arrange
+        SummarizerMetrics metrics = new SummarizerMetrics();
+        
+        // Act - a digits-only message without the scanner's typed cause
+        metrics.failed(new IllegalArgumentException("Invalid number format: '123'"));
+        metrics.failed(assertThrows(IllegalArgumentException.class,
+                () -> new NumberRangeSummarizerImpl().collect("99999999999 ")));
+        
+        // Assert
+        assertEquals(1, metrics.errorCount(ErrorCause.MALFORMED));
+        assertEquals(1, metrics.errorCount(ErrorCause.OVERFLOW));
+    }
+
+    @Test
+    void testHistogramBuckets() {
+        // Arrange
+        SummarizerMetrics.Histogram histogram = new SummarizerMetrics.Histogram();
+        
+        // Act
+        histogram.record(0);
+        histogram.record(1);
+        histogram.record(1000);
+        histogram.record(Long.MAX_VALUE);
+        
+        // Assert
+        assertEquals(1, histogram.bucketCount(0));
+        assertEquals(1, histogram.bucketCount(1));
+        assertEquals(1, histogram.bucketCount(10));
+        assertEquals(0, histogram.percentile(0.25));
+        assertEquals(1023, histogram.percentile(0.75));
+        assertEquals(Long.MAX_VALUE, histogram.percentile(1));
+    }
+
+    @Test
+    void testUninstrumentedByDefault() {
+        // Act & Assert
+        assertNull(new NumberRangeSummarizerImpl().getListener());
+        assertTrue(new NumberRangeSummarizerImpl(OrderingStrategy.AUTO, RangeFormatter.DEFAULT, new SummarizerMetrics())
+                .getListener() instanceof SummarizerMetrics);
+    }
+}
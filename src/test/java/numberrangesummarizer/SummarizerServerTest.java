@@ -0,0 +1,274 @@
+package numberrangesummarizer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for SummarizerServer, entirely over localhost
+ */
+public class SummarizerServerTest {
+
+    private SummarizerServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new SummarizerServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2, 4,
+                new StreamingRangeSummarizer());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void testSummarizeSampleInput() throws IOException {
+        // Act
+        Response response = post("/summarize", "1,3,6,7,8,12,13,14,15,21,22,23,24,31", false);
+        
+        // Assert
+        assertEquals(200, response.status);
+        assertEquals("1, 3, 6-8, 12-15, 21-24, 31", response.body);
+    }
+
+    @Test
+    void testChunkedLargeBodyIsStreamed() throws IOException {
+        // Arrange - 200000 shuffled-ish values sent with chunked transfer encoding
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 200000; i++) {
+            body.append(i == 0 ? "" : ",").append((i * 7919L) % 200000);
+        }
+        
+        // Act
+        Response response = post("/summarize", body.toString(), true);
+        
+        // Assert
+        assertEquals(200, response.status);
+        assertEquals("0-199999", response.body);
+    }
+
+    @Test
+    void testSortedModeProducesLongChunkedOutput() throws IOException {
+        // Arrange - every other value, so the summary is far longer than the deferred buffer
+        StringBuilder body = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            body.append(i == 0 ? "" : ",").append(i * 2);
+            expected.append(i == 0 ? "" : ", ").append(i * 2);
+        }
+        
+        // Act
+        Response response = post("/summarize?sorted=true", body.toString(), true);
+        
+        // Assert
+        assertEquals(200, response.status);
+        assertEquals(expected.toString(), response.body);
+    }
+
+    @Test
+    void testInvalidInputIsBadRequest() throws IOException {
+        // Act
+        Response response = post("/summarize", "1,2,abc", false);
+        
+        // Assert
+        assertEquals(400, response.status);
+        assertEquals("Invalid number format: 'abc'", response.body);
+        assertEquals(1, server.failureCount());
+    }
+
+    @Test
+    void testUnknownQueryParametersAreBadRequest() throws IOException {
+        // Act
+        Response extra = post("/summarize?sorted=true&x=1", "1,2,3", false);
+        Response badValue = post("/summarize?sorted=yes", "1,2,3", false);
+        Response explicitFalse = post("/summarize?sorted=false", "3,2,1", false);
+        
+        // Assert
+        assertEquals(400, extra.status);
+        assertEquals("Unknown query parameter: 'x'", extra.body);
+        assertEquals(400, badValue.status);
+        assertEquals("sorted must be true or false: 'yes'", badValue.body);
+        assertEquals(200, explicitFalse.status);
+        assertEquals("1-3", explicitFalse.body);
+    }
+
+    @Test
+    void testParseSorted() {
+        // Act & Assert
+        assertEquals(false, SummarizerServer.parseSorted(null));
+        assertEquals(true, SummarizerServer.parseSorted("sorted=true"));
+        assertEquals(true, SummarizerServer.parseSorted("sort%65d=tru%65"));
+        assertThrows(IllegalArgumentException.class, () -> SummarizerServer.parseSorted("sorted"));
+        assertThrows(IllegalArgumentException.class, () -> SummarizerServer.parseSorted("sorted=true&sorted=true"));
+        assertThrows(IllegalArgumentException.class, () -> SummarizerServer.parseSorted("sorted=true&"));
+    }
+
+    @Test
+    void testGetIsNotAllowed() throws IOException {
+        // Act
+        HttpURLConnection connection = open("/summarize");
+        
+        // Assert
+        assertEquals(405, connection.getResponseCode());
+        connection.disconnect();
+    }
+
+    @Test
+    void testConcurrentKeepAliveRequestsAndHealth() throws Exception {
+        // Arrange - more concurrent clients than workers plus queue slots; 503s are retried
+        ExecutorService clients = Executors.newFixedThreadPool(12);
+        List<Future<Response>> responses = new ArrayList<>();
+        
+        // Act
+        for (int i = 0; i < 120; i++) {
+            int n = i;
+            responses.add(clients.submit(() -> {
+                Response response = post("/summarize", n + "," + (n + 1) + ",1000", false);
+                while (response.status == 503) {
+                    Thread.sleep(1);
+                    response = post("/summarize", n + "," + (n + 1) + ",1000", false);
+                }
+                return response;
+            }));
+        }
+        for (int i = 0; i < responses.size(); i++) {
+            Response response = responses.get(i).get();
+            assertEquals(200, response.status);
+            assertEquals(i + "-" + (i + 1) + ", 1000", response.body);
+        }
+        clients.shutdown();
+        HttpURLConnection health = open("/health");
+        String json = read(health.getInputStream());
+        
+        // Assert
+        long attempts = 120 + server.rejectedCount();
+        assertEquals(200, health.getResponseCode());
+        assertTrue(json.startsWith("{\"status\":\"ok\",\"requests\":" + attempts + ","), json);
+        assertEquals(attempts, server.requestCount());
+        assertEquals(server.rejectedCount(), server.failureCount());
+    }
+
+    @Test
+    void testSaturatedServerStillAnswersHealthAndRejectsSummaries() throws Exception {
+        // Arrange - 2 workers + 4 queue slots held by requests whose chunked bodies never finish
+        List<Socket> stalled = new ArrayList<>();
+        try {
+            for (int i = 0; i < 6; i++) {
+                Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+                socket.getOutputStream().write(("POST /summarize HTTP/1.1\r\nHost: localhost\r\n"
+                        + "Transfer-Encoding: chunked\r\n\r\n4\r\n1,2,\r\n").getBytes(StandardCharsets.US_ASCII));
+                socket.getOutputStream().flush();
+                stalled.add(socket);
+            }
+            String json = "";
+            for (long deadline = System.nanoTime() + 5_000_000_000L; System.nanoTime() < deadline; Thread.sleep(10)) {
+                json = read(open("/health").getInputStream());
+                if (json.contains("\"active\":2,\"queued\":4")) {
+                    break;
+                }
+            }
+            
+            // Act - a flood of concurrent summaries, with /health polled in the middle of it
+            ExecutorService clients = Executors.newFixedThreadPool(16);
+            List<Future<Response>> flood = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                flood.add(clients.submit(() -> post("/summarize", "1,2,3", false)));
+            }
+            HttpURLConnection health = open("/health");
+            health.setReadTimeout(5_000);
+            int healthStatus = health.getResponseCode();
+            read(health.getInputStream());
+            HttpURLConnection retry = open("/summarize");
+            retry.setRequestMethod("POST");
+            retry.setDoOutput(true);
+            try (OutputStream out = retry.getOutputStream()) {
+                out.write("1".getBytes(StandardCharsets.UTF_8));
+            }
+            
+            // Assert
+            assertTrue(json.contains("\"active\":2,\"queued\":4"), json);
+            assertEquals(200, healthStatus);
+            for (Future<Response> response : flood) {
+                assertEquals(503, response.get(10, TimeUnit.SECONDS).status);
+            }
+            clients.shutdown();
+            assertEquals(503, retry.getResponseCode());
+            assertEquals("1", retry.getHeaderField("Retry-After"));
+            assertEquals(65, server.rejectedCount());
+        } finally {
+            for (Socket socket : stalled) {
+                socket.close();
+            }
+        }
+    }
+
+    @Test
+    void testRequestsAfterCloseAreNotAccepted() throws IOException {
+        // Act
+        server.close();
+        
+        // Assert
+        assertThrows(IOException.class, () -> post("/summarize", "1,2,3", false));
+    }
+
+    private HttpURLConnection open(String path) throws IOException {
+        return (HttpURLConnection) new URL("http://localhost:" + server.getPort() + path).openConnection();
+    }
+
+    private Response post(String path, String body, boolean chunked) throws IOException {
+        HttpURLConnection connection = open(path);
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        if (chunked) {
+            connection.setChunkedStreamingMode(4096);
+        }
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        int status = connection.getResponseCode();
+        InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        return new Response(status, in == null ? "" : read(in));
+    }
+
+    private static String read(InputStream in) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        for (int n; (n = in.read(buffer)) != -1; ) {
+            bytes.write(buffer, 0, n);
+        }
+        in.close();
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static final class Response {
+
+        final int status;
+        final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package numberrangesummarizer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for NumberRangeSummarizerImpl.validate and ValidationResult
+ */
+public class ValidationResultTest {
+
+    private final NumberRangeSummarizerImpl summarizer = new NumberRangeSummarizerImpl();
+
+    @Test
+    void testValidInputMatchesCollectInts() {
+        // Arrange
+        String input = "31, 1,3,6,7,8,12,13,14,15,21,22,23,24,1";
+        
+        // Act
+        ValidationResult result = summarizer.validate(input, ErrorPolicy.SKIP_AND_REPORT);
+        
+        // Assert
+        assertTrue(result.isValid());
+        assertTrue(result.isComplete());
+        assertArrayEquals(summarizer.collectInts(input), result.values());
+    }
+
+    @Test
+    void testSkipAndReportKeepsValidValuesAndRecordsSpans() {
+        // Arrange
+        String input = "5, abc ,1,99999999999,  -, 2,1 2,-2147483648";
+        
+        // Act
+        ValidationResult result = summarizer.validate(input, ErrorPolicy.SKIP_AND_REPORT);
+        
+        // Assert
+        assertArrayEquals(new int[]{Integer.MIN_VALUE, 1, 2, 5}, result.values());
+        assertTrue(result.isComplete());
+        assertEquals(4, result.errorCount());
+        assertEquals("abc", result.errorToken(0));
+        assertEquals(3, result.errorStart(0));
+        assertEquals(6, result.errorEnd(0));
+        assertEquals("99999999999", result.errorToken(1));
+        assertEquals(ErrorCause.OVERFLOW, result.errorCause(1));
+        assertEquals("-", result.errorToken(2));
+        assertEquals(ErrorCause.MALFORMED, result.errorCause(2));
+        assertEquals("1 2", result.errorToken(3));
+        assertEquals(ErrorCause.MALFORMED, result.errorCause(3));
+    }
+
+    @Test
+    void testFailFastReportsTheErrorCollectWouldThrow() {
+        // Arrange
+        String input = "1,2,x3,4,y";
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> summarizer.collect(input));
+        
+        // Act
+        ValidationResult result = summarizer.validate(input, ErrorPolicy.FAIL_FAST);
+        
+        // Assert
+        assertEquals(1, result.errorCount());
+        assertEquals(thrown.getMessage(), result.errorMessage(0));
+        assertFalse(result.isComplete());
+        assertEquals(6, result.scannedLength());
+        assertArrayEquals(new int[]{1, 2}, result.values());
+    }
+
+    @Test
+    void testStopAfterLimitsRecordedErrors() {
+        // Arrange
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            input.append(i).append(",bad").append(i).append(',');
+        }
+        
+        // Act
+        ValidationResult limited = summarizer.validate(input, ErrorPolicy.stopAfter(10));
+        ValidationResult all = summarizer.validate(input, ErrorPolicy.SKIP_AND_REPORT);
+        
+        // Assert
+        assertEquals(10, limited.errorCount());
+        assertEquals("bad9", limited.errorToken(9));
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, limited.values());
+        assertFalse(limited.isComplete());
+        assertEquals(1000, all.errorCount());
+        assertEquals(1000, all.values().length);
+        assertTrue(all.isComplete());
+    }
+
+    @Test
+    void testTrailingInvalidTokenAndEmptyInput() {
+        // Act
+        ValidationResult trailing = summarizer.validate("1, 2, +  ", ErrorPolicy.FAIL_FAST);
+        ValidationResult empty = summarizer.validate(null, ErrorPolicy.FAIL_FAST);
+        
+        // Assert
+        assertEquals("+", trailing.errorToken(0));
+        assertTrue(trailing.isComplete());
+        assertTrue(empty.isValid());
+        assertEquals(0, empty.values().length);
+        assertThrows(IndexOutOfBoundsException.class, () -> empty.errorStart(0));
+        assertThrows(IllegalArgumentException.class, () -> ErrorPolicy.stopAfter(0));
+    }
+}